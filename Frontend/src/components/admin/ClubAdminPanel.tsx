@@ -13,6 +13,7 @@ interface Event {
   eventDate: string;
   location: string;
   photoUrl?: string;
+  capacity?: number | null;
   createdAt?: string;
 }
 
@@ -60,6 +61,7 @@ export const ClubAdminPanel: React.FC = () => {
     eventTime: '',
     location: '',
     photoUrl: '',
+    capacity: '',
   });
   const [eventPhotoFile, setEventPhotoFile] = useState<File | null>(null);
   const [eventPhotoPreview, setEventPhotoPreview] = useState('');
@@ -170,6 +172,7 @@ export const ClubAdminPanel: React.FC = () => {
         eventDate: eventDateTime,
         location: eventForm.location,
         photoUrl: photoUrl,
+        capacity: eventForm.capacity ? Number(eventForm.capacity) : null,
         clubId: club.id,
         createdBy: user.id,
       };
@@ -217,13 +220,14 @@ export const ClubAdminPanel: React.FC = () => {
       eventTime: timeOnly,
       location: event.location,
       photoUrl: event.photoUrl || '',
+      capacity: event.capacity != null ? String(event.capacity) : '',
     });
     setEditingEventId(event.id);
     setShowEventForm(true);
   };
 
   const resetEventForm = () => {
-    setEventForm({ title: '', description: '', eventDate: '', eventTime: '', location: '', photoUrl: '' });
+    setEventForm({ title: '', description: '', eventDate: '', eventTime: '', location: '', photoUrl: '', capacity: '' });
     setEventPhotoFile(null);
     setEventPhotoPreview('');
     setShowEventForm(false);
@@ -567,6 +571,19 @@ export const ClubAdminPanel: React.FC = () => {
                   />
                 </div>
 
+                {/* Capacity */}
+                <div>
+                  <label className="block text-gray-700 font-medium mb-2">Capacity</label>
+                  <input
+                    type="number"
+                    min="1"
+                    placeholder="Leave empty for unlimited RSVPs"
+                    value={eventForm.capacity}
+                    onChange={(e) => setEventForm({ ...eventForm, capacity: e.target.value })}
+                    className="w-full px-4 py-2 border border-gray-300 rounded-lg focus:outline-none focus:ring-2 focus:ring-blue-500"
+                  />
+                </div>
+
                 {/* Action Buttons */}
                 <div className="flex gap-2 pt-4">
                   <button
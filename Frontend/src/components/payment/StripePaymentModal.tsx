@@ -38,6 +38,8 @@ export function StripePaymentModal({
 }: StripePaymentModalProps) {
   const [step, setStep] = useState<"confirm" | "payment" | "processing">("confirm");
   const [error, setError] = useState<string | null>(null);
+  // One key per checkout attempt, so double-clicks and retries reuse the same Stripe session
+  const [idempotencyKey] = useState(() => crypto.randomUUID());
 
   if (!isOpen) return null;
 
@@ -85,7 +87,8 @@ export function StripePaymentModal({
         userId,
         clubId,
         membershipFee,
-        "LKR"
+        "LKR",
+        idempotencyKey
       );
 
       console.log("✅ Stripe session created successfully:", {
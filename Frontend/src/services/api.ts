@@ -273,6 +273,47 @@ export const eventAPI = {
     });
     return parseResponse(response);
   },
+
+  // RSVP to an event (GOING, or WAITLISTED when full)
+  rsvp: async (eventId: number) => {
+    const token = getToken();
+    const response = await fetch(`${API_BASE_URL}/events/${eventId}/rsvp`, {
+      method: 'POST',
+      headers: {
+        'Authorization': `Bearer ${token}`,
+      },
+    });
+    return parseResponse(response);
+  },
+
+  // Cancel an RSVP
+  cancelRsvp: async (eventId: number) => {
+    const token = getToken();
+    const response = await fetch(`${API_BASE_URL}/events/${eventId}/rsvp`, {
+      method: 'DELETE',
+      headers: {
+        'Authorization': `Bearer ${token}`,
+      },
+    });
+    return parseResponse(response);
+  },
+
+  // RSVPs of the signed-in user
+  getMyRsvps: async () => {
+    const token = getToken();
+    const response = await fetch(`${API_BASE_URL}/events/rsvps`, {
+      headers: {
+        'Authorization': `Bearer ${token}`,
+      },
+    });
+    return parseResponse(response);
+  },
+
+  // Capacity, GOING/WAITLISTED counts and seats left
+  getAttendance: async (eventId: number) => {
+    const response = await fetch(`${API_BASE_URL}/events/${eventId}/attendance`);
+    return parseResponse(response);
+  },
 };
 
 // =========================
@@ -383,7 +424,8 @@ const getAbsoluteUrl = (relativePath: string): string => {
 
 export const paymentAPI = {
   // Create a Stripe checkout session
-  createCheckoutSession: async (userId: number, clubId: number, amount: number, currency: string = 'LKR') => {
+  // Pass the same idempotencyKey for repeats of one checkout (double-clicks, retries) to get the same session back
+  createCheckoutSession: async (userId: number, clubId: number, amount: number, currency: string = 'LKR', idempotencyKey?: string) => {
     const token = getToken();
     
     // Build absolute URLs for Stripe (Stripe requires full URLs, not relative paths)
@@ -415,6 +457,7 @@ export const paymentAPI = {
       headers: {
         'Content-Type': 'application/json',
         'Authorization': `Bearer ${token}`,
+        ...(idempotencyKey ? { 'Idempotency-Key': idempotencyKey } : {}),
       },
       body: JSON.stringify(requestPayload),
     });
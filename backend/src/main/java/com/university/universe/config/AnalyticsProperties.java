@@ -0,0 +1,49 @@
+package com.university.universe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admin analytics configuration properties
+ * Maps analytics.* from application.properties
+ */
+@Component
+@ConfigurationProperties(prefix = "analytics")
+public class AnalyticsProperties {
+    private long refreshIntervalMs = 30000;
+    private long rebuildIntervalMs = 3600000;
+    private int parallelism = 0;
+    private int loadBatchSize = 50000;
+
+    public long getRefreshIntervalMs() {
+        return refreshIntervalMs;
+    }
+
+    public void setRefreshIntervalMs(long refreshIntervalMs) {
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    public long getRebuildIntervalMs() {
+        return rebuildIntervalMs;
+    }
+
+    public void setRebuildIntervalMs(long rebuildIntervalMs) {
+        this.rebuildIntervalMs = rebuildIntervalMs;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getLoadBatchSize() {
+        return loadBatchSize;
+    }
+
+    public void setLoadBatchSize(int loadBatchSize) {
+        this.loadBatchSize = loadBatchSize;
+    }
+}
@@ -0,0 +1,76 @@
+package com.university.universe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Archival configuration properties
+ * Maps archive.* from application.properties
+ */
+@Component
+@ConfigurationProperties(prefix = "archive")
+public class ArchiveProperties {
+    private boolean enabled = true;
+    private String cron = "0 0 4 * * *";
+    private int eventsAfterDays = 365;
+    private int announcementsAfterDays = 365;
+    private int paymentsAfterDays = 730;
+    private int chunkSize = 500;
+    private long pauseMs = 100;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+
+    public int getEventsAfterDays() {
+        return eventsAfterDays;
+    }
+
+    public void setEventsAfterDays(int eventsAfterDays) {
+        this.eventsAfterDays = eventsAfterDays;
+    }
+
+    public int getAnnouncementsAfterDays() {
+        return announcementsAfterDays;
+    }
+
+    public void setAnnouncementsAfterDays(int announcementsAfterDays) {
+        this.announcementsAfterDays = announcementsAfterDays;
+    }
+
+    public int getPaymentsAfterDays() {
+        return paymentsAfterDays;
+    }
+
+    public void setPaymentsAfterDays(int paymentsAfterDays) {
+        this.paymentsAfterDays = paymentsAfterDays;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public long getPauseMs() {
+        return pauseMs;
+    }
+
+    public void setPauseMs(long pauseMs) {
+        this.pauseMs = pauseMs;
+    }
+}
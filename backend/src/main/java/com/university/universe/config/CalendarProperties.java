@@ -0,0 +1,49 @@
+package com.university.universe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Event calendar and iCalendar feed configuration properties
+ * Maps calendar.* from application.properties
+ */
+@Component
+@ConfigurationProperties(prefix = "calendar")
+public class CalendarProperties {
+    private String timeZone = "Asia/Colombo";
+    private int feedPastDays = 30;
+    private int eventDurationMinutes = 120;
+    private int maxResults = 500;
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    public int getFeedPastDays() {
+        return feedPastDays;
+    }
+
+    public void setFeedPastDays(int feedPastDays) {
+        this.feedPastDays = feedPastDays;
+    }
+
+    public int getEventDurationMinutes() {
+        return eventDurationMinutes;
+    }
+
+    public void setEventDurationMinutes(int eventDurationMinutes) {
+        this.eventDurationMinutes = eventDurationMinutes;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public void setMaxResults(int maxResults) {
+        this.maxResults = maxResults;
+    }
+}
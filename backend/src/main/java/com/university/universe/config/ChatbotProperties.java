@@ -0,0 +1,49 @@
+package com.university.universe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Chatbot configuration properties
+ * Maps chatbot.* from application.properties
+ */
+@Component
+@ConfigurationProperties(prefix = "chatbot")
+public class ChatbotProperties {
+    private String intentsLocation = "classpath:chatbot/intents.json";
+    private String corpusLocation = "classpath:chatbot/intent-corpus.tsv";
+    private long reloadIntervalMs = 10000;
+    private int maxMessageLength = 1000;
+
+    public String getIntentsLocation() {
+        return intentsLocation;
+    }
+
+    public void setIntentsLocation(String intentsLocation) {
+        this.intentsLocation = intentsLocation;
+    }
+
+    public String getCorpusLocation() {
+        return corpusLocation;
+    }
+
+    public void setCorpusLocation(String corpusLocation) {
+        this.corpusLocation = corpusLocation;
+    }
+
+    public long getReloadIntervalMs() {
+        return reloadIntervalMs;
+    }
+
+    public void setReloadIntervalMs(long reloadIntervalMs) {
+        this.reloadIntervalMs = reloadIntervalMs;
+    }
+
+    public int getMaxMessageLength() {
+        return maxMessageLength;
+    }
+
+    public void setMaxMessageLength(int maxMessageLength) {
+        this.maxMessageLength = maxMessageLength;
+    }
+}
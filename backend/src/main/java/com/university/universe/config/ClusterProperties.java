@@ -0,0 +1,72 @@
+package com.university.universe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Multi-instance configuration properties
+ * Maps cluster.* from application.properties
+ * invalidation=local keeps cache invalidation in-process (single instance);
+ * invalidation=jdbc shares it between instances through the cache_invalidations table.
+ * lock-ttl-ms / lock-wait-ms are the defaults for LeaseLock holders.
+ */
+@Component
+@ConfigurationProperties(prefix = "cluster")
+public class ClusterProperties {
+    private String instanceId = UUID.randomUUID().toString();
+    private String invalidation = "local";
+    private long invalidationPollIntervalMs = 1000;
+    private long invalidationRetentionMinutes = 60;
+    private long lockTtlMs = 30000;
+    private long lockWaitMs = 5000;
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public String getInvalidation() {
+        return invalidation;
+    }
+
+    public void setInvalidation(String invalidation) {
+        this.invalidation = invalidation;
+    }
+
+    public long getInvalidationPollIntervalMs() {
+        return invalidationPollIntervalMs;
+    }
+
+    public void setInvalidationPollIntervalMs(long invalidationPollIntervalMs) {
+        this.invalidationPollIntervalMs = invalidationPollIntervalMs;
+    }
+
+    public long getInvalidationRetentionMinutes() {
+        return invalidationRetentionMinutes;
+    }
+
+    public void setInvalidationRetentionMinutes(long invalidationRetentionMinutes) {
+        this.invalidationRetentionMinutes = invalidationRetentionMinutes;
+    }
+
+    public long getLockTtlMs() {
+        return lockTtlMs;
+    }
+
+    public void setLockTtlMs(long lockTtlMs) {
+        this.lockTtlMs = lockTtlMs;
+    }
+
+    public long getLockWaitMs() {
+        return lockWaitMs;
+    }
+
+    public void setLockWaitMs(long lockWaitMs) {
+        this.lockWaitMs = lockWaitMs;
+    }
+}
@@ -0,0 +1,26 @@
+package com.university.universe.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Resolves the controller method that handled a request as a short
+ * "Controller.method" name (for example EventController.getAllEvents)
+ * Used as a low-cardinality tag on request metrics
+ */
+public final class HandlerNames {
+
+    public static final String UNKNOWN = "unknown";
+
+    private HandlerNames() {
+    }
+
+    public static String resolve(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return UNKNOWN;
+    }
+}
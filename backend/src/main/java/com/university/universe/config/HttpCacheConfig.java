@@ -0,0 +1,79 @@
+package com.university.universe.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * HTTP caching for read endpoints (see http-cache.routes)
+ * - Cache-Control is set per route before the controller runs, so Spring
+ *   Security leaves it alone instead of writing its no-store default
+ * - Routes with etag=true get a weak ETag computed over the serialized body;
+ *   a matching If-None-Match is answered with 304 and no body
+ * Compression is handled by the server (server.compression.*).
+ */
+@Configuration
+public class HttpCacheConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private HttpCacheProperties httpCacheProperties;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                    @NonNull Object handler) {
+                HttpCacheProperties.Route route = findRoute(request);
+                if (route != null && route.getCacheControl() != null) {
+                    response.setHeader("Cache-Control", route.getCacheControl());
+                }
+                return true;
+            }
+        });
+    }
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter() {
+            @Override
+            protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+                HttpCacheProperties.Route route = findRoute(request);
+                return route == null || !route.isEtag();
+            }
+        };
+        filter.setWriteWeakETag(true);
+
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setName("etagFilter");
+        return registration;
+    }
+
+    private HttpCacheProperties.Route findRoute(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (HttpCacheProperties.Route route : httpCacheProperties.getRoutes()) {
+            for (String pattern : route.getPatterns()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return route;
+                }
+            }
+        }
+        return null;
+    }
+}
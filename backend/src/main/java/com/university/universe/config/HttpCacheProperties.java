@@ -0,0 +1,60 @@
+package com.university.universe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HTTP caching configuration properties
+ * Maps http-cache.* from application.properties
+ * Routes are checked in order for GET/HEAD requests; the first route whose
+ * path pattern matches sets Cache-Control and decides whether a weak ETag is added.
+ */
+@Component
+@ConfigurationProperties(prefix = "http-cache")
+public class HttpCacheProperties {
+    private List<Route> routes = new ArrayList<>();
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<Route> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * Caching rule for a group of paths
+     */
+    public static class Route {
+        private List<String> patterns = new ArrayList<>();
+        private String cacheControl;
+        private boolean etag = false;
+
+        public List<String> getPatterns() {
+            return patterns;
+        }
+
+        public void setPatterns(List<String> patterns) {
+            this.patterns = patterns;
+        }
+
+        public String getCacheControl() {
+            return cacheControl;
+        }
+
+        public void setCacheControl(String cacheControl) {
+            this.cacheControl = cacheControl;
+        }
+
+        public boolean isEtag() {
+            return etag;
+        }
+
+        public void setEtag(boolean etag) {
+            this.etag = etag;
+        }
+    }
+}
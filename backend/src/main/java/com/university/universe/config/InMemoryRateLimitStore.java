@@ -0,0 +1,80 @@
+package com.university.universe.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-node, lock-free token buckets
+ * Each bucket is a single AtomicLong holding its "theoretical arrival time"
+ * (GCRA): one token is worth refill/capacity nanoseconds, a request is allowed
+ * while the stored time is at most one full refill period ahead of now, and
+ * taking a token is a single compare-and-set. A bucket whose time has passed
+ * is full again, so the sweep can drop it without losing state. Once
+ * rate-limit.max-keys buckets exist, a new client first triggers a sweep of
+ * the idle buckets, and is rejected until one is freed if that finds none;
+ * clients that already have a bucket are never pushed out by new ones.
+ */
+@Component
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+
+    @Autowired
+    private RateLimitProperties rateLimitProperties;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    // One full-table sweep at a time when new clients arrive at max-keys
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    @Override
+    public Decision tryConsume(String key, int capacity, long refillNanos) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= rateLimitProperties.getMaxKeys()) {
+                if (sweeping.compareAndSet(false, true)) {
+                    try {
+                        sweep();
+                    } finally {
+                        sweeping.set(false);
+                    }
+                }
+                if (buckets.size() >= rateLimitProperties.getMaxKeys()) {
+                    return new Decision(false, 0, refillNanos);
+                }
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(System.nanoTime()));
+        }
+
+        long interval = Math.max(refillNanos / capacity, 1);
+        while (true) {
+            long now = System.nanoTime();
+            long stored = bucket.get();
+            long tat = stored - now < 0 ? now : stored;
+            long next = tat + interval;
+            long ahead = next - now;
+            if (ahead > refillNanos) {
+                return new Decision(false, 0, ahead - refillNanos);
+            }
+            if (bucket.compareAndSet(stored, next)) {
+                return new Decision(true, (refillNanos - ahead) / interval, 0);
+            }
+        }
+    }
+
+    // Drop full (idle) buckets; keeps memory proportional to recently active clients
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
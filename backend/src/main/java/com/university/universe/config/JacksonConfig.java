@@ -0,0 +1,21 @@
+package com.university.universe.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson configuration
+ * Spring Boot registers every Module bean with the shared ObjectMapper.
+ * Blackbird replaces reflective getter/field access with LambdaMetafactory-generated
+ * accessors, which cuts CPU and allocation when serializing response DTOs.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,120 @@
+package com.university.universe.config;
+
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.net.HttpContent;
+import com.stripe.net.HttpHeaders;
+import com.stripe.net.StripeRequest;
+import com.stripe.net.StripeResponse;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stripe SDK transport on the JDK HttpClient
+ * The SDK's default client opens an HttpURLConnection per call. This one keeps
+ * connections to Stripe alive and reuses them (HTTP/2 where Stripe offers it),
+ * and caps concurrent Stripe requests at stripe.max-connections so a slow Stripe
+ * cannot tie up every request thread. Timeouts surface as ConnectException /
+ * SocketTimeoutException causes, which the SDK's retry logic recognizes.
+ */
+public class JdkStripeHttpClient extends com.stripe.net.HttpClient {
+
+    // Set by the JDK client itself
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final HttpClient client;
+    private final Duration readTimeout;
+    private final Semaphore permits;
+    private final long permitWaitMillis;
+
+    public JdkStripeHttpClient(int connectTimeoutMs, int readTimeoutMs, int maxConnections) {
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.readTimeout = Duration.ofMillis(readTimeoutMs);
+        this.permits = new Semaphore(maxConnections);
+        this.permitWaitMillis = connectTimeoutMs;
+    }
+
+    @Override
+    public StripeResponse request(StripeRequest request) throws ApiConnectionException {
+        HttpRequest httpRequest = toHttpRequest(request);
+        boolean acquired = false;
+        try {
+            acquired = permits.tryAcquire(permitWaitMillis, TimeUnit.MILLISECONDS);
+            if (!acquired) {
+                throw connectionError("Too many concurrent requests to Stripe",
+                        new ConnectException("No free Stripe connection within " + permitWaitMillis + " ms"));
+            }
+            HttpResponse<String> response = client.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+            return new StripeResponse(response.statusCode(), HttpHeaders.of(response.headers().map()), response.body());
+        } catch (HttpConnectTimeoutException e) {
+            throw connectionError("Timed out connecting to Stripe", initCause(new ConnectException(e.getMessage()), e));
+        } catch (HttpTimeoutException e) {
+            throw connectionError("Timed out reading from Stripe",
+                    initCause(new SocketTimeoutException(e.getMessage()), e));
+        } catch (IOException e) {
+            throw connectionError("IOException during API request to Stripe (" + request.url() + "): "
+                    + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw connectionError("Interrupted during API request to Stripe", e);
+        } finally {
+            if (acquired) {
+                permits.release();
+            }
+        }
+    }
+
+    private HttpRequest toHttpRequest(StripeRequest request) throws ApiConnectionException {
+        HttpRequest.Builder builder;
+        try {
+            builder = HttpRequest.newBuilder(request.url().toURI()).timeout(readTimeout);
+        } catch (URISyntaxException e) {
+            throw connectionError("Invalid Stripe URL " + request.url(), e);
+        }
+
+        builder.header("User-Agent", buildUserAgentString());
+        builder.header("X-Stripe-Client-User-Agent", buildXStripeClientUserAgentString());
+        for (Map.Entry<String, List<String>> header : request.headers().map().entrySet()) {
+            if (RESTRICTED_HEADERS.contains(header.getKey().toLowerCase())) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                builder.header(header.getKey(), value);
+            }
+        }
+
+        HttpContent content = request.content();
+        HttpRequest.BodyPublisher body = content != null
+                ? HttpRequest.BodyPublishers.ofByteArray(content.byteArrayContent())
+                : HttpRequest.BodyPublishers.noBody();
+        if (content != null) {
+            builder.header("Content-Type", content.contentType());
+        }
+        return builder.method(request.method().name(), body).build();
+    }
+
+    private static ApiConnectionException connectionError(String message, Throwable cause) {
+        return new ApiConnectionException(message, cause);
+    }
+
+    private static <T extends Throwable> T initCause(T exception, Throwable cause) {
+        exception.initCause(cause);
+        return exception;
+    }
+}
@@ -30,6 +30,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    // Request attribute holding the authenticated user's ID (used by RateLimitFilter)
+    public static final String USER_ID_ATTRIBUTE = "universe.userId";
+
     @Autowired
     private JwtService jwtService;
 
@@ -76,6 +79,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                 // Set authentication in SecurityContext
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                if (userId != null) {
+                    request.setAttribute(USER_ID_ATTRIBUTE, userId);
+                }
                 logger.debug("SecurityContext set for user: {} with roles: {}", email, authorities);
 
             } catch (Exception e) {
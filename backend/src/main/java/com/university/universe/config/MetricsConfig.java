@@ -0,0 +1,36 @@
+package com.university.universe.config;
+
+import io.micrometer.common.KeyValues;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+/**
+ * Metrics configuration
+ * - tags http.server.requests with the handling controller method
+ * - registers the statement counting inspector with Hibernate
+ * Percentiles, Hikari and Hibernate statistics are configured in application.properties
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public ServerRequestObservationConvention handlerTaggingObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context)
+                        .and("handler", HandlerNames.resolve(context.getCarrier()));
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCountingInspector());
+    }
+}
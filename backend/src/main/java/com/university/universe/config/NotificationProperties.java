@@ -0,0 +1,31 @@
+package com.university.universe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Notification fan-out configuration properties
+ * Maps notifications.* from application.properties
+ */
+@Component
+@ConfigurationProperties(prefix = "notifications")
+public class NotificationProperties {
+    private int pageSize = 500;
+    private long fanOutOnReadThreshold = 5000;
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public long getFanOutOnReadThreshold() {
+        return fanOutOnReadThreshold;
+    }
+
+    public void setFanOutOnReadThreshold(long fanOutOnReadThreshold) {
+        this.fanOutOnReadThreshold = fanOutOnReadThreshold;
+    }
+}
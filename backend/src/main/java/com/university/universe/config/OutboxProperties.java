@@ -0,0 +1,87 @@
+package com.university.universe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Transactional outbox configuration properties
+ * Maps outbox.* from application.properties
+ * broker=none dispatches to in-process listeners only; broker=memory also
+ * hands every event to the in-memory stand-in broker adapter.
+ */
+@Component
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+    private long pollIntervalMs = 1000;
+    private int batchSize = 200;
+    private long leaseMs = 30000;
+    private int maxAttempts = 10;
+    private long retryDelayMs = 1000;
+    private long maxRetryDelayMs = 300000;
+    private long retentionHours = 72;
+    private String broker = "none";
+
+    public long getPollIntervalMs() {
+        return pollIntervalMs;
+    }
+
+    public void setPollIntervalMs(long pollIntervalMs) {
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getLeaseMs() {
+        return leaseMs;
+    }
+
+    public void setLeaseMs(long leaseMs) {
+        this.leaseMs = leaseMs;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getRetryDelayMs() {
+        return retryDelayMs;
+    }
+
+    public void setRetryDelayMs(long retryDelayMs) {
+        this.retryDelayMs = retryDelayMs;
+    }
+
+    public long getMaxRetryDelayMs() {
+        return maxRetryDelayMs;
+    }
+
+    public void setMaxRetryDelayMs(long maxRetryDelayMs) {
+        this.maxRetryDelayMs = maxRetryDelayMs;
+    }
+
+    public long getRetentionHours() {
+        return retentionHours;
+    }
+
+    public void setRetentionHours(long retentionHours) {
+        this.retentionHours = retentionHours;
+    }
+
+    public String getBroker() {
+        return broker;
+    }
+
+    public void setBroker(String broker) {
+        this.broker = broker;
+    }
+}
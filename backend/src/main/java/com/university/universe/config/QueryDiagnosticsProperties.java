@@ -0,0 +1,58 @@
+package com.university.universe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Query diagnostics configuration properties
+ * Maps diagnostics.queries.* from application.properties
+ */
+@Component
+@ConfigurationProperties(prefix = "diagnostics.queries")
+public class QueryDiagnosticsProperties {
+    private boolean enabled = false;
+    private int statementThreshold = 20;
+    private int repeatThreshold = 5;
+    private long slowRequestMillis = 1000;
+    private int maxReports = 200;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getStatementThreshold() {
+        return statementThreshold;
+    }
+
+    public void setStatementThreshold(int statementThreshold) {
+        this.statementThreshold = statementThreshold;
+    }
+
+    public int getRepeatThreshold() {
+        return repeatThreshold;
+    }
+
+    public void setRepeatThreshold(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    public long getSlowRequestMillis() {
+        return slowRequestMillis;
+    }
+
+    public void setSlowRequestMillis(long slowRequestMillis) {
+        this.slowRequestMillis = slowRequestMillis;
+    }
+
+    public int getMaxReports() {
+        return maxReports;
+    }
+
+    public void setMaxReports(int maxReports) {
+        this.maxReports = maxReports;
+    }
+}
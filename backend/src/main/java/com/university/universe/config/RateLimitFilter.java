@@ -0,0 +1,121 @@
+package com.university.universe.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Token-bucket rate limiting for public endpoints
+ * Runs right after the Spring Security chain so signed-in users can be
+ * limited by user id (see JwtAuthenticationFilter.USER_ID_ATTRIBUTE).
+ * Rejected requests get 429 with Retry-After; allowed ones carry
+ * X-RateLimit-Limit / X-RateLimit-Remaining. Policies come from rate-limit.policies.
+ * Anonymous clients are keyed by request.getRemoteAddr(), which is the
+ * X-Forwarded-For address only for requests from a trusted proxy
+ * (server.tomcat.remoteip.internal-proxies, see application.properties).
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    @Autowired
+    private RateLimitProperties rateLimitProperties;
+
+    @Autowired
+    private RateLimitStore rateLimitStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitProperties.Policy policy = findPolicy(request);
+        if (policy == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = policy.getName() + ":" + clientKey(request, policy);
+        RateLimitStore.Decision decision = rateLimitStore.tryConsume(key, policy.getCapacity(),
+                policy.getRefillPeriod().toNanos());
+
+        response.setHeader("X-RateLimit-Limit", String.valueOf(policy.getCapacity()));
+        if (decision.isAllowed()) {
+            response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.getRemaining()));
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1,
+                (decision.getRetryAfterNanos() + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+        meterRegistry.counter("rate.limit.rejected", "policy", policy.getName()).increment();
+        logger.debug("Rate limited policy={} key={} retryAfterSeconds={}", policy.getName(), key, retryAfterSeconds);
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("message", "Too many requests. Please try again in " + retryAfterSeconds + " seconds.");
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setHeader("X-RateLimit-Remaining", "0");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !rateLimitProperties.isEnabled() || "OPTIONS".equals(request.getMethod());
+    }
+
+    private RateLimitProperties.Policy findPolicy(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RateLimitProperties.Policy policy : rateLimitProperties.getPolicies()) {
+            if (!policy.getMethods().isEmpty() && !policy.getMethods().contains(request.getMethod())) {
+                continue;
+            }
+            for (String pattern : policy.getPatterns()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return policy;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request, RateLimitProperties.Policy policy) {
+        if ("USER".equalsIgnoreCase(policy.getKey())) {
+            Object userId = request.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+            if (userId != null) {
+                return "user-" + userId;
+            }
+        }
+        return "ip-" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,117 @@
+package com.university.universe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limit configuration properties
+ * Maps rate-limit.* from application.properties
+ * Policies are checked in order; the first one whose method and path patterns
+ * match the request applies, requests matching no policy are not limited.
+ */
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private int maxKeys = 100000;
+    private long sweepIntervalMs = 60000;
+    private List<Policy> policies = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public long getSweepIntervalMs() {
+        return sweepIntervalMs;
+    }
+
+    public void setSweepIntervalMs(long sweepIntervalMs) {
+        this.sweepIntervalMs = sweepIntervalMs;
+    }
+
+    public List<Policy> getPolicies() {
+        return policies;
+    }
+
+    public void setPolicies(List<Policy> policies) {
+        this.policies = policies;
+    }
+
+    /**
+     * One rate limit policy: capacity requests per refill period, per key
+     * key=IP limits each client address; key=USER limits each signed-in user
+     * and falls back to the client address for anonymous requests
+     */
+    public static class Policy {
+        private String name;
+        private List<String> patterns = new ArrayList<>();
+        private List<String> methods = new ArrayList<>();
+        private int capacity = 60;
+        private Duration refillPeriod = Duration.ofMinutes(1);
+        private String key = "USER";
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<String> getPatterns() {
+            return patterns;
+        }
+
+        public void setPatterns(List<String> patterns) {
+            this.patterns = patterns;
+        }
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public Duration getRefillPeriod() {
+            return refillPeriod;
+        }
+
+        public void setRefillPeriod(Duration refillPeriod) {
+            this.refillPeriod = refillPeriod;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public void setKey(String key) {
+            this.key = key;
+        }
+    }
+}
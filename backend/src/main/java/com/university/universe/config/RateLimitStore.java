@@ -0,0 +1,46 @@
+package com.university.universe.config;
+
+/**
+ * Storage for rate limit buckets
+ * InMemoryRateLimitStore keeps buckets per node. For a multi-node deployment
+ * provide a shared implementation (for example backed by Redis) as a @Primary bean.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Take one token from the bucket of key
+     *
+     * @param key          bucket key (policy name + client)
+     * @param capacity     bucket size (burst)
+     * @param refillNanos  time to refill the whole bucket
+     * @return the outcome, with the remaining tokens or the time to wait
+     */
+    Decision tryConsume(String key, int capacity, long refillNanos);
+
+    /**
+     * Outcome of a tryConsume call
+     */
+    final class Decision {
+        private final boolean allowed;
+        private final long remaining;
+        private final long retryAfterNanos;
+
+        public Decision(boolean allowed, long remaining, long retryAfterNanos) {
+            this.allowed = allowed;
+            this.remaining = remaining;
+            this.retryAfterNanos = retryAfterNanos;
+        }
+
+        public boolean isAllowed() {
+            return allowed;
+        }
+
+        public long getRemaining() {
+            return remaining;
+        }
+
+        public long getRetryAfterNanos() {
+            return retryAfterNanos;
+        }
+    }
+}
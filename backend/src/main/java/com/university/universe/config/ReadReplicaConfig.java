@@ -0,0 +1,81 @@
+package com.university.universe.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read replica routing configuration
+ * Active only with datasource.replica.enabled=true; otherwise Spring Boot's
+ * single auto-configured pool is used.
+ * - primaryDataSource: spring.datasource.* with spring.datasource.hikari.* pool settings
+ * - replicaDataSource: datasource.replica.* with datasource.replica.hikari.* pool settings
+ * - dataSource: lazy proxy over the routing DataSource, used by JPA
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(ReplicaDataSourceProperties replicaProperties,
+            DataSourceProperties dataSourceProperties) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(dataSourceProperties.determineDriverClassName())
+                .url(replicaProperties.getUrl())
+                .username(replicaProperties.getUsername())
+                .password(replicaProperties.getPassword())
+                .build();
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public ReplicaLagGuard replicaLagGuard(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaDataSourceProperties replicaProperties, MeterRegistry meterRegistry) {
+        ReplicaLagGuard guard = new ReplicaLagGuard(replicaDataSource, replicaProperties.getMaxLagSeconds());
+        Gauge.builder("datasource.replica.lag.seconds", guard, ReplicaLagGuard::getLastLagSeconds)
+                .description("Replication lag of the read replica, -1 when unknown")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", guard, g -> g.isReplicaUsable() ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(meterRegistry);
+        return guard;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource, ReplicaLagGuard replicaLagGuard) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReadReplicaRoutingDataSource.PRIMARY, primaryDataSource);
+        targets.put(ReadReplicaRoutingDataSource.REPLICA, replicaDataSource);
+
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(replicaLagGuard);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
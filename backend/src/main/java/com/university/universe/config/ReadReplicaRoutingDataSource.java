@@ -0,0 +1,32 @@
+package com.university.universe.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource that sends connections for read-only transactions
+ * (@Transactional(readOnly = true)) to the replica pool, and everything
+ * else to the primary pool
+ * Falls back to the primary whenever the replica lag guard reports the
+ * replica as unhealthy. Must be wrapped in a LazyConnectionDataSourceProxy
+ * so the lookup happens after the transaction's read-only flag is set.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private final ReplicaLagGuard lagGuard;
+
+    public ReadReplicaRoutingDataSource(ReplicaLagGuard lagGuard) {
+        this.lagGuard = lagGuard;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && lagGuard.isReplicaUsable()) {
+            return REPLICA;
+        }
+        return PRIMARY;
+    }
+}
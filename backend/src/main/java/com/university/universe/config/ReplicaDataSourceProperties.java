@@ -0,0 +1,68 @@
+package com.university.universe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read replica configuration properties
+ * Maps datasource.replica.* from application.properties
+ * Pool settings for the replica are bound separately from datasource.replica.hikari.*
+ */
+@Component
+@ConfigurationProperties(prefix = "datasource.replica")
+public class ReplicaDataSourceProperties {
+    private boolean enabled = false;
+    private String url;
+    private String username;
+    private String password;
+    private long maxLagSeconds = 5;
+    private long lagCheckIntervalMs = 5000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public long getMaxLagSeconds() {
+        return maxLagSeconds;
+    }
+
+    public void setMaxLagSeconds(long maxLagSeconds) {
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public long getLagCheckIntervalMs() {
+        return lagCheckIntervalMs;
+    }
+
+    public void setLagCheckIntervalMs(long lagCheckIntervalMs) {
+        this.lagCheckIntervalMs = lagCheckIntervalMs;
+    }
+}
@@ -0,0 +1,86 @@
+package com.university.universe.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Periodically checks replication lag on the read replica
+ * Reads are routed to the replica only while its lag is at or below
+ * datasource.replica.max-lag-seconds. A server that reports no replication
+ * status (a standalone MySQL used as a local stand-in) counts as zero lag.
+ */
+public class ReplicaLagGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagGuard.class);
+
+    private final DataSource replicaDataSource;
+    private final long maxLagSeconds;
+
+    private volatile boolean replicaUsable = false;
+    private volatile long lastLagSeconds = -1;
+
+    public ReplicaLagGuard(DataSource replicaDataSource, long maxLagSeconds) {
+        this.replicaDataSource = replicaDataSource;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * Last measured lag in seconds, -1 if unknown (replication stopped or replica unreachable)
+     */
+    public long getLastLagSeconds() {
+        return lastLagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:5000}")
+    public void checkLag() {
+        long lag;
+        try {
+            lag = readLagSeconds();
+        } catch (SQLException e) {
+            logger.warn("Replica lag check failed, routing reads to primary: {}", e.getMessage());
+            lag = -1;
+        }
+
+        boolean usable = lag >= 0 && lag <= maxLagSeconds;
+        if (usable != replicaUsable) {
+            logger.info("Replica routing {} (lagSeconds={}, maxLagSeconds={})",
+                    usable ? "enabled" : "disabled", lag, maxLagSeconds);
+        }
+        lastLagSeconds = lag;
+        replicaUsable = usable;
+    }
+
+    private long readLagSeconds() throws SQLException {
+        try (Connection connection = replicaDataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            ResultSet status;
+            String lagColumn;
+            try {
+                status = statement.executeQuery("SHOW REPLICA STATUS");
+                lagColumn = "Seconds_Behind_Source";
+            } catch (SQLException e) {
+                // MySQL before 8.0.22
+                status = statement.executeQuery("SHOW SLAVE STATUS");
+                lagColumn = "Seconds_Behind_Master";
+            }
+            try (ResultSet rs = status) {
+                if (!rs.next()) {
+                    return 0;
+                }
+                long lag = rs.getLong(lagColumn);
+                return rs.wasNull() ? -1 : lag;
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.university.universe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Event RSVP configuration properties
+ * Maps rsvp.* from application.properties
+ */
+@Component
+@ConfigurationProperties(prefix = "rsvp")
+public class RsvpProperties {
+    private int seatStripes = 8;
+
+    public int getSeatStripes() {
+        return seatStripes;
+    }
+
+    public void setSeatStripes(int seatStripes) {
+        this.seatStripes = seatStripes;
+    }
+}
@@ -1,6 +1,7 @@
 package com.university.universe.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -22,6 +23,12 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -38,6 +45,12 @@ public class SecurityConfig {
                         .requestMatchers("/api/setup/**").permitAll()
                         .requestMatchers("/api/chatbot/**").permitAll()
 
+                        // Liveness/readiness for the load balancer, see management.* in application.properties
+                        .requestMatchers("/livez", "/readyz").permitAll()
+
+                        // Actuator (health, metrics, Prometheus scraping) on the internal management port only
+                        .requestMatchers(request -> isManagementPort(request.getLocalPort())).permitAll()
+
                         // Public read endpoints
                         .requestMatchers("GET", "/api/clubs/**").permitAll()
                         .requestMatchers("GET", "/api/events/**").permitAll()
@@ -57,6 +70,7 @@ public class SecurityConfig {
                         .requestMatchers("OPTIONS", "/api/upload/**").permitAll()
                         .requestMatchers("POST", "/api/upload/**").authenticated() // Require auth for uploads
 
+                        .requestMatchers("/api/admin/analytics/**").hasRole("SUPER_ADMIN") // Analytics dashboard
                         .requestMatchers("/api/admin/**").hasAnyRole("ADMIN", "SUPER_ADMIN") // Admin endpoints
 
                         // All other requests require authentication
@@ -74,6 +88,11 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // True for the separate management.server.port; never for the public API port
+    private boolean isManagementPort(int port) {
+        return managementPort > 0 && managementPort != serverPort && port == managementPort;
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -98,7 +117,19 @@ public class SecurityConfig {
                 "X-Requested-With",
                 "Accept",
                 "Access-Control-Request-Method",
-                "Access-Control-Request-Headers"));
+                "Access-Control-Request-Headers",
+                "Idempotency-Key",
+                "If-Match",
+                "If-None-Match",
+                "Prefer"));
+
+        // Let the frontend read rate limit headers (429 responses) and entity versions (If-Match)
+        configuration.setExposedHeaders(Arrays.asList(
+                "ETag",
+                "Preference-Applied",
+                "Retry-After",
+                "X-RateLimit-Limit",
+                "X-RateLimit-Remaining"));
 
         // Allow credentials (cookies, authorization headers)
         configuration.setAllowCredentials(true);
@@ -0,0 +1,35 @@
+package com.university.universe.config;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logback filter that samples Hibernate slow-query events
+ * Lets the first event through and then one in every sampleRate events,
+ * so a burst of slow statements cannot flood the log appender
+ * Configured from logback-spring.xml
+ */
+public class SlowQuerySamplingFilter extends Filter<ILoggingEvent> {
+
+    private final AtomicLong counter = new AtomicLong();
+    private int sampleRate = 10;
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (sampleRate <= 1) {
+            return FilterReply.NEUTRAL;
+        }
+        return counter.getAndIncrement() % sampleRate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+}
@@ -0,0 +1,65 @@
+package com.university.universe.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records how long the backend takes to become useful after the JVM starts
+ * Spring Boot already exports application.started.time and application.ready.time;
+ * this adds application.first.request.time, measured from JVM start (including
+ * .env loading and class loading, which the Boot metrics leave out) to the end of
+ * the first handled request. All three are logged once so startup builds
+ * (-Pstartup, AOT + CDS) can be compared from the logs of a rolling deploy.
+ */
+@Component
+public class StartupTimeRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimeRecorder.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicLong firstRequestMillis = new AtomicLong(-1);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) {
+        TimeGauge.builder("application.first.request.time", firstRequestMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Time from JVM start until the first request was handled")
+                .register(meterRegistry);
+        logger.info("Startup ready jvmToReadyMs={} contextReadyMs={} aot={} cdsArchive={}",
+                sinceJvmStart(), event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1,
+                Boolean.getBoolean("spring.aot.enabled"), usesSharedArchive());
+    }
+
+    @EventListener
+    public void onRequestHandled(ServletRequestHandledEvent event) {
+        if (firstRequestMillis.get() >= 0) {
+            return;
+        }
+        long elapsed = sinceJvmStart();
+        if (firstRequestMillis.compareAndSet(-1, elapsed)) {
+            logger.info("Startup first request jvmToFirstRequestMs={} url={} status={}",
+                    elapsed, event.getRequestUrl(), event.getStatusCode());
+        }
+    }
+
+    private static long sinceJvmStart() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+
+    private static boolean usesSharedArchive() {
+        return ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.university.universe.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Hibernate statement inspector that counts the SQL statements prepared
+ * on the current thread
+ * The count is scoped to one HTTP request by StatementMetricsFilter. When
+ * query diagnostics are enabled it also records a fingerprint of every
+ * statement so repeated statements (likely N+1 patterns) can be reported.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatements statements = CURRENT.get();
+        if (statements != null) {
+            statements.record(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Start counting statements on the current thread
+     *
+     * @param trackFingerprints also keep per-fingerprint counts
+     */
+    public static void begin(boolean trackFingerprints) {
+        CURRENT.set(new RequestStatements(trackFingerprints));
+    }
+
+    /**
+     * Stop counting and return what was seen since begin()
+     */
+    public static RequestStatements end() {
+        RequestStatements statements = CURRENT.get();
+        CURRENT.remove();
+        return statements != null ? statements : new RequestStatements(false);
+    }
+
+    /**
+     * Normalize a statement so that executions differing only in literal
+     * values or IN-list length share one fingerprint
+     */
+    public static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim().toLowerCase();
+    }
+
+    /**
+     * Statements seen while handling one request
+     */
+    public static final class RequestStatements {
+        private final Map<String, Integer> fingerprints;
+        private int count;
+
+        private RequestStatements(boolean trackFingerprints) {
+            this.fingerprints = trackFingerprints ? new HashMap<>() : null;
+        }
+
+        private void record(String sql) {
+            count++;
+            if (fingerprints != null) {
+                fingerprints.merge(fingerprint(sql), 1, Integer::sum);
+            }
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Fingerprint to execution count; empty unless fingerprints were tracked
+         */
+        public Map<String, Integer> getFingerprints() {
+            return fingerprints != null ? fingerprints : Map.of();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.university.universe.config;
+
+import com.university.universe.service.QueryDiagnosticsService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Records the number of Hibernate statements executed per HTTP request
+ * Exported as the hibernate.statements.per.request summary, tagged with
+ * the controller method that handled the request. When query diagnostics
+ * are enabled the request is also handed to QueryDiagnosticsService.
+ */
+@Component
+public class StatementMetricsFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private QueryDiagnosticsService queryDiagnosticsService;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean diagnostics = queryDiagnosticsService.isEnabled();
+        long start = System.nanoTime();
+        StatementCountingInspector.begin(diagnostics);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StatementCountingInspector.RequestStatements statements = StatementCountingInspector.end();
+            String handler = HandlerNames.resolve(request);
+            DistributionSummary.builder("hibernate.statements.per.request")
+                    .description("SQL statements prepared while handling one request")
+                    .tag("handler", handler)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(statements.getCount());
+
+            if (diagnostics) {
+                long durationMillis = (System.nanoTime() - start) / 1_000_000;
+                queryDiagnosticsService.evaluate(handler, request.getMethod(), request.getRequestURI(),
+                        statements, durationMillis);
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+}
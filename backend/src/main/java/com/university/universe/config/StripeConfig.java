@@ -0,0 +1,106 @@
+package com.university.universe.config;
+
+import com.stripe.StripeClient;
+import com.stripe.net.LiveStripeResponseGetter;
+import com.stripe.net.StripeResponseGetterOptions;
+import com.university.universe.service.CircuitBreaker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.PasswordAuthentication;
+import java.net.Proxy;
+
+/**
+ * Stripe client configuration
+ * PaymentService calls Stripe through this StripeClient instead of the SDK's
+ * global Stripe.apiKey. Requests go over a pooled JDK HttpClient
+ * (JdkStripeHttpClient); failed requests that are safe to repeat are retried by
+ * the SDK up to stripe.max-network-retries times with jittered exponential
+ * backoff (POSTs carry an idempotency key, so a retry never charges twice).
+ */
+@Configuration
+public class StripeConfig {
+
+    @Bean
+    public StripeClient stripeClient(StripeProperties stripeProperties,
+            @Value("${stripe.api.key}") String apiKey) {
+        JdkStripeHttpClient httpClient = new JdkStripeHttpClient(
+                stripeProperties.getConnectTimeoutMs(),
+                stripeProperties.getReadTimeoutMs(),
+                stripeProperties.getMaxConnections());
+        return new StripeClient(new LiveStripeResponseGetter(new Options(apiKey, stripeProperties), httpClient));
+    }
+
+    @Bean
+    public CircuitBreaker stripeCircuitBreaker(StripeProperties stripeProperties, MeterRegistry meterRegistry) {
+        CircuitBreaker breaker = new CircuitBreaker("stripe",
+                stripeProperties.getCircuitFailureThreshold(), stripeProperties.getCircuitOpenMs());
+        Gauge.builder("stripe.circuit.state", breaker, b -> b.getState().ordinal())
+                .description("Stripe circuit breaker state (0 closed, 1 open, 2 half-open)")
+                .register(meterRegistry);
+        return breaker;
+    }
+
+    private static final class Options extends StripeResponseGetterOptions {
+        private final String apiKey;
+        private final StripeProperties properties;
+
+        private Options(String apiKey, StripeProperties properties) {
+            this.apiKey = apiKey;
+            this.properties = properties;
+        }
+
+        @Override
+        public String getApiKey() {
+            return apiKey;
+        }
+
+        @Override
+        public String getClientId() {
+            return null;
+        }
+
+        @Override
+        public int getConnectTimeout() {
+            return properties.getConnectTimeoutMs();
+        }
+
+        @Override
+        public Proxy getConnectionProxy() {
+            return null;
+        }
+
+        @Override
+        public int getMaxNetworkRetries() {
+            return properties.getMaxNetworkRetries();
+        }
+
+        @Override
+        public PasswordAuthentication getProxyCredential() {
+            return null;
+        }
+
+        @Override
+        public String getApiBase() {
+            return properties.getApiBase();
+        }
+
+        @Override
+        public String getFilesBase() {
+            return "https://files.stripe.com";
+        }
+
+        @Override
+        public String getConnectBase() {
+            return "https://connect.stripe.com";
+        }
+
+        @Override
+        public int getReadTimeout() {
+            return properties.getReadTimeoutMs();
+        }
+    }
+}
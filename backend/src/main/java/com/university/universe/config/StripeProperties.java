@@ -5,13 +5,23 @@ import org.springframework.stereotype.Component;
 
 /**
  * Stripe configuration properties
- * Maps Stripe API keys and secrets from application.properties
+ * Maps Stripe API keys and secrets from application.properties, and the
+ * networking of the StripeClient bean (see StripeConfig): api-base (point it at
+ * stripe-mock for local runs), timeouts, retries, connection limit and the
+ * circuit breaker around Stripe calls.
  */
 @Component
 @ConfigurationProperties(prefix = "stripe")
 public class StripeProperties {
     private String apiKey;
     private String webhookSecret;
+    private String apiBase = "https://api.stripe.com";
+    private int connectTimeoutMs = 5000;
+    private int readTimeoutMs = 20000;
+    private int maxNetworkRetries = 2;
+    private int maxConnections = 50;
+    private int circuitFailureThreshold = 5;
+    private long circuitOpenMs = 30000;
 
     public String getApiKey() {
         return apiKey;
@@ -28,4 +38,60 @@ public class StripeProperties {
     public void setWebhookSecret(String webhookSecret) {
         this.webhookSecret = webhookSecret;
     }
+
+    public String getApiBase() {
+        return apiBase;
+    }
+
+    public void setApiBase(String apiBase) {
+        this.apiBase = apiBase;
+    }
+
+    public int getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    public void setConnectTimeoutMs(int connectTimeoutMs) {
+        this.connectTimeoutMs = connectTimeoutMs;
+    }
+
+    public int getReadTimeoutMs() {
+        return readTimeoutMs;
+    }
+
+    public void setReadTimeoutMs(int readTimeoutMs) {
+        this.readTimeoutMs = readTimeoutMs;
+    }
+
+    public int getMaxNetworkRetries() {
+        return maxNetworkRetries;
+    }
+
+    public void setMaxNetworkRetries(int maxNetworkRetries) {
+        this.maxNetworkRetries = maxNetworkRetries;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getCircuitFailureThreshold() {
+        return circuitFailureThreshold;
+    }
+
+    public void setCircuitFailureThreshold(int circuitFailureThreshold) {
+        this.circuitFailureThreshold = circuitFailureThreshold;
+    }
+
+    public long getCircuitOpenMs() {
+        return circuitOpenMs;
+    }
+
+    public void setCircuitOpenMs(long circuitOpenMs) {
+        this.circuitOpenMs = circuitOpenMs;
+    }
 }
@@ -1,15 +1,26 @@
 package com.university.universe.controller;
 
+import com.university.universe.dto.ArchiveJob;
+import com.university.universe.dto.ClubPurgeJob;
 import com.university.universe.model.User;
+import com.university.universe.service.ArchiveService;
+import com.university.universe.service.ChatbotService;
+import com.university.universe.service.ClubDeletionService;
+import com.university.universe.service.ClubStatsService;
+import com.university.universe.service.QueryDiagnosticsService;
 import com.university.universe.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+// Rarely used: created on its first request instead of at startup
+@Lazy
 @RestController
 @RequestMapping("/api/admin")
 @CrossOrigin(origins = "*")
@@ -17,6 +28,21 @@ public class AdminController {
     
     @Autowired
     private UserService userService;
+
+    @Autowired
+    private QueryDiagnosticsService queryDiagnosticsService;
+
+    @Autowired
+    private ClubDeletionService clubDeletionService;
+
+    @Autowired
+    private ChatbotService chatbotService;
+
+    @Autowired
+    private ClubStatsService clubStatsService;
+
+    @Autowired
+    private ArchiveService archiveService;
     
     // Get all users (Super Admin only)
     @GetMapping("/users")
@@ -116,6 +142,31 @@ public class AdminController {
         }
     }
     
+    // JSON Merge Patch of a user (Super Admin only): only the fields sent are written
+    @PatchMapping(value = "/users/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, EntityTags.MERGE_PATCH_JSON})
+    public ResponseEntity<?> patchUser(@PathVariable Long id, @RequestBody Map<String, Object> patch,
+            @RequestHeader(value = "Prefer", required = false) String prefer) {
+        try {
+            boolean minimal = EntityTags.returnMinimal(prefer);
+            User updatedUser = userService.patchUser(id, patch, !minimal);
+            if (minimal) {
+                return EntityTags.minimal(null);
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "User updated successfully");
+            response.put("user", updatedUser);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+    
     // Delete user (Super Admin only)
     @DeleteMapping("/users/{id}")
     public ResponseEntity<?> deleteUser(@PathVariable Long id) {
@@ -134,4 +185,216 @@ public class AdminController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
         }
     }
+    
+    // Query diagnostics dashboard: statements per endpoint and flagged (N+1 / slow) requests
+    @GetMapping("/diagnostics/queries")
+    public ResponseEntity<?> getQueryDiagnostics() {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("diagnostics", queryDiagnosticsService.getDashboard());
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    // Reset query diagnostics
+    @DeleteMapping("/diagnostics/queries")
+    public ResponseEntity<?> resetQueryDiagnostics() {
+        queryDiagnosticsService.reset();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Query diagnostics reset");
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    // Start deleting a club and its dependent rows in the background
+    @PostMapping("/clubs/{id}/purge")
+    public ResponseEntity<?> purgeClub(@PathVariable Long id) {
+        try {
+            ClubPurgeJob job = clubDeletionService.startPurge(id);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Club deletion started");
+            response.put("job", job);
+            
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+    
+    // Get all club purge jobs
+    @GetMapping("/purge-jobs")
+    public ResponseEntity<?> getPurgeJobs() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("jobs", clubDeletionService.getJobs());
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    // Get progress of a club purge job
+    @GetMapping("/purge-jobs/{jobId}")
+    public ResponseEntity<?> getPurgeJob(@PathVariable String jobId) {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("job", clubDeletionService.getJob(jobId));
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
+    
+    // Start moving old events, announcements and payments to the archive tables now
+    @PostMapping("/archive")
+    public ResponseEntity<?> startArchive() {
+        try {
+            ArchiveJob job = archiveService.startArchive();
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Archive started");
+            response.put("job", job);
+            
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        }
+    }
+    
+    // Get all archive jobs
+    @GetMapping("/archive/jobs")
+    public ResponseEntity<?> getArchiveJobs() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("jobs", archiveService.getJobs());
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    // Get progress of an archive job
+    @GetMapping("/archive/jobs/{jobId}")
+    public ResponseEntity<?> getArchiveJob(@PathVariable String jobId) {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("job", archiveService.getJob(jobId));
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
+    
+    // Member, event and revenue counters of one club (precomputed, see ClubStatsService)
+    @GetMapping("/clubs/{id}/stats")
+    public ResponseEntity<?> getClubStats(@PathVariable Long id) {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("stats", clubStatsService.getStats(id));
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
+    
+    // Counters of all clubs
+    @GetMapping("/club-stats")
+    public ResponseEntity<?> getAllClubStats() {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("stats", clubStatsService.getAllStats());
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    // Recount all club counters now instead of waiting for the nightly repair
+    @PostMapping("/club-stats/repair")
+    public ResponseEntity<?> repairClubStats() {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Club stats repaired");
+            response.put("result", clubStatsService.repair());
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        }
+    }
+    
+    // Chatbot accuracy against the bundled corpus
+    @GetMapping("/chatbot/accuracy")
+    public ResponseEntity<?> getChatbotAccuracy() {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("report", chatbotService.evaluateCorpus());
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    // Reload chatbot intents now instead of waiting for the file check
+    @PostMapping("/chatbot/reload")
+    public ResponseEntity<?> reloadChatbot() {
+        try {
+            int intents = chatbotService.reload();
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Chatbot intents reloaded");
+            response.put("intents", intents);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
 }
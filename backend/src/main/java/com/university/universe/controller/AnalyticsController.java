@@ -0,0 +1,106 @@
+package com.university.universe.controller;
+
+import com.university.universe.service.AnalyticsEngine;
+import com.university.universe.service.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Rarely used: created on its first request instead of at startup
+@Lazy
+@RestController
+@RequestMapping("/api/admin/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    // Sign-ups per day, week or month (default: monthly, last 12 months)
+    @GetMapping("/signups")
+    public ResponseEntity<?> getSignups(@RequestParam(defaultValue = "month") String granularity,
+                                        @RequestParam(required = false) String from,
+                                        @RequestParam(required = false) String to) {
+        try {
+            LocalDate toDate = to != null ? LocalDate.parse(to) : LocalDate.now();
+            LocalDate fromDate = from != null ? LocalDate.parse(from) : toDate.minusMonths(12).plusDays(1);
+            AnalyticsEngine.Granularity bucket = AnalyticsEngine.Granularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("granularity", bucket.name().toLowerCase(Locale.ROOT));
+            response.put("signups", analyticsService.signups(bucket, fromDate, toDate));
+
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return error(e);
+        }
+    }
+
+    // Club joins grouped by faculty, year or club (default: all time)
+    @GetMapping("/joins")
+    public ResponseEntity<?> getJoins(@RequestParam(defaultValue = "faculty") String by,
+                                      @RequestParam(required = false) String from,
+                                      @RequestParam(required = false) String to,
+                                      @RequestParam(required = false) Long clubId) {
+        try {
+            LocalDate fromDate = from != null ? LocalDate.parse(from) : LocalDate.MIN;
+            LocalDate toDate = to != null ? LocalDate.parse(to) : LocalDate.MAX;
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("by", by);
+            response.put("joins", analyticsService.joins(by, fromDate, toDate, clubId));
+
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return error(e);
+        }
+    }
+
+    // Revenue of successful payments per club and month (default: last 12 months)
+    @GetMapping("/revenue")
+    public ResponseEntity<?> getRevenue(@RequestParam(required = false) String from,
+                                        @RequestParam(required = false) String to,
+                                        @RequestParam(required = false) Long clubId) {
+        try {
+            YearMonth toMonth = to != null ? YearMonth.parse(to) : YearMonth.now();
+            YearMonth fromMonth = from != null ? YearMonth.parse(from) : toMonth.minusMonths(11);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("currency", "LKR");
+            response.put("revenue", analyticsService.revenue(fromMonth, toMonth, clubId));
+
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return error(e);
+        }
+    }
+
+    // Snapshot sizes and refresh times
+    @GetMapping("/status")
+    public ResponseEntity<?> getStatus() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("status", analyticsService.getStatus());
+
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<?> error(Exception e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("message", e.getMessage());
+        // Still loading after startup: 503, bad dates or groupings: 400
+        HttpStatus status = e instanceof IllegalStateException ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+}
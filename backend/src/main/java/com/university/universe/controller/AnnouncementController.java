@@ -1,9 +1,13 @@
 package com.university.universe.controller;
 
+import com.university.universe.dto.BulkIdsRequest;
+import com.university.universe.dto.BulkItemResult;
 import com.university.universe.model.Announcement;
 import com.university.universe.service.AnnouncementService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
@@ -67,7 +71,7 @@ public class AnnouncementController {
             response.put("success", true);
             response.put("announcement", announcement);
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(EntityTags.of(announcement.getVersion())).body(response);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -152,18 +156,53 @@ public class AnnouncementController {
         }
     }
     
-    // Update announcement
+    // Update announcement (If-Match or "version": the version last read; 409 with the current announcement if it changed since)
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateAnnouncement(@PathVariable Long id, @RequestBody Announcement announcement) {
+    public ResponseEntity<?> updateAnnouncement(@PathVariable Long id, @RequestBody Announcement announcement,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         try {
-            Announcement updatedAnnouncement = announcementService.updateAnnouncement(id, announcement);
+            Announcement updatedAnnouncement = announcementService.updateAnnouncement(id, announcement,
+                    EntityTags.expectedVersion(ifMatch, announcement.getVersion()));
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Announcement updated successfully");
             response.put("announcement", updatedAnnouncement);
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(EntityTags.of(updatedAnnouncement.getVersion())).body(response);
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(id);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+    
+    // JSON Merge Patch of title and content; same version check as PUT.
+    // With Prefer: return=minimal the answer is 204 and the announcement is not read back.
+    @PatchMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, EntityTags.MERGE_PATCH_JSON})
+    public ResponseEntity<?> patchAnnouncement(@PathVariable Long id, @RequestBody Map<String, Object> patch,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            @RequestHeader(value = "Prefer", required = false) String prefer) {
+        try {
+            Long expectedVersion = EntityTags.expectedVersion(ifMatch, EntityTags.bodyVersion(patch));
+            boolean minimal = EntityTags.returnMinimal(prefer);
+            Announcement updatedAnnouncement = announcementService.patchAnnouncement(id, patch, expectedVersion,
+                    !minimal);
+            if (minimal) {
+                return EntityTags.minimal(expectedVersion);
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Announcement updated successfully");
+            response.put("announcement", updatedAnnouncement);
+            
+            return ResponseEntity.ok().eTag(EntityTags.of(updatedAnnouncement.getVersion())).body(response);
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(id);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -230,4 +269,55 @@ public class AnnouncementController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
         }
     }
+    
+    // Publish many announcements at once: {"ids": [...]}, one result per id
+    @PostMapping("/batch/publish")
+    public ResponseEntity<?> publishAnnouncements(@RequestBody BulkIdsRequest request) {
+        return setPublished(request, true);
+    }
+    
+    // Unpublish many announcements at once: {"ids": [...]}, one result per id
+    @PostMapping("/batch/unpublish")
+    public ResponseEntity<?> unpublishAnnouncements(@RequestBody BulkIdsRequest request) {
+        return setPublished(request, false);
+    }
+    
+    private ResponseEntity<?> setPublished(BulkIdsRequest request, boolean published) {
+        try {
+            List<BulkItemResult> results = announcementService.setPublished(request.ids(), published);
+            long failed = results.stream().filter(result -> !result.succeeded()).count();
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", (results.size() - failed) + " announcement(s) "
+                    + (published ? "published" : "unpublished") + (failed > 0 ? ", " + failed + " failed" : ""));
+            response.put("results", results);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+    
+    // 409 with the announcement as it is now, so the client can merge and retry with its version
+    private ResponseEntity<?> conflict(Long id) {
+        try {
+            Announcement current = announcementService.getLatestAnnouncement(id);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Announcement was changed by someone else");
+            response.put("announcement", current);
+            
+            return ResponseEntity.status(HttpStatus.CONFLICT).eTag(EntityTags.of(current.getVersion())).body(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
 }
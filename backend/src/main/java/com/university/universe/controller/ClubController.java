@@ -1,12 +1,17 @@
 package com.university.universe.controller;
 
+import com.university.universe.dto.ApiResponse;
+import com.university.universe.dto.ClubListResponse;
+import com.university.universe.dto.ClubResponse;
+import com.university.universe.dto.ClubView;
 import com.university.universe.model.Club;
 import com.university.universe.service.ClubService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -24,17 +29,9 @@ public class ClubController {
         try {
             Club createdClub = clubService.createClub(club);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Club created successfully");
-            response.put("club", createdClub);
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new ClubResponse(true, "Club created successfully", ClubView.from(createdClub)));
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()));
         }
     }
     
@@ -44,16 +41,9 @@ public class ClubController {
         try {
             List<Club> clubs = clubService.getAllClubs();
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("clubs", clubs);
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new ClubListResponse(true, clubs.stream().map(ClubView::from).toList()));
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error(e.getMessage()));
         }
     }
     
@@ -63,16 +53,10 @@ public class ClubController {
         try {
             Club club = clubService.getClubById(id);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("club", club);
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(EntityTags.of(club.getVersion()))
+                    .body(new ClubResponse(true, null, ClubView.from(club)));
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
         }
     }
     
@@ -82,16 +66,9 @@ public class ClubController {
         try {
             List<Club> clubs = clubService.getClubsByAdminId(adminId);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("clubs", clubs);
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new ClubListResponse(true, clubs.stream().map(ClubView::from).toList()));
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error(e.getMessage()));
         }
     }
     
@@ -101,36 +78,48 @@ public class ClubController {
         try {
             List<Club> clubs = clubService.searchClubsByName(name);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("clubs", clubs);
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new ClubListResponse(true, clubs.stream().map(ClubView::from).toList()));
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error(e.getMessage()));
         }
     }
     
-    // Update club
+    // Update club (If-Match or "version": the version last read; 409 with the current club if it changed since)
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateClub(@PathVariable Long id, @RequestBody Club club) {
+    public ResponseEntity<?> updateClub(@PathVariable Long id, @RequestBody Club club,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         try {
-            Club updatedClub = clubService.updateClub(id, club);
+            Club updatedClub = clubService.updateClub(id, club, EntityTags.expectedVersion(ifMatch, club.getVersion()));
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Club updated successfully");
-            response.put("club", updatedClub);
+            return ResponseEntity.ok().eTag(EntityTags.of(updatedClub.getVersion()))
+                    .body(new ClubResponse(true, "Club updated successfully", ClubView.from(updatedClub)));
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(id);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    // JSON Merge Patch: only the fields sent are written; same version check as PUT.
+    // With Prefer: return=minimal the answer is 204 and the club is not read back.
+    @PatchMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, EntityTags.MERGE_PATCH_JSON})
+    public ResponseEntity<?> patchClub(@PathVariable Long id, @RequestBody Map<String, Object> patch,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            @RequestHeader(value = "Prefer", required = false) String prefer) {
+        try {
+            Long expectedVersion = EntityTags.expectedVersion(ifMatch, EntityTags.bodyVersion(patch));
+            boolean minimal = EntityTags.returnMinimal(prefer);
+            Club updatedClub = clubService.patchClub(id, patch, expectedVersion, !minimal);
+            if (minimal) {
+                return EntityTags.minimal(expectedVersion);
+            }
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(EntityTags.of(updatedClub.getVersion()))
+                    .body(new ClubResponse(true, "Club updated successfully", ClubView.from(updatedClub)));
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(id);
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()));
         }
     }
     
@@ -140,16 +129,20 @@ public class ClubController {
         try {
             clubService.deleteClub(id);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Club deleted successfully");
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok("Club deleted successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    // 409 with the club as it is now, so the client can merge and retry with its version
+    private ResponseEntity<?> conflict(Long id) {
+        try {
+            Club current = clubService.getLatestClub(id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).eTag(EntityTags.of(current.getVersion()))
+                    .body(new ClubResponse(false, "Club was changed by someone else", ClubView.from(current)));
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
         }
     }
 }
@@ -135,51 +135,21 @@ public class ClubMembershipController {
     @PostMapping("/join-after-payment-with-details")
     public ResponseEntity<?> joinClubAfterPaymentWithDetails(@RequestBody MembershipFormRequest request) {
         try {
-            logger.info("═══════════════════════════════════════════════");
-            logger.info("📝 JOIN CLUB AFTER PAYMENT WITH DETAILS");
-            logger.info("═══════════════════════════════════════════════");
-            logger.info("Request received:");
-            logger.info("  UserId: {}", request.getUserId());
-            logger.info("  ClubId: {}", request.getClubId());
-            logger.info("  PaymentId: {}", request.getPaymentId());
-            logger.info("  FullName: {}", request.getFullName());
-            logger.info("  Address: {}", request.getAddress());
-            logger.info("  ContactNumber: {}", request.getContactNumber());
-            logger.info("  Birthday: {}", request.getBirthday());
-            logger.info("  Faculty: {}", request.getFaculty());
-            logger.info("  Year: {}", request.getYear());
-            logger.info("  Skills: {}", request.getSkills());
-            
             if (request.getUserId() == null || request.getClubId() == null) {
-                logger.error("❌ Missing required fields: userId={}, clubId={}", 
-                    request.getUserId(), request.getClubId());
                 throw new IllegalArgumentException("userId and clubId are required");
             }
 
-            logger.info("✓ Calling membershipService.joinClubAfterPaymentWithDetails()");
             ClubMembership membership = membershipService.joinClubAfterPaymentWithDetails(request);
-            
-            logger.info("✅ Membership created successfully:");
-            logger.info("  MembershipId: {}", membership.getId());
-            logger.info("  UserId: {}", membership.getUserId());
-            logger.info("  ClubId: {}", membership.getClubId());
-            logger.info("  Status: {}", membership.getStatus());
-            logger.info("  JoinedAt: {}", membership.getJoinedAt());
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Successfully joined the club");
             response.put("membership", membership);
-            
-            logger.info("═══════════════════════════════════════════════");
+
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            logger.error("═══════════════════════════════════════════════");
-            logger.error("❌ ERROR IN JOIN CLUB AFTER PAYMENT WITH DETAILS");
-            logger.error("Exception Type: {}", e.getClass().getSimpleName());
-            logger.error("Message: {}", e.getMessage());
-            logger.error("Full stack trace: ", e);
-            logger.error("═══════════════════════════════════════════════");
+            logger.warn("Join after payment failed userId={} clubId={} ({}): {}",
+                request.getUserId(), request.getClubId(), e.getClass().getSimpleName(), e.getMessage());
             
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -223,50 +193,21 @@ public class ClubMembershipController {
     @PostMapping("/join-with-details")
     public ResponseEntity<?> joinClubWithDetails(@RequestBody MembershipFormRequest request) {
         try {
-            logger.info("═══════════════════════════════════════════════");
-            logger.info("📝 JOIN CLUB WITH DETAILS (FREE)");
-            logger.info("═══════════════════════════════════════════════");
-            logger.info("Request received:");
-            logger.info("  UserId: {}", request.getUserId());
-            logger.info("  ClubId: {}", request.getClubId());
-            logger.info("  FullName: {}", request.getFullName());
-            logger.info("  Address: {}", request.getAddress());
-            logger.info("  ContactNumber: {}", request.getContactNumber());
-            logger.info("  Birthday: {}", request.getBirthday());
-            logger.info("  Faculty: {}", request.getFaculty());
-            logger.info("  Year: {}", request.getYear());
-            logger.info("  Skills: {}", request.getSkills());
-            
             if (request.getUserId() == null || request.getClubId() == null) {
-                logger.error("❌ Missing required fields: userId={}, clubId={}", 
-                    request.getUserId(), request.getClubId());
                 throw new IllegalArgumentException("userId and clubId are required");
             }
 
-            logger.info("✓ Calling membershipService.joinClubWithDetails()");
             ClubMembership membership = membershipService.joinClubWithDetails(request);
-            
-            logger.info("✅ Membership created successfully:");
-            logger.info("  MembershipId: {}", membership.getId());
-            logger.info("  UserId: {}", membership.getUserId());
-            logger.info("  ClubId: {}", membership.getClubId());
-            logger.info("  Status: {}", membership.getStatus());
-            logger.info("  JoinedAt: {}", membership.getJoinedAt());
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Successfully joined the club");
             response.put("membership", membership);
-            
-            logger.info("═══════════════════════════════════════════════");
+
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            logger.error("═══════════════════════════════════════════════");
-            logger.error("❌ ERROR IN JOIN CLUB WITH DETAILS");
-            logger.error("Exception Type: {}", e.getClass().getSimpleName());
-            logger.error("Message: {}", e.getMessage());
-            logger.error("Full stack trace: ", e);
-            logger.error("═══════════════════════════════════════════════");
+            logger.warn("Join free club failed userId={} clubId={} ({}): {}",
+                request.getUserId(), request.getClubId(), e.getClass().getSimpleName(), e.getMessage());
             
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -294,22 +235,11 @@ public class ClubMembershipController {
     @DeleteMapping("/leave")
     public ResponseEntity<?> leaveClub(@RequestParam Long userId, @RequestParam Long clubId) {
         try {
-            logger.info("═══════════════════════════════════════════════");
-            logger.info("📋 LEAVE CLUB REQUEST");
-            logger.info("═══════════════════════════════════════════════");
-            logger.info("  UserId: {}", userId);
-            logger.info("  ClubId: {}", clubId);
-            
             if (userId == null || clubId == null) {
-                logger.error("❌ Missing required parameters: userId={}, clubId={}", userId, clubId);
                 throw new IllegalArgumentException("userId and clubId are required");
             }
-            
-            logger.info("✓ Calling membershipService.leaveClub()");
+
             membershipService.leaveClub(userId, clubId);
-            
-            logger.info("✅ LEAVE CLUB SUCCESSFUL");
-            logger.info("═══════════════════════════════════════════════");
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -317,13 +247,9 @@ public class ClubMembershipController {
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            logger.error("═══════════════════════════════════════════════");
-            logger.error("❌ ERROR IN LEAVE CLUB");
-            logger.error("Exception Type: {}", e.getClass().getSimpleName());
-            logger.error("Message: {}", e.getMessage());
-            logger.error("Full stack trace: ", e);
-            logger.error("═══════════════════════════════════════════════");
-            
+            logger.warn("Leave club failed userId={} clubId={} ({}): {}", userId, clubId,
+                e.getClass().getSimpleName(), e.getMessage());
+
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
             errorResponse.put("message", e.getMessage());
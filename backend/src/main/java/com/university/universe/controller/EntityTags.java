@@ -0,0 +1,68 @@
+package com.university.universe.controller;
+
+import org.springframework.http.ResponseEntity;
+import java.util.Map;
+
+/**
+ * ETags of versioned entities (clubs, events, announcements) and If-Match parsing
+ * The ETag of a single entity is its @Version, e.g. "3". An event's detail
+ * view embeds its club, so its ETag carries both versions ("3.7") to keep
+ * cached copies fresh when the club changes; If-Match on an event only
+ * compares the event's own version (the part before the dot).
+ * Also the PATCH conventions: merge patch bodies and Prefer: return=minimal.
+ */
+final class EntityTags {
+
+    // RFC 7396 media type; PATCH endpoints accept it as well as application/json
+    static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    private EntityTags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + (version != null ? version : 0) + "\"";
+    }
+
+    static String of(Long version, Long parentVersion) {
+        return "\"" + (version != null ? version : 0) + "." + (parentVersion != null ? parentVersion : 0) + "\"";
+    }
+
+    // Version the client expects: from If-Match when sent, else the body's version; null means no check
+    static Long expectedVersion(String ifMatch, Long bodyVersion) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return bodyVersion;
+        }
+        String tag = ifMatch.split(",")[0].trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        int dot = tag.indexOf('.');
+        try {
+            return Long.valueOf(dot >= 0 ? tag.substring(0, dot) : tag);
+        } catch (NumberFormatException e) {
+            // Not one of our tags (e.g. a body hash): it cannot match the current version
+            return -1L;
+        }
+    }
+
+    // The "version" member of a merge patch body, or null
+    static Long bodyVersion(Map<String, Object> patch) {
+        return patch.get("version") instanceof Number version ? version.longValue() : null;
+    }
+
+    // Prefer: return=minimal - the client does not need the updated entity back
+    static boolean returnMinimal(String prefer) {
+        return prefer != null && prefer.replace(" ", "").toLowerCase().contains("return=minimal");
+    }
+
+    // 204 for Prefer: return=minimal; a checked update moved the version exactly one past the expected one
+    static ResponseEntity<?> minimal(Long expectedVersion) {
+        ResponseEntity.HeadersBuilder<?> response = ResponseEntity.noContent()
+                .header("Preference-Applied", "return=minimal");
+        if (expectedVersion != null) {
+            response.eTag(of(expectedVersion + 1));
+        }
+        return response.build();
+    }
+}
@@ -1,11 +1,29 @@
 package com.university.universe.controller;
 
+import com.university.universe.config.JwtAuthenticationFilter;
+import com.university.universe.dto.ApiResponse;
+import com.university.universe.dto.BulkItemResult;
+import com.university.universe.dto.EventListResponse;
+import com.university.universe.dto.EventResponse;
+import com.university.universe.dto.EventView;
 import com.university.universe.model.Event;
+import com.university.universe.dto.RsvpView;
+import com.university.universe.service.CalendarService;
+import com.university.universe.service.EventRsvpService;
 import com.university.universe.service.EventService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,6 +35,12 @@ public class EventController {
     
     @Autowired
     private EventService eventService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private EventRsvpService rsvpService;
     
     // Create a new event
     @PostMapping
@@ -24,36 +48,219 @@ public class EventController {
         try {
             Event createdEvent = eventService.createEvent(event);
             
+            return ResponseEntity.ok(new EventResponse(true, "Event created successfully", EventView.detail(createdEvent)));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    // Create many events at once (e.g. a term's programme); one result per event, invalid ones are skipped
+    @PostMapping("/batch")
+    public ResponseEntity<?> createEvents(@RequestBody List<Event> events) {
+        try {
+            List<BulkItemResult> results = eventService.createEvents(events);
+            long failed = results.stream().filter(result -> !result.succeeded()).count();
+            
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("message", "Event created successfully");
-            response.put("event", createdEvent);
+            response.put("message", (results.size() - failed) + " event(s) created"
+                    + (failed > 0 ? ", " + failed + " invalid" : ""));
+            response.put("results", results);
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()));
         }
     }
     
-    // Get all events
+    // Get all events, or those starting in [from, to) / from now on when a range is given
     @GetMapping
-    public ResponseEntity<?> getAllEvents() {
+    public ResponseEntity<?> getAllEvents(@RequestParam(required = false) String from,
+                                          @RequestParam(required = false) String to,
+                                          @RequestParam(required = false) Long clubId,
+                                          @RequestParam(defaultValue = "false") boolean upcoming,
+                                          @RequestParam(required = false) Integer limit) {
+        if (from == null && to == null && clubId == null && !upcoming) {
+            try {
+                List<Event> events = eventService.getAllEvents();
+
+                return ResponseEntity.ok(new EventListResponse(true, events.stream().map(EventView::summary).toList()));
+            } catch (Exception e) {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error(e.getMessage()));
+            }
+        }
         try {
-            List<Event> events = eventService.getAllEvents();
-            
+            LocalDateTime start = upcoming ? LocalDateTime.now() : parseDateTime(from);
+            List<Event> events = calendarService.getEvents(start, parseDateTime(to), clubId, limit);
+
+            return ResponseEntity.ok(new EventListResponse(true, events.stream().map(EventView::summary).toList()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // Get the next upcoming events
+    @GetMapping("/upcoming")
+    public ResponseEntity<?> getUpcomingEvents(@RequestParam(required = false) Long clubId,
+                                               @RequestParam(defaultValue = "20") int limit) {
+        try {
+            List<Event> events = calendarService.getEvents(LocalDateTime.now(), null, clubId, limit);
+
+            return ResponseEntity.ok(new EventListResponse(true, events.stream().map(EventView::summary).toList()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // Month or week calendar with events grouped per day (default: this month)
+    @GetMapping("/calendar")
+    public ResponseEntity<?> getCalendar(@RequestParam(defaultValue = "month") String view,
+                                         @RequestParam(required = false) String date,
+                                         @RequestParam(required = false) Long clubId) {
+        try {
+            LocalDate day = date != null ? LocalDate.parse(date) : LocalDate.now();
+
+            return ResponseEntity.ok(calendarService.getCalendar(view, day, clubId));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // Subscribable iCalendar feed of a club's events
+    @GetMapping("/club/{clubId}/calendar.ics")
+    public void getClubCalendarFeed(@PathVariable Long clubId, HttpServletRequest request,
+                                    HttpServletResponse response) throws IOException {
+        CalendarService.ClubFeed feed = calendarService.getClubFeed(clubId);
+        if (feed == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Club not found");
+            return;
+        }
+        if (new ServletWebRequest(request, response).checkNotModified(feed.etag())) {
+            return;
+        }
+        response.setContentType("text/calendar;charset=UTF-8");
+        calendarService.writeClubFeed(clubId, feed.name(), response.getWriter());
+    }
+
+    // Subscribable iCalendar feed of the events of all clubs a user belongs to
+    @GetMapping("/users/{userId}/calendar.ics")
+    public void getUserCalendarFeed(@PathVariable Long userId, @RequestParam(required = false) String token,
+                                    HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!calendarService.isValidFeedToken(userId, token)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Invalid calendar token");
+            return;
+        }
+        if (new ServletWebRequest(request, response).checkNotModified(calendarService.userFeedTag(userId))) {
+            return;
+        }
+        response.setContentType("text/calendar;charset=UTF-8");
+        calendarService.writeUserFeed(userId, response.getWriter());
+    }
+
+    // Personal feed URL of the signed-in user, for "subscribe in calendar"
+    @GetMapping("/calendar/feed-url")
+    public ResponseEntity<?> getCalendarFeedUrl(HttpServletRequest request) {
+        Long id = currentUserId(request);
+        if (id == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error("Sign in to get a calendar feed"));
+        }
+        String url = ServletUriComponentsBuilder.fromContextPath(request)
+                .path("/api/events/users/{userId}/calendar.ics")
+                .queryParam("token", calendarService.feedToken(id))
+                .buildAndExpand(id)
+                .toUriString();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("url", url);
+
+        return ResponseEntity.ok(response);
+    }
+    
+    // RSVP the signed-in user to an event (WAITLISTED when it is full)
+    @PostMapping("/{id}/rsvp")
+    public ResponseEntity<?> rsvp(@PathVariable Long id, HttpServletRequest request) {
+        Long userId = currentUserId(request);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error("Sign in to RSVP"));
+        }
+        try {
+            RsvpView rsvp = rsvpService.rsvp(id, userId);
+
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("events", events);
-            
+            response.put("message", "GOING".equals(rsvp.status()) ? "You're going!" : "Event is full, you're on the waitlist");
+            response.put("rsvp", rsvp);
+
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // Cancel the signed-in user's RSVP; their seat goes to the waitlist
+    @DeleteMapping("/{id}/rsvp")
+    public ResponseEntity<?> cancelRsvp(@PathVariable Long id, HttpServletRequest request) {
+        Long userId = currentUserId(request);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error("Sign in to cancel an RSVP"));
+        }
+        try {
+            rsvpService.cancel(id, userId);
+
+            return ResponseEntity.ok(ApiResponse.ok("RSVP cancelled"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // The signed-in user's RSVP to an event, with their waitlist position
+    @GetMapping("/{id}/rsvp")
+    public ResponseEntity<?> getRsvp(@PathVariable Long id, HttpServletRequest request) {
+        Long userId = currentUserId(request);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error("Sign in to see your RSVP"));
+        }
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("rsvp", rsvpService.getRsvp(id, userId));
+
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // The signed-in user's RSVPs with their events
+    @GetMapping("/rsvps")
+    public ResponseEntity<?> getMyRsvps(HttpServletRequest request) {
+        Long userId = currentUserId(request);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error("Sign in to see your RSVPs"));
+        }
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("rsvps", rsvpService.getUserRsvps(userId));
+
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // Capacity, GOING and WAITLISTED counts and seats left
+    @GetMapping("/{id}/attendance")
+    public ResponseEntity<?> getAttendance(@PathVariable Long id) {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("attendance", rsvpService.getAttendance(id));
+
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
         }
     }
     
@@ -63,16 +270,9 @@ public class EventController {
         try {
             Event event = eventService.getEventById(id);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("event", event);
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(eventTag(event)).body(new EventResponse(true, null, EventView.detail(event)));
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
         }
     }
     
@@ -82,36 +282,48 @@ public class EventController {
         try {
             List<Event> events = eventService.getEventsByClubId(clubId);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("events", events);
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new EventListResponse(true, events.stream().map(EventView::summary).toList()));
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error(e.getMessage()));
         }
     }
     
-    // Update event
+    // Update event (If-Match or "version": the version last read; 409 with the current event if it changed since)
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateEvent(@PathVariable Long id, @RequestBody Event event) {
+    public ResponseEntity<?> updateEvent(@PathVariable Long id, @RequestBody Event event,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         try {
-            Event updatedEvent = eventService.updateEvent(id, event);
+            Event updatedEvent = eventService.updateEvent(id, event, EntityTags.expectedVersion(ifMatch, event.getVersion()));
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Event updated successfully");
-            response.put("event", updatedEvent);
+            return ResponseEntity.ok().eTag(eventTag(updatedEvent))
+                    .body(new EventResponse(true, "Event updated successfully", EventView.detail(updatedEvent)));
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(id);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    // JSON Merge Patch: only the fields sent are written; same version check as PUT.
+    // With Prefer: return=minimal the answer is 204 (no ETag: it would need the club's version).
+    @PatchMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, EntityTags.MERGE_PATCH_JSON})
+    public ResponseEntity<?> patchEvent(@PathVariable Long id, @RequestBody Map<String, Object> patch,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            @RequestHeader(value = "Prefer", required = false) String prefer) {
+        try {
+            Long expectedVersion = EntityTags.expectedVersion(ifMatch, EntityTags.bodyVersion(patch));
+            boolean minimal = EntityTags.returnMinimal(prefer);
+            Event updatedEvent = eventService.patchEvent(id, patch, expectedVersion, !minimal);
+            if (minimal) {
+                return EntityTags.minimal(null);
+            }
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(eventTag(updatedEvent))
+                    .body(new EventResponse(true, "Event updated successfully", EventView.detail(updatedEvent)));
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(id);
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()));
         }
     }
     
@@ -121,16 +333,39 @@ public class EventController {
         try {
             eventService.deleteEvent(id);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Event deleted successfully");
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok("Event deleted successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // 409 with the event as it is now, so the client can merge and retry with its version
+    private ResponseEntity<?> conflict(Long id) {
+        try {
+            Event current = eventService.getLatestEvent(id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).eTag(eventTag(current))
+                    .body(new EventResponse(false, "Event was changed by someone else", EventView.detail(current)));
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // The detail view embeds the club, so its version is part of the tag
+    private static String eventTag(Event event) {
+        return EntityTags.of(event.getVersion(), event.getClub() != null ? event.getClub().getVersion() : null);
+    }
+
+    // User id from the JWT, null when the request is not signed in
+    private static Long currentUserId(HttpServletRequest request) {
+        Object userId = request.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+        return userId instanceof Long id ? id : null;
+    }
+
+    // Accept a date (start of day) or a date-time
+    private static LocalDateTime parseDateTime(String value) {
+        if (value == null) {
+            return null;
         }
+        return value.length() <= 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
     }
 }
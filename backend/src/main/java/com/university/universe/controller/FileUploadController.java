@@ -1,5 +1,9 @@
 package com.university.universe.controller;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -22,12 +26,16 @@ public class FileUploadController {
     @Value("${file.upload.dir:uploads}")
     private String uploadDir;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     /**
      * Upload image file
      * Accepts: JPG, PNG, GIF
      */
     @PostMapping("/image")
     public ResponseEntity<?> uploadImage(@RequestParam("file") MultipartFile file) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             // Validate file
             if (file.isEmpty()) {
@@ -62,7 +70,9 @@ public class FileUploadController {
 
             // Save file
             Path filePath = Paths.get(uploadDir, fileName);
-            Files.write(filePath, file.getBytes());
+            byte[] bytes = file.getBytes();
+            Files.write(filePath, bytes);
+            recordUpload("multipart", bytes.length, sample);
 
             // Return response with file path
             Map<String, Object> response = new HashMap<>();
@@ -87,6 +97,7 @@ public class FileUploadController {
      */
     @PostMapping("/image/base64")
     public ResponseEntity<?> uploadImageBase64(@RequestBody Map<String, String> request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             String base64Data = request.get("base64");
             String fileName = request.get("fileName");
@@ -124,6 +135,7 @@ public class FileUploadController {
             // Save file
             Path filePath = Paths.get(uploadDir, generatedFileName);
             Files.write(filePath, decodedBytes);
+            recordUpload("base64", decodedBytes.length, sample);
 
             // Return response
             Map<String, Object> response = new HashMap<>();
@@ -146,4 +158,20 @@ public class FileUploadController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
+
+    /**
+     * Record size (upload.bytes) and duration (upload.duration) of a stored upload
+     */
+    private void recordUpload(String type, long bytes, Timer.Sample sample) {
+        DistributionSummary.builder("upload.bytes")
+                .description("Size of uploaded files")
+                .baseUnit("bytes")
+                .tag("type", type)
+                .register(meterRegistry)
+                .record(bytes);
+        sample.stop(Timer.builder("upload.duration")
+                .description("Time to receive, decode and store an upload")
+                .tag("type", type)
+                .register(meterRegistry));
+    }
 }
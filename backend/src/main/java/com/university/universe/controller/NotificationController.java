@@ -0,0 +1,103 @@
+package com.university.universe.controller;
+
+import com.university.universe.config.JwtAuthenticationFilter;
+import com.university.universe.dto.ApiResponse;
+import com.university.universe.dto.NotificationView;
+import com.university.universe.service.NotificationService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/notifications")
+@CrossOrigin(origins = "*")
+public class NotificationController {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    // The signed-in user's latest notifications, newest first, with the unread count
+    @GetMapping
+    public ResponseEntity<?> getNotifications(@RequestParam(defaultValue = "20") int limit,
+            HttpServletRequest request) {
+        Long userId = currentUserId(request);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Sign in to see notifications"));
+        }
+        try {
+            List<NotificationView> notifications = notificationService.getNotifications(userId, limit);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("notifications", notifications);
+            response.put("unread", notificationService.getUnreadCount(userId));
+
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // Unread badge: read from counters, cheap enough to poll
+    @GetMapping("/unread-count")
+    public ResponseEntity<?> getUnreadCount(HttpServletRequest request) {
+        Long userId = currentUserId(request);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Sign in to see notifications"));
+        }
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("unread", notificationService.getUnreadCount(userId));
+
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // Mark one notification read (broadcasts are marked with read-all)
+    @PostMapping("/{id}/read")
+    public ResponseEntity<?> markRead(@PathVariable Long id, HttpServletRequest request) {
+        Long userId = currentUserId(request);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Sign in to see notifications"));
+        }
+        try {
+            notificationService.markRead(userId, id);
+            return ResponseEntity.ok(ApiResponse.ok("Notification marked as read"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // Mark all of the signed-in user's notifications read
+    @PostMapping("/read-all")
+    public ResponseEntity<?> markAllRead(HttpServletRequest request) {
+        Long userId = currentUserId(request);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Sign in to see notifications"));
+        }
+        try {
+            notificationService.markAllRead(userId);
+            return ResponseEntity.ok(ApiResponse.ok("All notifications marked as read"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // User id from the JWT, null when the request is not signed in
+    private static Long currentUserId(HttpServletRequest request) {
+        Object userId = request.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+        return userId instanceof Long id ? id : null;
+    }
+}
@@ -4,6 +4,7 @@ import com.stripe.exception.StripeException;
 import com.university.universe.dto.CheckoutSessionRequest;
 import com.university.universe.dto.CheckoutSessionResponse;
 import com.university.universe.model.Payment;
+import com.university.universe.service.IdempotencyService;
 import com.university.universe.service.PaymentService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,6 +35,9 @@ public class PaymentController {
     /**
      * Create a Stripe checkout session
      * POST /api/payments/create-checkout-session
+     * Optional header Idempotency-Key: repeats with the same key return the
+     * first session (409 while it is still being created, 422 if the key was
+     * used for a different request)
      * 
      * Request body:
      * {
@@ -54,15 +58,26 @@ public class PaymentController {
      * }
      */
     @PostMapping("/create-checkout-session")
-    public ResponseEntity<?> createCheckoutSession(@Valid @RequestBody CheckoutSessionRequest request) {
+    public ResponseEntity<?> createCheckoutSession(@Valid @RequestBody CheckoutSessionRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         try {
-            logger.info("🔵 Received payment request: {}", request.toString());
-            logger.info("Creating checkout session for user: {} club: {}", request.getUserId(), request.getClubId());
+            logger.debug("Checkout session requested userId={} clubId={}", request.getUserId(), request.getClubId());
 
-            CheckoutSessionResponse response = paymentService.createCheckoutSession(request);
+            CheckoutSessionResponse response = paymentService.createCheckoutSession(request, idempotencyKey);
 
             return ResponseEntity.ok(response);
 
+        } catch (IdempotencyService.IdempotencyConflictException e) {
+            logger.warn("Checkout session rejected: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(e.isRequestMismatch() ? HttpStatus.UNPROCESSABLE_ENTITY : HttpStatus.CONFLICT)
+                    .body(errorResponse);
+
+        } catch (PaymentService.StripeUnavailableException e) {
+            return stripeUnavailable(e);
+
         } catch (com.stripe.exception.InvalidRequestException e) {
             logger.error("Stripe Invalid Request - {}: {}", e.getCode(), e.getMessage());
             Map<String, Object> errorResponse = new HashMap<>();
@@ -139,8 +154,6 @@ public class PaymentController {
             @RequestHeader("Stripe-Signature") String sigHeader) {
 
         try {
-            logger.info("Received webhook event from Stripe");
-
             Map<String, Object> response = paymentService.handleWebhookEvent(payload, sigHeader);
 
             return ResponseEntity.ok(response);
@@ -190,37 +203,19 @@ public class PaymentController {
     @GetMapping("/session/{sessionId}")
     public ResponseEntity<?> getPaymentBySession(@PathVariable String sessionId) {
         try {
-            logger.info("═══════════════════════════════════════════════");
-            logger.info("🔵 GET PAYMENT BY SESSION - Session ID: {}", sessionId);
-            logger.info("═══════════════════════════════════════════════");
-
             Payment payment = paymentService.getPaymentBySessionId(sessionId);
-
-            logger.info("✓ Payment retrieved from database:");
-            logger.info("   ID: {}", payment.getId());
-            logger.info("   Status: {}", payment.getStatus());
-            logger.info("   Amount: {}", payment.getAmount());
-            logger.info("   Currency: {}", payment.getCurrency());
-            logger.info("   SessionID: {}", payment.getStripeSessionId());
-            logger.info("   PaymentIntentID: {}", payment.getStripePaymentIntentId());
-            logger.info("   PaidAt: {}", payment.getPaidAt());
-            logger.info("   CreatedAt: {}", payment.getCreatedAt());
-            logger.info("   UpdatedAt: {}", payment.getUpdatedAt());
+            logger.debug("Payment lookup sessionId={} paymentId={} status={}", sessionId, payment.getId(),
+                    payment.getStatus());
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("payment", payment);
 
-            logger.info("═══════════════════════════════════════════════");
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
-            logger.error("═══════════════════════════════════════════════");
-            logger.error("❌ ERROR FETCHING PAYMENT BY SESSION");
-            logger.error("   Session ID: {}", sessionId);
-            logger.error("   Error: {}", e.getMessage());
-            logger.error("   Exception Type: {}", e.getClass().getName());
-            logger.error("═══════════════════════════════════════════════");
+            logger.warn("Payment lookup failed sessionId={} ({}): {}", sessionId, e.getClass().getSimpleName(),
+                    e.getMessage());
 
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -281,17 +276,8 @@ public class PaymentController {
     @PostMapping("/{paymentId}/confirm")
     public ResponseEntity<?> confirmPayment(@PathVariable Long paymentId) {
         try {
-            logger.info("═══════════════════════════════════════════════");
-            logger.info("🔵 CONFIRM PAYMENT ENDPOINT - Payment ID: {}", paymentId);
-            logger.info("═══════════════════════════════════════════════");
-
             Payment payment = paymentService.confirmPayment(paymentId);
 
-            logger.info("📤 Returning payment confirmation response:");
-            logger.info("    Status: {}", payment.getStatus());
-            logger.info("    Payment ID: {}", payment.getId());
-            logger.info("    PaidAt: {}", payment.getPaidAt());
-
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("payment", payment);
@@ -299,31 +285,24 @@ public class PaymentController {
 
             if ("SUCCEEDED".equals(payment.getStatus())) {
                 response.put("message", "Payment confirmed as SUCCEEDED");
-                logger.info("✅ RESPONSE: Payment SUCCEEDED");
             } else if ("PENDING".equals(payment.getStatus())) {
                 response.put("message", "Payment is still pending - please wait or check your Stripe dashboard");
-                logger.warn("⏳ RESPONSE: Payment still PENDING");
             } else if ("FAILED".equals(payment.getStatus())) {
                 response.put("message", "Payment has been marked as FAILED");
-                logger.warn("❌ RESPONSE: Payment FAILED");
             } else if ("PROCESSING".equals(payment.getStatus())) {
                 response.put("message", "Payment is processing - please wait");
-                logger.info("🔄 RESPONSE: Payment PROCESSING");
             } else {
                 response.put("message", "Payment status: " + payment.getStatus());
-                logger.warn("❓ RESPONSE: Unknown status - {}", payment.getStatus());
             }
 
-            logger.info("═══════════════════════════════════════════════");
             return ResponseEntity.ok(response);
 
+        } catch (PaymentService.StripeUnavailableException e) {
+            return stripeUnavailable(e);
+
         } catch (com.stripe.exception.InvalidRequestException e) {
-            logger.error("═══════════════════════════════════════════════");
-            logger.error("❌ STRIPE INVALID REQUEST ERROR");
-            logger.error("   Code: {}", e.getCode());
-            logger.error("   Message: {}", e.getMessage());
-            logger.error("   Payment ID: {}", paymentId);
-            logger.error("═══════════════════════════════════════════════");
+            logger.error("Confirm payment invalid request paymentId={} code={}: {}", paymentId, e.getCode(),
+                    e.getMessage());
 
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -333,11 +312,7 @@ public class PaymentController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
 
         } catch (com.stripe.exception.AuthenticationException e) {
-            logger.error("═══════════════════════════════════════════════");
-            logger.error("❌ STRIPE AUTHENTICATION ERROR");
-            logger.error("   Message: {}", e.getMessage());
-            logger.error("   This usually means Stripe API key is invalid");
-            logger.error("═══════════════════════════════════════════════");
+            logger.error("Confirm payment Stripe authentication error (check API key): {}", e.getMessage());
 
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -346,12 +321,8 @@ public class PaymentController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
 
         } catch (com.stripe.exception.StripeException e) {
-            logger.error("═══════════════════════════════════════════════");
-            logger.error("❌ STRIPE EXCEPTION");
-            logger.error("   Status Code: {}", e.getStatusCode());
-            logger.error("   Message: {}", e.getMessage());
-            logger.error("   Payment ID: {}", paymentId);
-            logger.error("═══════════════════════════════════════════════");
+            logger.error("Confirm payment Stripe error paymentId={} status={}: {}", paymentId, e.getStatusCode(),
+                    e.getMessage());
 
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -361,13 +332,7 @@ public class PaymentController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
 
         } catch (Exception e) {
-            logger.error("═══════════════════════════════════════════════");
-            logger.error("❌ UNEXPECTED ERROR CONFIRMING PAYMENT");
-            logger.error("   Exception Type: {}", e.getClass().getName());
-            logger.error("   Message: {}", e.getMessage());
-            logger.error("   Payment ID: {}", paymentId);
-            logger.error("   Stack Trace:", e);
-            logger.error("═══════════════════════════════════════════════");
+            logger.error("Unexpected error confirming paymentId={}", paymentId, e);
 
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -376,4 +341,17 @@ public class PaymentController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
+
+    /**
+     * Stripe calls are suspended by the circuit breaker: 503 with Retry-After
+     */
+    private ResponseEntity<?> stripeUnavailable(PaymentService.StripeUnavailableException e) {
+        logger.warn("Stripe call rejected, circuit open retryAfterSeconds={}", e.getRetryAfterSeconds());
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
 }
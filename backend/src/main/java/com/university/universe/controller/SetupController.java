@@ -3,6 +3,7 @@ package com.university.universe.controller;
 import com.university.universe.model.User;
 import com.university.universe.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -11,6 +12,8 @@ import com.university.universe.repository.UserRepository;
 import java.util.HashMap;
 import java.util.Map;
 
+// Rarely used: created on its first request instead of at startup
+@Lazy
 @RestController
 @RequestMapping("/api/setup")
 @CrossOrigin(origins = "*")
@@ -0,0 +1,16 @@
+package com.university.universe.dto;
+
+/**
+ * Plain response envelope: {"success": ..., "message": ...}
+ * Used for errors and for actions that return no data (delete)
+ */
+public record ApiResponse(boolean success, String message) {
+
+    public static ApiResponse ok(String message) {
+        return new ApiResponse(true, message);
+    }
+
+    public static ApiResponse error(String message) {
+        return new ApiResponse(false, message);
+    }
+}
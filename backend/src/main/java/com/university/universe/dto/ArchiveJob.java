@@ -0,0 +1,124 @@
+package com.university.universe.dto;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DTO describing the progress of an archive run
+ * (chunked move of old rows from the hot tables into their _archive tables)
+ */
+public class ArchiveJob {
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private String jobId;
+    private String trigger;
+    private volatile String status;
+    private volatile String message;
+    private final Map<String, LocalDateTime> cutoffs = new LinkedHashMap<>();
+    private final Map<String, Long> totals = new LinkedHashMap<>();
+    private final Map<String, Long> archived = new LinkedHashMap<>();
+    private LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    // Default constructor
+    public ArchiveJob() {
+    }
+
+    // Constructor with parameters
+    public ArchiveJob(String jobId, String trigger) {
+        this.jobId = jobId;
+        this.trigger = trigger;
+        this.status = RUNNING;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    // Record a table's cutoff and how many of its rows are older than it before moving them
+    public synchronized void setTotal(String table, LocalDateTime cutoff, long total) {
+        cutoffs.put(table, cutoff);
+        totals.put(table, total);
+        archived.putIfAbsent(table, 0L);
+    }
+
+    // Record one archived chunk
+    public synchronized void addArchived(String table, long rows) {
+        archived.merge(table, rows, Long::sum);
+    }
+
+    // Percentage of old rows archived so far
+    public synchronized int getProgressPercent() {
+        long total = totals.values().stream().mapToLong(Long::longValue).sum();
+        if (total == 0) {
+            return COMPLETED.equals(status) ? 100 : 0;
+        }
+        long done = archived.values().stream().mapToLong(Long::longValue).sum();
+        return (int) Math.min(100, done * 100 / total);
+    }
+
+    public boolean isRunning() {
+        return RUNNING.equals(status);
+    }
+
+    // Getters and Setters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getTrigger() {
+        return trigger;
+    }
+
+    public void setTrigger(String trigger) {
+        this.trigger = trigger;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public synchronized Map<String, LocalDateTime> getCutoffs() {
+        return new LinkedHashMap<>(cutoffs);
+    }
+
+    public synchronized Map<String, Long> getTotals() {
+        return new LinkedHashMap<>(totals);
+    }
+
+    public synchronized Map<String, Long> getArchived() {
+        return new LinkedHashMap<>(archived);
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,7 @@
+package com.university.universe.dto;
+
+import java.util.List;
+
+// Body of batch requests that act on existing rows: {"ids": [1, 2, 3]}
+public record BulkIdsRequest(List<Long> ids) {
+}
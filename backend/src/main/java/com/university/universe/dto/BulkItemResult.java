@@ -0,0 +1,26 @@
+package com.university.universe.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a batch request
+ * index is the item's position in the request; id is the announcement or
+ * event it concerns (for created events, the new id). status is e.g.
+ * PUBLISHED, UNCHANGED, CREATED, NOT_FOUND or INVALID; message explains
+ * a failed item.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkItemResult(int index, Long id, String status, String message) {
+
+    public static BulkItemResult ok(int index, Long id, String status) {
+        return new BulkItemResult(index, id, status, null);
+    }
+
+    public static BulkItemResult failed(int index, Long id, String status, String message) {
+        return new BulkItemResult(index, id, status, message);
+    }
+
+    public boolean succeeded() {
+        return message == null;
+    }
+}
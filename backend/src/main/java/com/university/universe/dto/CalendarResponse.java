@@ -0,0 +1,15 @@
+package com.university.universe.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response envelope for the event calendar: {"success", "view", "from", "to", "days"}
+ * Every day of the month grid (Monday to Sunday weeks) or week is listed, with
+ * its events in start order; days without events have an empty list.
+ */
+public record CalendarResponse(boolean success, String view, LocalDate from, LocalDate to, List<Day> days) {
+
+    public record Day(LocalDate date, List<EventView> events) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.university.universe.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the chatbot intent configuration (chatbot/intents.json)
+ * Intents are listed in priority order: on equal score the earlier intent wins
+ */
+public class ChatbotIntents {
+    private String fallback;
+    private List<Intent> intents = new ArrayList<>();
+
+    // Default constructor
+    public ChatbotIntents() {
+    }
+
+    // Getters and Setters
+    public String getFallback() {
+        return fallback;
+    }
+
+    public void setFallback(String fallback) {
+        this.fallback = fallback;
+    }
+
+    public List<Intent> getIntents() {
+        return intents;
+    }
+
+    public void setIntents(List<Intent> intents) {
+        this.intents = intents;
+    }
+
+    /**
+     * One intent: keywords (single words or phrases) and the response to send
+     * Each matched keyword scores weight x number of words in the keyword
+     * lookup (optional) names a catalog lookup that can answer with real data
+     * (club_fee, next_event); response is used when the lookup finds nothing
+     */
+    public static class Intent {
+        private String name;
+        private List<String> keywords = new ArrayList<>();
+        private int weight = 1;
+        private String response;
+        private String lookup;
+
+        // Default constructor
+        public Intent() {
+        }
+
+        // Getters and Setters
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<String> getKeywords() {
+            return keywords;
+        }
+
+        public void setKeywords(List<String> keywords) {
+            this.keywords = keywords;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public void setWeight(int weight) {
+            this.weight = weight;
+        }
+
+        public String getResponse() {
+            return response;
+        }
+
+        public void setResponse(String response) {
+            this.response = response;
+        }
+
+        public String getLookup() {
+            return lookup;
+        }
+
+        public void setLookup(String lookup) {
+            this.lookup = lookup;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.university.universe.dto;
+
+import java.util.List;
+
+/**
+ * Response envelope for club lists: {"success", "clubs"}
+ */
+public record ClubListResponse(boolean success, List<ClubView> clubs) {
+}
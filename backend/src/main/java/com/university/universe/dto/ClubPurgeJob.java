@@ -0,0 +1,118 @@
+package com.university.universe.dto;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DTO describing the progress of a club purge
+ * (chunked deletion of a club and its dependent rows)
+ */
+public class ClubPurgeJob {
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private String jobId;
+    private Long clubId;
+    private volatile String status;
+    private volatile String message;
+    private final Map<String, Long> totals = new LinkedHashMap<>();
+    private final Map<String, Long> deleted = new LinkedHashMap<>();
+    private LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    // Default constructor
+    public ClubPurgeJob() {
+    }
+
+    // Constructor with parameters
+    public ClubPurgeJob(String jobId, Long clubId) {
+        this.jobId = jobId;
+        this.clubId = clubId;
+        this.status = RUNNING;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    // Record how many rows a table holds for the club before deleting
+    public synchronized void setTotal(String table, long total) {
+        totals.put(table, total);
+        deleted.putIfAbsent(table, 0L);
+    }
+
+    // Record one deleted chunk
+    public synchronized void addDeleted(String table, long rows) {
+        deleted.merge(table, rows, Long::sum);
+    }
+
+    // Percentage of dependent rows deleted so far
+    public synchronized int getProgressPercent() {
+        long total = totals.values().stream().mapToLong(Long::longValue).sum();
+        if (total == 0) {
+            return COMPLETED.equals(status) ? 100 : 0;
+        }
+        long done = deleted.values().stream().mapToLong(Long::longValue).sum();
+        return (int) Math.min(100, done * 100 / total);
+    }
+
+    public boolean isRunning() {
+        return RUNNING.equals(status);
+    }
+
+    // Getters and Setters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public Long getClubId() {
+        return clubId;
+    }
+
+    public void setClubId(Long clubId) {
+        this.clubId = clubId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public synchronized Map<String, Long> getTotals() {
+        return new LinkedHashMap<>(totals);
+    }
+
+    public synchronized Map<String, Long> getDeleted() {
+        return new LinkedHashMap<>(deleted);
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,21 @@
+package com.university.universe.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.university.universe.model.Club;
+
+/**
+ * Club embedded in an event
+ * List views carry only id and name; the detail view adds logo and description
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ClubRef(Long id, String name, String logoUrl, String description) {
+
+    public static ClubRef summary(Club club) {
+        return club == null ? null : new ClubRef(club.getId(), club.getName(), null, null);
+    }
+
+    public static ClubRef detail(Club club) {
+        return club == null ? null
+                : new ClubRef(club.getId(), club.getName(), club.getLogoUrl(), club.getDescription());
+    }
+}
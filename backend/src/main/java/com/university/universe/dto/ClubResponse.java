@@ -0,0 +1,10 @@
+package com.university.universe.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Response envelope for a single club: {"success", "message"?, "club"}
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ClubResponse(boolean success, String message, ClubView club) {
+}
@@ -0,0 +1,19 @@
+package com.university.universe.dto;
+
+import com.university.universe.model.Club;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Club as returned by the API (same fields as the Club entity)
+ */
+public record ClubView(Long id, String name, String description, String logoUrl, Long adminId,
+        BigDecimal membershipFee, LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+
+    public static ClubView from(Club club) {
+        return new ClubView(club.getId(), club.getName(), club.getDescription(), club.getLogoUrl(),
+                club.getAdminId(), club.getMembershipFee(), club.getCreatedAt(), club.getUpdatedAt(),
+                club.getVersion());
+    }
+}
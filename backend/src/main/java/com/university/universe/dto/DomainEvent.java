@@ -0,0 +1,53 @@
+package com.university.universe.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A state change of a payment, membership, announcement or event, as written to the outbox
+ * aggregateType and aggregateId name what changed; sequence numbers the
+ * changes of one aggregate 1, 2, 3, ... in commit order. Membership events
+ * use the club as their aggregate, so a club's joins and leaves stay in
+ * order. id and sequence are null until the event has been written.
+ * Delivery is at least once: a listener can see the same event again and
+ * should skip a sequence it has already handled.
+ */
+public record DomainEvent(Long id, String aggregateType, Long aggregateId, Long sequence, String type,
+        Map<String, Object> payload, LocalDateTime createdAt) {
+
+    // Aggregate types
+    public static final String PAYMENT = "PAYMENT";
+    public static final String MEMBERSHIP = "MEMBERSHIP";
+    public static final String ANNOUNCEMENT = "ANNOUNCEMENT";
+    public static final String EVENT = "EVENT";
+
+    // Event types
+    public static final String PAYMENT_CREATED = "PAYMENT_CREATED";
+    public static final String PAYMENT_STATUS_CHANGED = "PAYMENT_STATUS_CHANGED";
+    public static final String MEMBER_JOINED = "MEMBER_JOINED";
+    public static final String MEMBER_LEFT = "MEMBER_LEFT";
+    public static final String ANNOUNCEMENT_CREATED = "ANNOUNCEMENT_CREATED";
+    public static final String ANNOUNCEMENT_UPDATED = "ANNOUNCEMENT_UPDATED";
+    public static final String ANNOUNCEMENT_PUBLISHED = "ANNOUNCEMENT_PUBLISHED";
+    public static final String ANNOUNCEMENT_UNPUBLISHED = "ANNOUNCEMENT_UNPUBLISHED";
+    public static final String ANNOUNCEMENT_DELETED = "ANNOUNCEMENT_DELETED";
+    public static final String EVENT_CREATED = "EVENT_CREATED";
+    public static final String EVENT_UPDATED = "EVENT_UPDATED";
+    public static final String EVENT_DELETED = "EVENT_DELETED";
+
+    // A new event, to be passed to OutboxService.append
+    public static DomainEvent of(String aggregateType, Long aggregateId, String type, Map<String, Object> payload) {
+        return new DomainEvent(null, aggregateType, aggregateId, null, type, payload, LocalDateTime.now());
+    }
+
+    // A payload value as a Long (JSON numbers come back as Integer or Long), or null
+    public Long getLong(String field) {
+        Object value = payload != null ? payload.get(field) : null;
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    public String getString(String field) {
+        Object value = payload != null ? payload.get(field) : null;
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,8 @@
+package com.university.universe.dto;
+
+/**
+ * RSVP counts of an event
+ * capacity and seatsLeft are null for events without a capacity
+ */
+public record EventAttendance(Long eventId, Integer capacity, long going, long waitlisted, Integer seatsLeft) {
+}
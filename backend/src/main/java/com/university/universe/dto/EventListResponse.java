@@ -0,0 +1,9 @@
+package com.university.universe.dto;
+
+import java.util.List;
+
+/**
+ * Response envelope for event lists: {"success", "events"}
+ */
+public record EventListResponse(boolean success, List<EventView> events) {
+}
@@ -0,0 +1,10 @@
+package com.university.universe.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Response envelope for a single event: {"success", "message"?, "event"}
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EventResponse(boolean success, String message, EventView event) {
+}
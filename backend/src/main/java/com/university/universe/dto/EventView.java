@@ -0,0 +1,28 @@
+package com.university.universe.dto;
+
+import com.university.universe.model.Event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event as returned by the API
+ * summary() is used for lists (club reduced to id and name), detail() for single events
+ */
+public record EventView(Long id, String title, String description, LocalDateTime eventDate, String location,
+        String photoUrl, Integer capacity, Long clubId, ClubRef club, Long createdBy, LocalDateTime createdAt,
+        LocalDateTime updatedAt, Long version) {
+
+    public static EventView summary(Event event) {
+        return of(event, ClubRef.summary(event.getClub()));
+    }
+
+    public static EventView detail(Event event) {
+        return of(event, ClubRef.detail(event.getClub()));
+    }
+
+    private static EventView of(Event event, ClubRef club) {
+        return new EventView(event.getId(), event.getTitle(), event.getDescription(), event.getEventDate(),
+                event.getLocation(), event.getPhotoUrl(), event.getCapacity(), event.getClubId(), club,
+                event.getCreatedBy(), event.getCreatedAt(), event.getUpdatedAt(), event.getVersion());
+    }
+}
@@ -0,0 +1,14 @@
+package com.university.universe.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notification as returned by the API
+ * type is ANNOUNCEMENT or EVENT and refId the announcement's or event's id.
+ * broadcast is true for notifications of large clubs, which are shared by all
+ * members (id is then the broadcast's id); they are marked read with
+ * read-all.
+ */
+public record NotificationView(Long id, String type, Long refId, Long clubId, String title,
+        LocalDateTime createdAt, boolean read, boolean broadcast) {
+}
@@ -0,0 +1,102 @@
+package com.university.universe.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO describing one HTTP request flagged by the query diagnostics
+ * (too many statements, repeated statements or a slow response)
+ */
+public class QueryReport {
+    private String handler;
+    private String method;
+    private String uri;
+    private int statementCount;
+    private long durationMillis;
+    private List<String> reasons;
+    private Map<String, Integer> repeatedStatements;
+    private LocalDateTime recordedAt;
+
+    // Default constructor
+    public QueryReport() {
+    }
+
+    // Constructor with parameters
+    public QueryReport(String handler, String method, String uri, int statementCount, long durationMillis,
+            List<String> reasons, Map<String, Integer> repeatedStatements) {
+        this.handler = handler;
+        this.method = method;
+        this.uri = uri;
+        this.statementCount = statementCount;
+        this.durationMillis = durationMillis;
+        this.reasons = reasons;
+        this.repeatedStatements = repeatedStatements;
+        this.recordedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getHandler() {
+        return handler;
+    }
+
+    public void setHandler(String handler) {
+        this.handler = handler;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public void setUri(String uri) {
+        this.uri = uri;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public void setStatementCount(int statementCount) {
+        this.statementCount = statementCount;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public List<String> getReasons() {
+        return reasons;
+    }
+
+    public void setReasons(List<String> reasons) {
+        this.reasons = reasons;
+    }
+
+    public Map<String, Integer> getRepeatedStatements() {
+        return repeatedStatements;
+    }
+
+    public void setRepeatedStatements(Map<String, Integer> repeatedStatements) {
+        this.repeatedStatements = repeatedStatements;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+}
@@ -0,0 +1,26 @@
+package com.university.universe.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.university.universe.model.EventRsvp;
+
+import java.time.LocalDateTime;
+
+/**
+ * RSVP as returned by the API
+ * waitlistPosition (1 = next in line) is only set for WAITLISTED RSVPs; event is
+ * only set in a user's RSVP list.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RsvpView(Long id, Long eventId, Long userId, String status, Long waitlistPosition,
+        LocalDateTime createdAt, EventView event) {
+
+    public static RsvpView of(EventRsvp rsvp, Long waitlistPosition) {
+        return new RsvpView(rsvp.getId(), rsvp.getEventId(), rsvp.getUserId(), rsvp.getStatus(), waitlistPosition,
+                rsvp.getCreatedAt(), null);
+    }
+
+    public static RsvpView withEvent(EventRsvp rsvp, Long waitlistPosition) {
+        return new RsvpView(rsvp.getId(), rsvp.getEventId(), rsvp.getUserId(), rsvp.getStatus(), waitlistPosition,
+                rsvp.getCreatedAt(), EventView.summary(rsvp.getEvent()));
+    }
+}
@@ -1,10 +1,14 @@
 package com.university.universe.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "announcements")
+@DynamicUpdate
+@Table(name = "announcements", indexes = {
+    @Index(name = "idx_created_at", columnList = "created_at")
+})
 public class Announcement {
     
     @Id
@@ -35,6 +39,11 @@ public class Announcement {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Optimistic lock: incremented by every update, compared with the version the client last read
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+    
     // Default constructor
     public Announcement() {
         this.createdAt = LocalDateTime.now();
@@ -125,4 +134,12 @@ public class Announcement {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,77 @@
+package com.university.universe.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Row of the cache_invalidations table used by JdbcCacheInvalidationBus
+ * Mapped so the table is created with the rest of the schema; rows are
+ * written and polled with plain SQL, not through this entity.
+ */
+@Entity
+@Table(name = "cache_invalidations", indexes = {
+    @Index(name = "idx_cache_invalidations_created_at", columnList = "created_at")
+})
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String topic;
+
+    @Column(name = "cache_key", nullable = false)
+    private String cacheKey;
+
+    @Column(nullable = false, length = 64)
+    private String origin;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public CacheInvalidation() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    public void setCacheKey(String cacheKey) {
+        this.cacheKey = cacheKey;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
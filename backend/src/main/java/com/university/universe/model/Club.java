@@ -1,10 +1,12 @@
 package com.university.universe.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 import java.math.BigDecimal;
 
 @Entity
+@DynamicUpdate
 @Table(name = "clubs")
 public class Club {
 
@@ -33,6 +35,11 @@ public class Club {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock: incremented by every update, compared with the version the client last read
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
     // Default constructor
     public Club() {
         this.createdAt = LocalDateTime.now();
@@ -112,4 +119,12 @@ public class Club {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,74 @@
+package com.university.universe.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A notification for every member of a large club (club_broadcasts table)
+ * Clubs with at least notifications.fan-out-on-read-threshold members get one
+ * row per item instead of one per member; members see it when they read
+ * their notifications (fan-out on read). seq numbers a club's broadcasts
+ * 1, 2, 3, ... so a member's NotificationCursor tells how many are unread.
+ * Only NotificationService writes these rows; the entity exists so the table
+ * is created with the schema.
+ */
+@Entity
+@Table(name = "club_broadcasts",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_club_broadcasts_seq", columnNames = {"club_id", "seq"}),
+        @UniqueConstraint(name = "uk_club_broadcasts_ref", columnNames = {"club_id", "type", "ref_id"})
+    })
+public class ClubBroadcast {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "club_id", nullable = false)
+    private Long clubId;
+
+    @Column(nullable = false)
+    private long seq;
+
+    // ANNOUNCEMENT or EVENT
+    @Column(nullable = false, length = 20)
+    private String type;
+
+    // Id of the announcement or event
+    @Column(name = "ref_id", nullable = false)
+    private Long refId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getClubId() {
+        return clubId;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getRefId() {
+        return refId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -8,6 +8,8 @@ import java.util.List;
 @Entity
 @Table(name = "club_memberships", uniqueConstraints = {
     @UniqueConstraint(name = "uk_user_club", columnNames = {"user_id", "club_id"})
+}, indexes = {
+    @Index(name = "idx_club_memberships_club_user", columnList = "club_id, user_id")
 })
 public class ClubMembership {
     
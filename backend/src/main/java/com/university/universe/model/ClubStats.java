@@ -0,0 +1,132 @@
+package com.university.universe.model;
+
+import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Precomputed per-club counters (club_stats table)
+ * Kept up to date by ClubStatsService as memberships, events and payments
+ * change, so admins can read a club's totals without loading its rows.
+ * Revenue is the sum of SUCCEEDED payments; refunded payments move to the
+ * refunded columns.
+ */
+@Entity
+@Table(name = "club_stats")
+public class ClubStats {
+
+    @Id
+    @Column(name = "club_id")
+    @JsonProperty(value = "clubId")
+    private Long clubId;
+
+    @Column(name = "member_count", nullable = false)
+    @JsonProperty(value = "memberCount")
+    private long memberCount;
+
+    @Column(name = "event_count", nullable = false)
+    @JsonProperty(value = "eventCount")
+    private long eventCount;
+
+    @Column(name = "paid_count", nullable = false)
+    @JsonProperty(value = "paidCount")
+    private long paidCount;
+
+    @Column(name = "revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(name = "refunded_count", nullable = false)
+    @JsonProperty(value = "refundedCount")
+    private long refundedCount;
+
+    @Column(name = "refunded_amount", nullable = false, precision = 14, scale = 2)
+    @JsonProperty(value = "refundedAmount")
+    private BigDecimal refundedAmount;
+
+    @Column(name = "updated_at", nullable = false)
+    @JsonProperty(value = "updatedAt")
+    private LocalDateTime updatedAt;
+
+    // Last full recount (nightly repair or first use of the club)
+    @Column(name = "repaired_at")
+    @JsonProperty(value = "repairedAt")
+    private LocalDateTime repairedAt;
+
+    // Default constructor
+    public ClubStats() {
+    }
+
+    // Getters and Setters
+    public Long getClubId() {
+        return clubId;
+    }
+
+    public void setClubId(Long clubId) {
+        this.clubId = clubId;
+    }
+
+    public long getMemberCount() {
+        return memberCount;
+    }
+
+    public void setMemberCount(long memberCount) {
+        this.memberCount = memberCount;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(long eventCount) {
+        this.eventCount = eventCount;
+    }
+
+    public long getPaidCount() {
+        return paidCount;
+    }
+
+    public void setPaidCount(long paidCount) {
+        this.paidCount = paidCount;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    public long getRefundedCount() {
+        return refundedCount;
+    }
+
+    public void setRefundedCount(long refundedCount) {
+        this.refundedCount = refundedCount;
+    }
+
+    public BigDecimal getRefundedAmount() {
+        return refundedAmount;
+    }
+
+    public void setRefundedAmount(BigDecimal refundedAmount) {
+        this.refundedAmount = refundedAmount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getRepairedAt() {
+        return repairedAt;
+    }
+
+    public void setRepairedAt(LocalDateTime repairedAt) {
+        this.repairedAt = repairedAt;
+    }
+}
@@ -0,0 +1,53 @@
+package com.university.universe.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Row of the distributed_locks table used by JdbcLeaseLock
+ * Mapped so the table is created with the rest of the schema; locks are
+ * taken and released with plain SQL, not through this entity.
+ */
+@Entity
+@Table(name = "distributed_locks")
+public class DistributedLock {
+
+    @Id
+    @Column(name = "lock_name", length = 191)
+    private String lockName;
+
+    @Column(nullable = false, length = 64)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Default constructor
+    public DistributedLock() {
+    }
+
+    // Getters and Setters
+    public String getLockName() {
+        return lockName;
+    }
+
+    public void setLockName(String lockName) {
+        this.lockName = lockName;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
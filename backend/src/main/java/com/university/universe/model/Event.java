@@ -1,11 +1,16 @@
 package com.university.universe.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
-@Table(name = "events")
+@DynamicUpdate
+@Table(name = "events", indexes = {
+    @Index(name = "idx_date", columnList = "event_date"),
+    @Index(name = "idx_club_date", columnList = "club_id, event_date")
+})
 public class Event {
     
     @Id
@@ -26,6 +31,9 @@ public class Event {
     @Column(name = "photo_url")
     private String photoUrl;
     
+    // Maximum number of GOING RSVPs; null means unlimited
+    private Integer capacity;
+    
     @Column(name = "club_id")
     private Long clubId;
     
@@ -42,6 +50,11 @@ public class Event {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Optimistic lock: incremented by every update, compared with the version the client last read
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+    
     // Default constructor
     public Event() {
         this.createdAt = LocalDateTime.now();
@@ -109,6 +122,14 @@ public class Event {
         this.photoUrl = photoUrl;
     }
     
+    public Integer getCapacity() {
+        return capacity;
+    }
+    
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+    
     public Long getClubId() {
         return clubId;
     }
@@ -148,4 +169,12 @@ public class Event {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,122 @@
+package com.university.universe.model;
+
+import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.LocalDateTime;
+
+/**
+ * A user's RSVP to an event (event_rsvps table)
+ * GOING RSVPs hold a seat taken from one of the event's seat stripes (see
+ * EventSeatStripe); when the event is full the RSVP is WAITLISTED and is
+ * promoted in created_at order as seats free up. Rows are written with SQL by
+ * EventRsvpService.
+ */
+@Entity
+@Table(name = "event_rsvps",
+    uniqueConstraints = @UniqueConstraint(name = "uk_event_rsvps_event_user", columnNames = {"event_id", "user_id"}),
+    indexes = {
+        @Index(name = "idx_event_rsvps_event_status", columnList = "event_id, status, created_at"),
+        @Index(name = "idx_event_rsvps_user", columnList = "user_id, created_at")
+    })
+public class EventRsvp {
+
+    public static final String GOING = "GOING";
+    public static final String WAITLISTED = "WAITLISTED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    @JsonProperty(value = "eventId")
+    private Long eventId;
+
+    @Column(name = "user_id", nullable = false)
+    @JsonProperty(value = "userId")
+    private Long userId;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    // Seat stripe the seat was taken from (null for waitlisted RSVPs and events without a capacity)
+    @JsonIgnore
+    private Integer stripe;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", insertable = false, updatable = false)
+    @JsonIgnore
+    private Event event;
+
+    @Column(name = "created_at", nullable = false)
+    @JsonProperty(value = "createdAt")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    @JsonProperty(value = "updatedAt")
+    private LocalDateTime updatedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getStripe() {
+        return stripe;
+    }
+
+    public void setStripe(Integer stripe) {
+        this.stripe = stripe;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public void setEvent(Event event) {
+        this.event = event;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
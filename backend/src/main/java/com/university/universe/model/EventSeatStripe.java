@@ -0,0 +1,47 @@
+package com.university.universe.model;
+
+import jakarta.persistence.*;
+
+/**
+ * One slice of an event's free seats (event_seat_stripes table)
+ * An event with a capacity has rsvp.seat-stripes rows whose remaining counts
+ * add up to its free seats. Each RSVP takes a seat from a random non-empty
+ * stripe with a conditional UPDATE, so concurrent RSVPs to one event lock
+ * different rows instead of queueing on a single counter. Only
+ * EventRsvpService writes these rows; the entity exists so the table is
+ * created with the schema.
+ */
+@Entity
+@Table(name = "event_seat_stripes",
+    uniqueConstraints = @UniqueConstraint(name = "uk_event_seat_stripes", columnNames = {"event_id", "stripe"}))
+public class EventSeatStripe {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(nullable = false)
+    private int stripe;
+
+    @Column(nullable = false)
+    private int remaining;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public int getStripe() {
+        return stripe;
+    }
+
+    public int getRemaining() {
+        return remaining;
+    }
+}
@@ -0,0 +1,88 @@
+package com.university.universe.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Row of the idempotency_keys table used by IdempotencyService
+ * Mapped so the table is created with the rest of the schema; keys are
+ * claimed, completed and swept with plain SQL, not through this entity.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+})
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "id_key", length = 191)
+    private String idKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(nullable = false, length = 20)
+    private String status; // IN_PROGRESS, COMPLETED
+
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Default constructor
+    public IdempotencyKey() {
+    }
+
+    // Getters and Setters
+    public String getIdKey() {
+        return idKey;
+    }
+
+    public void setIdKey(String idKey) {
+        this.idKey = idKey;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public void setResponseBody(String responseBody) {
+        this.responseBody = responseBody;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,81 @@
+package com.university.universe.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One user's copy of a club notification (notifications table)
+ * Written in batches by NotificationService when a club announcement is
+ * published or an event is created (fan-out on write), one row per member.
+ * At most one row per user and item, so a repeated delivery adds nothing.
+ * Only NotificationService writes these rows; the entity exists so the table
+ * is created with the schema.
+ */
+@Entity
+@Table(name = "notifications",
+    uniqueConstraints = @UniqueConstraint(name = "uk_notifications_user_ref", columnNames = {"user_id", "type", "ref_id"}),
+    indexes = {
+        @Index(name = "idx_notifications_user", columnList = "user_id, id"),
+        @Index(name = "idx_notifications_club", columnList = "club_id")
+    })
+public class Notification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "club_id", nullable = false)
+    private Long clubId;
+
+    // ANNOUNCEMENT or EVENT
+    @Column(nullable = false, length = 20)
+    private String type;
+
+    // Id of the announcement or event
+    @Column(name = "ref_id", nullable = false)
+    private Long refId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "read_at")
+    private LocalDateTime readAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getClubId() {
+        return clubId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getRefId() {
+        return refId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getReadAt() {
+        return readAt;
+    }
+}
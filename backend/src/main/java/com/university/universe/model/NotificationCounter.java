@@ -0,0 +1,38 @@
+package com.university.universe.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A user's number of unread inbox notifications (notification_counters table)
+ * Incremented in the same transaction as the inbox rows it counts and
+ * decremented when they are read, so the unread badge is a primary key
+ * lookup instead of a COUNT(*) over notifications. Only NotificationService
+ * writes these rows.
+ */
+@Entity
+@Table(name = "notification_counters")
+public class NotificationCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long unread;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getUnread() {
+        return unread;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
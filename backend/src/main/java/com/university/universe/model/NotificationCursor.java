@@ -0,0 +1,45 @@
+package com.university.universe.model;
+
+import jakarta.persistence.*;
+
+/**
+ * How far a member has read a club's broadcasts (notification_cursors table)
+ * seenSeq is the seq of the last ClubBroadcast the member has seen; set to
+ * the club's latest when the member joins or marks everything read. A member
+ * without a row has seen none, which is right for memberships older than the
+ * club's first broadcast. Only NotificationService writes these rows.
+ */
+@Entity
+@Table(name = "notification_cursors",
+    uniqueConstraints = @UniqueConstraint(name = "uk_notification_cursors", columnNames = {"user_id", "club_id"}))
+public class NotificationCursor {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "club_id", nullable = false)
+    private Long clubId;
+
+    @Column(name = "seen_seq", nullable = false)
+    private long seenSeq;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getClubId() {
+        return clubId;
+    }
+
+    public long getSeenSeq() {
+        return seenSeq;
+    }
+}
@@ -0,0 +1,115 @@
+package com.university.universe.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A domain event waiting to be dispatched, or already dispatched (outbox_events table)
+ * Written by OutboxService in the same transaction as the change it
+ * describes, so an event exists if and only if the change committed.
+ * OutboxRelay dispatches PENDING rows in id order and marks them DISPATCHED,
+ * or FAILED after outbox.max-attempts failed attempts. seq numbers the
+ * events of one aggregate (see OutboxSequence). Only OutboxService and
+ * OutboxRelay write these rows; the entity exists so the table is created
+ * with the schema.
+ */
+@Entity
+@Table(name = "outbox_events",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_outbox_events_aggregate_seq",
+            columnNames = {"aggregate_type", "aggregate_id", "seq"})
+    },
+    indexes = {
+        @Index(name = "idx_outbox_events_status", columnList = "status, id"),
+        @Index(name = "idx_outbox_events_dispatched", columnList = "status, dispatched_at")
+    })
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // PAYMENT, MEMBERSHIP, ANNOUNCEMENT or EVENT
+    @Column(name = "aggregate_type", nullable = false, length = 32)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(nullable = false)
+    private long seq;
+
+    @Column(name = "event_type", nullable = false, length = 64)
+    private String eventType;
+
+    // JSON object
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    // PENDING, DISPATCHED or FAILED
+    @Column(nullable = false, length = 16)
+    private String status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getDispatchedAt() {
+        return dispatchedAt;
+    }
+}
@@ -0,0 +1,48 @@
+package com.university.universe.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Last outbox sequence number of one aggregate (outbox_sequences table)
+ * OutboxService increments it with an upsert before writing an event, which
+ * row-locks it until the transaction ends: two transactions changing the
+ * same aggregate write their events one after the other, so an aggregate's
+ * events become visible in sequence order and the relay can never see
+ * event n + 1 without event n. Only OutboxService writes these rows.
+ */
+@Entity
+@Table(name = "outbox_sequences",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_outbox_sequences_aggregate", columnNames = {"aggregate_type", "aggregate_id"})
+    })
+public class OutboxSequence {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 32)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "last_seq", nullable = false)
+    private long lastSeq;
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public long getLastSeq() {
+        return lastSeq;
+    }
+}
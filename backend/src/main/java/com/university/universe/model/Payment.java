@@ -10,7 +10,9 @@ import java.time.LocalDateTime;
  * Stores payment details for club membership payments
  */
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+    @Index(name = "idx_created_at", columnList = "created_at")
+})
 public class Payment {
 
     @Id
@@ -1,7 +1,10 @@
 package com.university.universe.repository;
 
 import com.university.universe.model.Announcement;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -19,4 +22,11 @@ public interface AnnouncementRepository extends JpaRepository<Announcement, Long
     
     // Find announcements by club and creator
     List<Announcement> findByClubIdAndCreatedBy(Long clubId, Long createdBy);
+
+    // Count rows belonging to a club (purge progress)
+    long countByClubId(Long clubId);
+
+    // Next chunk of ids belonging to a club (purge)
+    @Query("SELECT x.id FROM Announcement x WHERE x.clubId = :clubId ORDER BY x.id")
+    List<Long> findIdsByClubId(@Param("clubId") Long clubId, Pageable pageable);
 }
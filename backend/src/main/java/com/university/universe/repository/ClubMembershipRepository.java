@@ -1,7 +1,10 @@
 package com.university.universe.repository;
 
 import com.university.universe.model.ClubMembership;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -20,4 +23,17 @@ public interface ClubMembershipRepository extends JpaRepository<ClubMembership,
     
     // Check if membership exists
     boolean existsByUserIdAndClubId(Long userId, Long clubId);
+
+    // Count rows belonging to a club (purge progress)
+    long countByClubId(Long clubId);
+
+    // Next chunk of ids belonging to a club (purge)
+    @Query("SELECT x.id FROM ClubMembership x WHERE x.clubId = :clubId ORDER BY x.id")
+    List<Long> findIdsByClubId(@Param("clubId") Long clubId, Pageable pageable);
+
+    // Next page of a club's active member ids after afterUserId (notification fan-out)
+    @Query("SELECT m.userId FROM ClubMembership m WHERE m.clubId = :clubId AND m.status = 'ACTIVE' "
+            + "AND m.userId > :afterUserId ORDER BY m.userId")
+    List<Long> findActiveMemberIds(@Param("clubId") Long clubId, @Param("afterUserId") Long afterUserId,
+            Pageable pageable);
 }
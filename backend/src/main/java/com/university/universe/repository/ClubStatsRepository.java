@@ -0,0 +1,10 @@
+package com.university.universe.repository;
+
+import com.university.universe.model.ClubStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+// Read side of club_stats; counters are written with SQL by ClubStatsService
+@Repository
+public interface ClubStatsRepository extends JpaRepository<ClubStats, Long> {
+}
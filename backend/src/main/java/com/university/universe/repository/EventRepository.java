@@ -1,8 +1,12 @@
 package com.university.universe.repository;
 
 import com.university.universe.model.Event;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -13,4 +17,26 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     
     // Find events by creator
     List<Event> findByCreatedBy(Long createdBy);
+
+    // Find events after a point in time
+    List<Event> findByEventDateAfter(LocalDateTime after);
+
+    // Events starting in [from, to), earliest first, with their club (idx_date)
+    @Query("SELECT e FROM Event e LEFT JOIN FETCH e.club WHERE e.eventDate >= :from AND e.eventDate < :to "
+            + "ORDER BY e.eventDate, e.id")
+    List<Event> findByEventDateRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+            Pageable pageable);
+
+    // Events of one club starting in [from, to), earliest first (idx_club_date)
+    @Query("SELECT e FROM Event e LEFT JOIN FETCH e.club WHERE e.clubId = :clubId "
+            + "AND e.eventDate >= :from AND e.eventDate < :to ORDER BY e.eventDate, e.id")
+    List<Event> findByClubIdAndEventDateRange(@Param("clubId") Long clubId, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to, Pageable pageable);
+
+    // Count rows belonging to a club (purge progress)
+    long countByClubId(Long clubId);
+
+    // Next chunk of ids belonging to a club (purge)
+    @Query("SELECT x.id FROM Event x WHERE x.clubId = :clubId ORDER BY x.id")
+    List<Long> findIdsByClubId(@Param("clubId") Long clubId, Pageable pageable);
 }
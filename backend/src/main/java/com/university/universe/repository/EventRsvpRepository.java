@@ -0,0 +1,22 @@
+package com.university.universe.repository;
+
+import com.university.universe.model.EventRsvp;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+// Read side of event_rsvps; RSVPs are written with SQL by EventRsvpService
+@Repository
+public interface EventRsvpRepository extends JpaRepository<EventRsvp, Long> {
+
+    Optional<EventRsvp> findByEventIdAndUserId(Long eventId, Long userId);
+
+    // A user's RSVPs with their events, soonest event first
+    @Query("SELECT r FROM EventRsvp r JOIN FETCH r.event e LEFT JOIN FETCH e.club "
+            + "WHERE r.userId = :userId ORDER BY e.eventDate, e.id")
+    List<EventRsvp> findByUserIdWithEvent(@Param("userId") Long userId);
+}
@@ -1,7 +1,10 @@
 package com.university.universe.repository;
 
 import com.university.universe.model.Payment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -29,4 +32,11 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     // Find succeeded payments by user and club
     Optional<Payment> findByUserIdAndClubIdAndStatus(Long userId, Long clubId, String status);
+
+    // Count rows belonging to a club (purge progress)
+    long countByClubId(Long clubId);
+
+    // Next chunk of ids belonging to a club (purge)
+    @Query("SELECT x.id FROM Payment x WHERE x.clubId = :clubId ORDER BY x.id")
+    List<Long> findIdsByClubId(@Param("clubId") Long clubId, Pageable pageable);
 }
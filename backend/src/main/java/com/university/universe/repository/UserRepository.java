@@ -17,4 +17,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     // Check if email exists
     boolean existsByEmail(String email);
+    
+    // Check if another user has this email
+    boolean existsByEmailAndIdNot(String email, Long id);
 }
@@ -0,0 +1,497 @@
+package com.university.universe.service;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Columnar in-memory copy of sign-ups, memberships and payments for the admin analytics
+ * Every attribute is a primitive array (dates as epoch day or month index,
+ * strings and club ids as dictionary codes, amounts in cents), so a group-by
+ * is a scan over a few int arrays with no objects per row. Scans are split
+ * into ranges and run on a ForkJoinPool, each range counting into its own
+ * array, and the partial arrays are added up at the end.
+ * Rows are only appended, except payments, which are updated in place by id
+ * when their status changes. Writers take a write lock per batch and queries
+ * hold the read lock while they scan.
+ */
+public final class AnalyticsEngine {
+
+    private static final int MIN_ROWS_PER_TASK = 1 << 15;
+    private static final int MAX_BUCKETS = 1 << 22;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final String NOT_GIVEN = "(not given)";
+    private static final String SUCCEEDED = "SUCCEEDED";
+
+    private final ForkJoinPool pool;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Dictionary<Long> clubs = new Dictionary<>();
+    private final Dictionary<String> faculties = new Dictionary<>();
+    private final Dictionary<String> years = new Dictionary<>();
+    private final Dictionary<String> statuses = new Dictionary<>();
+
+    // users: sign-up day and month
+    private final IntColumn signupDay = new IntColumn();
+    private final IntColumn signupMonth = new IntColumn();
+    private long lastUserId;
+
+    // club_memberships: join day, club, faculty, year of study
+    private final IntColumn joinDay = new IntColumn();
+    private final IntColumn joinClub = new IntColumn();
+    private final IntColumn joinFaculty = new IntColumn();
+    private final IntColumn joinYear = new IntColumn();
+    private long lastMembershipId;
+
+    // payments, ordered by id so an updated payment is found by binary search
+    private final LongColumn paymentId = new LongColumn();
+    private final IntColumn paymentClub = new IntColumn();
+    private final IntColumn paymentMonth = new IntColumn();
+    private final IntColumn paymentStatus = new IntColumn();
+    private final LongColumn paymentCents = new LongColumn();
+    private LocalDateTime paymentsUpdatedAt;
+
+    public AnalyticsEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public enum Granularity {
+        DAY, WEEK, MONTH
+    }
+
+    public record SignupRow(long id, LocalDateTime createdAt) {
+    }
+
+    public record MembershipRow(long id, long clubId, LocalDateTime joinedAt, String faculty, String year) {
+    }
+
+    // paidAt is the date the revenue belongs to (paid_at, or created_at for unpaid rows)
+    public record PaymentRow(long id, long clubId, BigDecimal amount, String status, LocalDateTime paidAt,
+            LocalDateTime updatedAt) {
+    }
+
+    public record Bucket(String key, long count) {
+    }
+
+    public record Revenue(long clubId, YearMonth month, BigDecimal amount, long payments) {
+    }
+
+    // Append users with ids above getLastUserId()
+    public void appendSignups(List<SignupRow> rows) {
+        lock.writeLock().lock();
+        try {
+            for (SignupRow row : rows) {
+                int day = epochDay(row.createdAt());
+                signupDay.add(day);
+                signupMonth.add(day == NO_DATE ? NO_DATE : monthIndex(row.createdAt().toLocalDate()));
+                lastUserId = Math.max(lastUserId, row.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Append memberships with ids above getLastMembershipId()
+    public void appendMemberships(List<MembershipRow> rows) {
+        lock.writeLock().lock();
+        try {
+            for (MembershipRow row : rows) {
+                joinDay.add(epochDay(row.joinedAt()));
+                joinClub.add(clubs.code(row.clubId(), String.valueOf(row.clubId())));
+                joinFaculty.add(textCode(faculties, row.faculty()));
+                joinYear.add(textCode(years, row.year()));
+                lastMembershipId = Math.max(lastMembershipId, row.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Add new payments (ascending ids) or overwrite known ones
+    public void putPayments(List<PaymentRow> rows) {
+        lock.writeLock().lock();
+        try {
+            for (PaymentRow row : rows) {
+                int club = clubs.code(row.clubId(), String.valueOf(row.clubId()));
+                int month = row.paidAt() == null ? NO_DATE : monthIndex(row.paidAt().toLocalDate());
+                int status = statuses.code(row.status(), row.status());
+                long cents = row.amount() == null ? 0 : row.amount().movePointRight(2).longValue();
+
+                int size = paymentId.size;
+                if (size == 0 || row.id() > paymentId.data[size - 1]) {
+                    paymentId.add(row.id());
+                    paymentClub.add(club);
+                    paymentMonth.add(month);
+                    paymentStatus.add(status);
+                    paymentCents.add(cents);
+                } else {
+                    int index = Arrays.binarySearch(paymentId.data, 0, size, row.id());
+                    if (index >= 0) {
+                        paymentClub.data[index] = club;
+                        paymentMonth.data[index] = month;
+                        paymentStatus.data[index] = status;
+                        paymentCents.data[index] = cents;
+                    }
+                }
+                if (row.updatedAt() != null
+                        && (paymentsUpdatedAt == null || row.updatedAt().isAfter(paymentsUpdatedAt))) {
+                    paymentsUpdatedAt = row.updatedAt();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Sign-ups per day, week (starting Monday) or month between from and to, inclusive
+    public List<Bucket> signups(Granularity granularity, LocalDate from, LocalDate to) {
+        int fromDay = day(from);
+        int toDay = day(to);
+        lock.readLock().lock();
+        try {
+            GroupBy groupBy;
+            int origin;
+            if (granularity == Granularity.MONTH) {
+                origin = monthIndex(from);
+                groupBy = new GroupBy(signupMonth.data, origin, 1, buckets(monthIndex(to) - origin + 1));
+            } else {
+                int width = granularity == Granularity.WEEK ? 7 : 1;
+                origin = day(granularity == Granularity.WEEK ? from.with(DayOfWeek.MONDAY) : from);
+                groupBy = new GroupBy(signupDay.data, origin, width, buckets(((long) toDay - origin) / width + 1));
+            }
+            groupBy.range(signupDay.data, fromDay, toDay);
+            long[] counts = run(groupBy, signupDay.size);
+
+            List<Bucket> result = new ArrayList<>(counts.length);
+            for (int i = 0; i < counts.length; i++) {
+                String key;
+                if (granularity == Granularity.MONTH) {
+                    key = yearMonth(origin + i).toString();
+                } else {
+                    key = LocalDate.ofEpochDay(origin + (long) i * (granularity == Granularity.WEEK ? 7 : 1)).toString();
+                }
+                result.add(new Bucket(key, counts[i]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Club joins between from and to grouped by "faculty", "year" or "club" (key = club id), largest first
+    public List<Bucket> joins(String by, LocalDate from, LocalDate to, Long clubId) {
+        lock.readLock().lock();
+        try {
+            int[] keys;
+            Dictionary<?> dictionary;
+            switch (by) {
+                case "faculty" -> { keys = joinFaculty.data; dictionary = faculties; }
+                case "year" -> { keys = joinYear.data; dictionary = years; }
+                case "club" -> { keys = joinClub.data; dictionary = clubs; }
+                default -> throw new IllegalArgumentException("Unknown grouping: " + by);
+            }
+            GroupBy groupBy = new GroupBy(keys, 0, 1, Math.max(dictionary.size(), 1));
+            groupBy.range(joinDay.data, day(from), day(to));
+            if (clubId != null) {
+                int club = clubs.find(clubId);
+                if (club < 0) {
+                    return List.of();
+                }
+                groupBy.equal(joinClub.data, club);
+            }
+            long[] counts = run(groupBy, joinDay.size);
+
+            List<Bucket> result = new ArrayList<>();
+            for (int code = 0; code < dictionary.size(); code++) {
+                if (counts[code] > 0) {
+                    result.add(new Bucket(dictionary.label(code), counts[code]));
+                }
+            }
+            result.sort((a, b) -> Long.compare(b.count(), a.count()));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Revenue of SUCCEEDED payments per club and month between from and to, inclusive
+    public List<Revenue> revenue(YearMonth from, YearMonth to, Long clubId) {
+        int fromMonth = monthIndex(from.atDay(1));
+        int months = monthIndex(to.atDay(1)) - fromMonth + 1;
+        lock.readLock().lock();
+        try {
+            int succeeded = statuses.find(SUCCEEDED);
+            int club = clubId == null ? -1 : clubs.find(clubId);
+            if (succeeded < 0 || months <= 0 || (clubId != null && club < 0)) {
+                return List.of();
+            }
+            int clubCount = clubs.size();
+            GroupBy groupBy = new GroupBy(paymentMonth.data, fromMonth, 1, buckets((long) clubCount * months));
+            groupBy.outer(paymentClub.data, months);
+            groupBy.range(paymentMonth.data, fromMonth, fromMonth + months - 1);
+            groupBy.equal(paymentStatus.data, succeeded);
+            groupBy.sum(paymentCents.data);
+            long[] totals = run(groupBy, paymentId.size);
+
+            int buckets = clubCount * months;
+            List<Revenue> result = new ArrayList<>();
+            for (int month = 0; month < months; month++) {
+                for (int code = 0; code < clubCount; code++) {
+                    int key = code * months + month;
+                    if (totals[key] > 0 && (club < 0 || code == club)) {
+                        result.add(new Revenue(clubs.key(code), yearMonth(fromMonth + month),
+                                BigDecimal.valueOf(totals[buckets + key], 2), totals[key]));
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Row counts per table
+    public Map<String, Integer> sizes() {
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> sizes = new HashMap<>();
+            sizes.put("users", signupDay.size);
+            sizes.put("memberships", joinDay.size);
+            sizes.put("payments", paymentId.size);
+            return sizes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getLastUserId() {
+        return lastUserId;
+    }
+
+    public long getLastMembershipId() {
+        return lastMembershipId;
+    }
+
+    public long getLastPaymentId() {
+        lock.readLock().lock();
+        try {
+            return paymentId.size == 0 ? 0 : paymentId.data[paymentId.size - 1];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public LocalDateTime getPaymentsUpdatedAt() {
+        return paymentsUpdatedAt;
+    }
+
+    private long[] run(GroupBy groupBy, int rows) {
+        groupBy.end = rows;
+        groupBy.threshold = Math.max(MIN_ROWS_PER_TASK, rows / (pool.getParallelism() * 4) + 1);
+        return pool.invoke(groupBy);
+    }
+
+    private static int buckets(long buckets) {
+        if (buckets <= 0 || buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Date range is empty or too large for this grouping");
+        }
+        return (int) buckets;
+    }
+
+    private static int textCode(Dictionary<String> dictionary, String value) {
+        String label = value == null ? "" : value.trim();
+        if (label.isEmpty()) {
+            return dictionary.code("", NOT_GIVEN);
+        }
+        return dictionary.code(label.toLowerCase(), label);
+    }
+
+    private static int epochDay(LocalDateTime dateTime) {
+        return dateTime == null ? NO_DATE : day(dateTime.toLocalDate());
+    }
+
+    // Epoch day clamped to int, never NO_DATE (open ranges use LocalDate.MIN / MAX)
+    private static int day(LocalDate date) {
+        return (int) Math.max(NO_DATE + 1L, Math.min(Integer.MAX_VALUE, date.toEpochDay()));
+    }
+
+    private static int monthIndex(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    private static YearMonth yearMonth(int monthIndex) {
+        return YearMonth.of(monthIndex / 12, monthIndex % 12 + 1);
+    }
+
+    /**
+     * Counts (and optionally sums) rows per bucket over rows [start, end)
+     * bucket = (keys[i] - origin) / width, plus outer[i] * stride when an outer
+     * key is set. Rows outside the range filter or not matching the equality
+     * filter are skipped. With a sum column the result holds the counts
+     * followed by the sums.
+     */
+    private static final class GroupBy extends RecursiveTask<long[]> {
+        private final int[] keys;
+        private final int origin;
+        private final int width;
+        private final int buckets;
+        private int[] outer;
+        private int stride;
+        private int[] rangeColumn;
+        private int rangeFrom;
+        private int rangeTo;
+        private int[] equalColumn;
+        private int equalValue;
+        private long[] values;
+        private int start;
+        private int end;
+        private int threshold;
+
+        GroupBy(int[] keys, int origin, int width, int buckets) {
+            this.keys = keys;
+            this.origin = origin;
+            this.width = width;
+            this.buckets = buckets;
+        }
+
+        void outer(int[] outer, int stride) {
+            this.outer = outer;
+            this.stride = stride;
+        }
+
+        void range(int[] column, int from, int to) {
+            this.rangeColumn = column;
+            this.rangeFrom = from;
+            this.rangeTo = to;
+        }
+
+        void equal(int[] column, int value) {
+            this.equalColumn = column;
+            this.equalValue = value;
+        }
+
+        void sum(long[] values) {
+            this.values = values;
+        }
+
+        private GroupBy slice(int start, int end) {
+            GroupBy slice = new GroupBy(keys, origin, width, buckets);
+            slice.outer = outer;
+            slice.stride = stride;
+            slice.rangeColumn = rangeColumn;
+            slice.rangeFrom = rangeFrom;
+            slice.rangeTo = rangeTo;
+            slice.equalColumn = equalColumn;
+            slice.equalValue = equalValue;
+            slice.values = values;
+            slice.start = start;
+            slice.end = end;
+            slice.threshold = threshold;
+            return slice;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (end - start > threshold) {
+                int middle = (start + end) >>> 1;
+                GroupBy left = slice(start, middle);
+                left.fork();
+                long[] result = slice(middle, end).compute();
+                long[] other = left.join();
+                for (int i = 0; i < result.length; i++) {
+                    result[i] += other[i];
+                }
+                return result;
+            }
+
+            long[] result = new long[values == null ? buckets : buckets * 2];
+            for (int i = start; i < end; i++) {
+                if (rangeColumn != null && (rangeColumn[i] < rangeFrom || rangeColumn[i] > rangeTo)) {
+                    continue;
+                }
+                if (equalColumn != null && equalColumn[i] != equalValue) {
+                    continue;
+                }
+                int bucket = (keys[i] - origin) / width;
+                if (outer != null) {
+                    bucket += outer[i] * stride;
+                }
+                result[bucket]++;
+                if (values != null) {
+                    result[buckets + bucket] += values[i];
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class IntColumn {
+        private int[] data = new int[1024];
+        private int size;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+    }
+
+    private static final class LongColumn {
+        private long[] data = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+    }
+
+    // Append-only mapping between keys and dense int codes
+    private static final class Dictionary<K> {
+        private final Map<K, Integer> codes = new HashMap<>();
+        private final List<K> keys = new ArrayList<>();
+        private final List<String> labels = new ArrayList<>();
+
+        int code(K key, String label) {
+            Integer code = codes.get(key);
+            if (code == null) {
+                code = keys.size();
+                codes.put(key, code);
+                keys.add(key);
+                labels.add(label);
+            }
+            return code;
+        }
+
+        int find(K key) {
+            Integer code = codes.get(key);
+            return code == null ? -1 : code;
+        }
+
+        K key(int code) {
+            return keys.get(code);
+        }
+
+        String label(int code) {
+            return labels.get(code);
+        }
+
+        int size() {
+            return keys.size();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.university.universe.service;
+
+import com.university.universe.config.AnalyticsProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Admin analytics (sign-ups, joins per faculty/year/club, revenue per club and month)
+ * Queries run against an AnalyticsEngine snapshot and never touch the OLTP
+ * tables. Every analytics.refresh-interval-ms the snapshot picks up new users,
+ * memberships and payments by id, and payments changed since the last refresh
+ * by updated_at. Every analytics.rebuild-interval-ms a new snapshot is loaded
+ * from scratch and swapped in, which also drops deleted rows. Payments moved
+ * to payments_archive stay in the snapshot. Loads read in read-only
+ * transactions, so they go to the read replica when one is configured.
+ */
+@Service
+public class AnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsService.class);
+
+    private static final String USERS_SQL =
+            "SELECT id, created_at FROM users WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final String MEMBERSHIPS_SQL =
+            "SELECT id, club_id, joined_at, faculty, year FROM club_memberships WHERE id > ? ORDER BY id LIMIT ?";
+
+    // Hot and archived payments merged by id (the snapshot keeps payments sorted by id)
+    private static final String PAYMENTS_SQL =
+            "(SELECT id, club_id, amount, status, COALESCE(paid_at, created_at), updated_at "
+            + "FROM payments WHERE id > ? ORDER BY id LIMIT ?) "
+            + "UNION ALL "
+            + "(SELECT id, club_id, amount, status, COALESCE(paid_at, created_at), updated_at "
+            + "FROM payments_archive WHERE id > ? ORDER BY id LIMIT ?) "
+            + "ORDER BY id LIMIT ?";
+
+    private static final String CHANGED_PAYMENTS_SQL =
+            "SELECT id, club_id, amount, status, COALESCE(paid_at, created_at), updated_at "
+            + "FROM payments WHERE updated_at >= ? AND id <= ? ORDER BY id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AnalyticsProperties analyticsProperties;
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private ForkJoinPool pool;
+
+    private volatile AnalyticsEngine engine;
+    private volatile LocalDateTime lastRefresh;
+    private volatile LocalDateTime lastRebuild;
+    private volatile long lastRefreshMs;
+
+    @Autowired
+    public AnalyticsService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PostConstruct
+    public void init() {
+        int parallelism = analyticsProperties.getParallelism() > 0
+                ? analyticsProperties.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("analytics-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // Load new and changed rows; rebuild from scratch on first run and every rebuild interval
+    @Scheduled(fixedDelayString = "${analytics.refresh-interval-ms:30000}")
+    public synchronized void refresh() {
+        long start = System.currentTimeMillis();
+        try {
+            boolean rebuild = engine == null || lastRebuild
+                    .plus(Duration.ofMillis(analyticsProperties.getRebuildIntervalMs())).isBefore(LocalDateTime.now());
+            if (rebuild) {
+                AnalyticsEngine fresh = new AnalyticsEngine(pool);
+                load(fresh);
+                engine = fresh;
+                lastRebuild = LocalDateTime.now();
+                logger.info("Analytics snapshot rebuilt rows={} durationMs={}",
+                        fresh.sizes(), System.currentTimeMillis() - start);
+            } else {
+                load(engine);
+            }
+            lastRefresh = LocalDateTime.now();
+            lastRefreshMs = System.currentTimeMillis() - start;
+        } catch (Exception e) {
+            logger.error("Analytics refresh failed, keeping previous snapshot: {}", e.getMessage());
+        }
+    }
+
+    // Sign-ups per period
+    public List<AnalyticsEngine.Bucket> signups(AnalyticsEngine.Granularity granularity, LocalDate from, LocalDate to) {
+        return snapshot().signups(granularity, from, to);
+    }
+
+    // Joins grouped by faculty, year or club; clubs are labelled with their name
+    public List<Map<String, Object>> joins(String by, LocalDate from, LocalDate to, Long clubId) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (AnalyticsEngine.Bucket bucket : snapshot().joins(by, from, to, clubId)) {
+            Map<String, Object> row = new HashMap<>();
+            if ("club".equals(by)) {
+                Long id = Long.valueOf(bucket.key());
+                row.put("clubId", id);
+                row.put("clubName", catalogIndex.clubName(id));
+            } else {
+                row.put(by, bucket.key());
+            }
+            row.put("joins", bucket.count());
+            result.add(row);
+        }
+        return result;
+    }
+
+    // Revenue per club and month
+    public List<Map<String, Object>> revenue(YearMonth from, YearMonth to, Long clubId) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (AnalyticsEngine.Revenue revenue : snapshot().revenue(from, to, clubId)) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("clubId", revenue.clubId());
+            row.put("clubName", catalogIndex.clubName(revenue.clubId()));
+            row.put("month", revenue.month().toString());
+            row.put("revenue", revenue.amount());
+            row.put("payments", revenue.payments());
+            result.add(row);
+        }
+        return result;
+    }
+
+    // Snapshot sizes and refresh times
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        AnalyticsEngine current = engine;
+        status.put("ready", current != null);
+        status.put("rows", current != null ? current.sizes() : Map.of());
+        status.put("lastRefresh", lastRefresh);
+        status.put("lastRebuild", lastRebuild);
+        status.put("lastRefreshMs", lastRefreshMs);
+        status.put("parallelism", pool.getParallelism());
+        return status;
+    }
+
+    private AnalyticsEngine snapshot() {
+        AnalyticsEngine current = engine;
+        if (current == null) {
+            throw new IllegalStateException("Analytics are still loading, please try again shortly");
+        }
+        return current;
+    }
+
+    private void load(AnalyticsEngine target) {
+        loadAfter(USERS_SQL, target.getLastUserId(),
+                (rs, n) -> new AnalyticsEngine.SignupRow(rs.getLong(1), toDateTime(rs.getTimestamp(2))),
+                AnalyticsEngine.SignupRow::id, target::appendSignups);
+
+        loadAfter(MEMBERSHIPS_SQL, target.getLastMembershipId(),
+                (rs, n) -> new AnalyticsEngine.MembershipRow(rs.getLong(1), rs.getLong(2),
+                        toDateTime(rs.getTimestamp(3)), rs.getString(4), rs.getString(5)),
+                AnalyticsEngine.MembershipRow::id, target::appendMemberships);
+
+        // Changed payments first, so the id watermark does not yet include the rows loaded below
+        LocalDateTime changedSince = target.getPaymentsUpdatedAt();
+        if (changedSince != null) {
+            List<AnalyticsEngine.PaymentRow> changed = readOnlyTransaction.execute(status -> jdbcTemplate.query(
+                    CHANGED_PAYMENTS_SQL, this::mapPayment, Timestamp.valueOf(changedSince), target.getLastPaymentId()));
+            target.putPayments(changed);
+        }
+        loadAfter(PAYMENTS_SQL, target.getLastPaymentId(), this::mapPayment,
+                AnalyticsEngine.PaymentRow::id, target::putPayments);
+    }
+
+    // Keyset pagination by id, one read-only transaction per batch
+    private <T> void loadAfter(String sql, long afterId, RowMapper<T> mapper, ToLongFunction<T> id,
+            Consumer<List<T>> sink) {
+        int batchSize = analyticsProperties.getLoadBatchSize();
+        long lastId = afterId;
+        while (true) {
+            Object[] args = keysetArgs(sql, lastId, batchSize);
+            List<T> rows = readOnlyTransaction.execute(status -> jdbcTemplate.query(sql, mapper, args));
+            if (rows == null || rows.isEmpty()) {
+                return;
+            }
+            sink.accept(rows);
+            lastId = id.applyAsLong(rows.get(rows.size() - 1));
+            if (rows.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    // Every "LIMIT ?" gets the batch size, every other parameter the last id seen
+    private static Object[] keysetArgs(String sql, long lastId, int batchSize) {
+        List<Object> args = new ArrayList<>();
+        for (int at = sql.indexOf('?'); at >= 0; at = sql.indexOf('?', at + 1)) {
+            args.add(sql.startsWith("LIMIT ", at - 6) ? batchSize : lastId);
+        }
+        return args.toArray();
+    }
+
+    private AnalyticsEngine.PaymentRow mapPayment(ResultSet rs, int rowNum) throws SQLException {
+        return new AnalyticsEngine.PaymentRow(rs.getLong(1), rs.getLong(2), rs.getBigDecimal(3), rs.getString(4),
+                toDateTime(rs.getTimestamp(5)), toDateTime(rs.getTimestamp(6)));
+    }
+
+    private static LocalDateTime toDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
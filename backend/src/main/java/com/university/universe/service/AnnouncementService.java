@@ -1,91 +1,254 @@
 package com.university.universe.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.universe.dto.BulkItemResult;
+import com.university.universe.dto.DomainEvent;
 import com.university.universe.model.Announcement;
 import com.university.universe.repository.AnnouncementRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class AnnouncementService {
+
+    // Fields a merge patch may change
+    private static final Map<String, MergePatch.Field> PATCHABLE = Map.of(
+            "title", new MergePatch.Field(String.class, false),
+            "content", new MergePatch.Field(String.class, false));
     
     @Autowired
     private AnnouncementRepository announcementRepository;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Value("${bulk.max-items:100}")
+    private int bulkMaxItems;
+
+    @PersistenceContext
+    private EntityManager entityManager;
     
     // Create a new announcement (draft)
+    @Transactional
     public Announcement createAnnouncement(Announcement announcement) {
-        return announcementRepository.save(announcement);
+        announcement.setVersion(null);
+        Announcement savedAnnouncement = announcementRepository.save(announcement);
+        outboxService.append(changed(DomainEvent.ANNOUNCEMENT_CREATED, savedAnnouncement));
+        return savedAnnouncement;
     }
     
     // Get all announcements
+    @Transactional(readOnly = true)
     public List<Announcement> getAllAnnouncements() {
         return announcementRepository.findAll();
     }
     
-    // Get announcement by ID
+    // Get announcement by ID, falling back to archived announcements
+    @Transactional(readOnly = true)
     public Announcement getAnnouncementById(Long id) {
-        Optional<Announcement> announcement = announcementRepository.findById(id);
+        Optional<Announcement> announcement = announcementRepository.findById(id)
+                .or(() -> archiveService.findAnnouncement(id));
         if (!announcement.isPresent()) {
             throw new RuntimeException("Announcement not found");
         }
         return announcement.get();
     }
     
+    // Get announcement by ID from the primary (after a version conflict the replica may lag behind)
+    @Transactional
+    public Announcement getLatestAnnouncement(Long id) {
+        return getHotAnnouncement(id);
+    }
+    
     // Get all announcements by club
+    @Transactional(readOnly = true)
     public List<Announcement> getAnnouncementsByClubId(Long clubId) {
         return announcementRepository.findByClubId(clubId);
     }
     
     // Get only published announcements by club
+    @Transactional(readOnly = true)
     public List<Announcement> getPublishedAnnouncementsByClubId(Long clubId) {
         return announcementRepository.findByClubIdAndIsPublishedTrue(clubId);
     }
     
     // Get announcements by creator
+    @Transactional(readOnly = true)
     public List<Announcement> getAnnouncementsByCreator(Long createdBy) {
         return announcementRepository.findByCreatedBy(createdBy);
     }
     
     // Get announcements by club and creator (admin's announcements for a specific club)
+    @Transactional(readOnly = true)
     public List<Announcement> getAnnouncementsByClubAndCreator(Long clubId, Long createdBy) {
         return announcementRepository.findByClubIdAndCreatedBy(clubId, createdBy);
     }
     
-    // Update announcement
-    public Announcement updateAnnouncement(Long id, Announcement updatedAnnouncement) {
-        Announcement existingAnnouncement = getAnnouncementById(id);
+    // Update announcement; expectedVersion (null: no check) is the version the client last read
+    @Transactional
+    public Announcement updateAnnouncement(Long id, Announcement updatedAnnouncement, Long expectedVersion) {
+        Announcement existingAnnouncement = getHotAnnouncement(id);
+        VersionCheck.require("Announcement", expectedVersion, existingAnnouncement.getVersion());
         
         existingAnnouncement.setTitle(updatedAnnouncement.getTitle());
         existingAnnouncement.setContent(updatedAnnouncement.getContent());
         existingAnnouncement.setUpdatedAt(LocalDateTime.now());
         
-        return announcementRepository.save(existingAnnouncement);
+        Announcement savedAnnouncement = announcementRepository.saveAndFlush(existingAnnouncement);
+        outboxService.append(changed(DomainEvent.ANNOUNCEMENT_UPDATED, savedAnnouncement));
+        return savedAnnouncement;
+    }
+    
+    // Apply a JSON Merge Patch (title, content) with one UPDATE; returns the announcement read back, or null if not wanted
+    @Transactional
+    public Announcement patchAnnouncement(Long id, Map<String, Object> patch, Long expectedVersion,
+            boolean returnUpdated) {
+        MergePatch changes = MergePatch.of("Announcement", patch, PATCHABLE, objectMapper)
+                .set("updatedAt", LocalDateTime.now());
+        if (!changes.apply(entityManager, Announcement.class, id, true, expectedVersion)) {
+            changes.requireUpdated(entityManager, Announcement.class, id);
+        }
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("fields", changes.fields());
+        if (changes.has("title")) {
+            payload.put("title", changes.get("title"));
+        }
+        outboxService.append(
+                DomainEvent.of(DomainEvent.ANNOUNCEMENT, id, DomainEvent.ANNOUNCEMENT_UPDATED, payload));
+        return returnUpdated ? getHotAnnouncement(id) : null;
     }
     
     // Publish an announcement
+    @Transactional
     public Announcement publishAnnouncement(Long id) {
-        Announcement announcement = getAnnouncementById(id);
+        Announcement announcement = getHotAnnouncement(id);
         announcement.setIsPublished(true);
         announcement.setPublishedAt(LocalDateTime.now());
         announcement.setUpdatedAt(LocalDateTime.now());
         
-        return announcementRepository.save(announcement);
+        Announcement publishedAnnouncement = announcementRepository.saveAndFlush(announcement);
+        outboxService.append(changed(DomainEvent.ANNOUNCEMENT_PUBLISHED, publishedAnnouncement));
+        return publishedAnnouncement;
     }
     
     // Unpublish an announcement
+    @Transactional
     public Announcement unpublishAnnouncement(Long id) {
-        Announcement announcement = getAnnouncementById(id);
+        Announcement announcement = getHotAnnouncement(id);
         announcement.setIsPublished(false);
         announcement.setPublishedAt(null);
         announcement.setUpdatedAt(LocalDateTime.now());
         
-        return announcementRepository.save(announcement);
+        Announcement unpublishedAnnouncement = announcementRepository.saveAndFlush(announcement);
+        outboxService.append(changed(DomainEvent.ANNOUNCEMENT_UNPUBLISHED, unpublishedAnnouncement));
+        return unpublishedAnnouncement;
+    }
+    
+    /**
+     * Publish (or unpublish) many announcements with one UPDATE
+     * The rows are locked and read first so every id gets its own result, in
+     * request order: PUBLISHED / UNPUBLISHED, UNCHANGED when it already was,
+     * NOT_FOUND (archived announcements are read-only). At most
+     * bulk.max-items ids per call.
+     */
+    @Transactional
+    public List<BulkItemResult> setPublished(List<Long> ids, boolean published) {
+        if (ids == null || ids.isEmpty()) {
+            throw new RuntimeException("No announcement ids given");
+        }
+        if (ids.size() > bulkMaxItems) {
+            throw new RuntimeException("At most " + bulkMaxItems + " items per batch");
+        }
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, Announcement> current = new HashMap<>();
+        if (!distinctIds.isEmpty()) {
+            jdbcTemplate.query("SELECT id, club_id, created_by, title, is_published FROM announcements WHERE id IN "
+                    + placeholders(distinctIds.size()) + " FOR UPDATE", rs -> {
+                        Announcement announcement = new Announcement(rs.getString("title"), null,
+                                rs.getLong("club_id"), rs.getLong("created_by"));
+                        announcement.setId(rs.getLong("id"));
+                        announcement.setIsPublished(rs.getBoolean("is_published"));
+                        current.put(announcement.getId(), announcement);
+                    }, distinctIds.toArray());
+        }
+        List<Long> changing = distinctIds.stream()
+                .filter(id -> current.containsKey(id) && current.get(id).getIsPublished() != published)
+                .toList();
+        if (!changing.isEmpty()) {
+            List<Object> args = new ArrayList<>(List.of(published));
+            args.addAll(changing);
+            jdbcTemplate.update("UPDATE announcements SET is_published = ?, published_at = "
+                    + (published ? "NOW()" : "NULL") + ", updated_at = NOW(), version = version + 1 WHERE id IN "
+                    + placeholders(changing.size()), args.toArray());
+            String type = published ? DomainEvent.ANNOUNCEMENT_PUBLISHED : DomainEvent.ANNOUNCEMENT_UNPUBLISHED;
+            outboxService.appendAll(changing.stream().map(id -> changed(type, current.get(id))).toList());
+        }
+
+        List<BulkItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results.add(BulkItemResult.failed(i, null, "INVALID", "Missing announcement id"));
+            } else if (!current.containsKey(id)) {
+                results.add(BulkItemResult.failed(i, id, "NOT_FOUND", "Announcement not found"));
+            } else {
+                results.add(BulkItemResult.ok(i, id,
+                        !changing.contains(id) ? "UNCHANGED" : published ? "PUBLISHED" : "UNPUBLISHED"));
+            }
+        }
+        return results;
     }
     
-    // Delete announcement
+    // Delete announcement (hot or archived)
+    @Transactional
     public void deleteAnnouncement(Long id) {
-        announcementRepository.deleteById(id);
+        Optional<Announcement> announcement = announcementRepository.findById(id);
+        announcement.ifPresent(announcementRepository::delete);
+        if (archiveService.deleteAnnouncement(id) || announcement.isPresent()) {
+            outboxService.append(announcement.map(a -> changed(DomainEvent.ANNOUNCEMENT_DELETED, a)).orElse(
+                    DomainEvent.of(DomainEvent.ANNOUNCEMENT, id, DomainEvent.ANNOUNCEMENT_DELETED, Map.of())));
+        }
+    }
+
+    // Announcements being changed must still be in the hot table; archived ones are read-only.
+    // Callers are read-write transactions, so this reads the primary and sees the current version.
+    private Announcement getHotAnnouncement(Long id) {
+        return announcementRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Announcement not found"));
+    }
+
+    // Outbox event for a change of an announcement: its club, author and title
+    private static DomainEvent changed(String type, Announcement announcement) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("clubId", announcement.getClubId());
+        payload.put("createdBy", announcement.getCreatedBy());
+        payload.put("title", announcement.getTitle());
+        return DomainEvent.of(DomainEvent.ANNOUNCEMENT, announcement.getId(), type, payload);
+    }
+
+    private static String placeholders(int count) {
+        return "(" + String.join(", ", Collections.nCopies(count, "?")) + ")";
     }
 }
@@ -0,0 +1,390 @@
+package com.university.universe.service;
+
+import com.university.universe.config.ArchiveProperties;
+import com.university.universe.dto.ArchiveJob;
+import com.university.universe.model.Announcement;
+import com.university.universe.model.Event;
+import com.university.universe.model.Payment;
+import com.university.universe.repository.ClubRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Moves old events, announcements and payments out of the hot tables
+ * Rows older than the archive.*-after-days horizons go to events_archive,
+ * announcements_archive and payments_archive (same columns and ids as the hot
+ * tables); the RSVPs of archived events go to event_rsvps_archive and their
+ * seat stripes are dropped. Payments are only archived once they reached a
+ * final status. Each chunk of archive.chunk-size rows is locked, copied and
+ * deleted in one short transaction, with a pause between chunks. Runs hold the
+ * "archive" LeaseLock, so only one instance archives at a time.
+ *
+ * Lookups by id fall back to the archive tables (findEvent, findAnnouncement,
+ * findPayment); lists only read the hot tables. Archived rows are read-only:
+ * they can be looked up and deleted, not updated.
+ */
+@Service
+public class ArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveService.class);
+
+    private static final int MAX_FINISHED_JOBS = 20;
+    private static final String ARCHIVE_LOCK = "archive";
+    private static final Duration ARCHIVE_LOCK_TTL = Duration.ofHours(2);
+
+    // Hot table -> archive table; event_rsvps is archived together with its events
+    private static final Map<String, String> ARCHIVE_TABLES = new LinkedHashMap<>();
+    static {
+        ARCHIVE_TABLES.put("events", "events_archive");
+        ARCHIVE_TABLES.put("event_rsvps", "event_rsvps_archive");
+        ARCHIVE_TABLES.put("announcements", "announcements_archive");
+        ARCHIVE_TABLES.put("payments", "payments_archive");
+    }
+
+    private static final String FINAL_PAYMENT_STATUSES = "('SUCCEEDED', 'FAILED', 'REFUNDED', 'CANCELLED')";
+
+    // Oldest rows first, so each chunk walks the date index instead of sorting the old range
+    private static final String OLD_EVENTS_SQL =
+            "SELECT id FROM events WHERE event_date < ? ORDER BY event_date, id LIMIT ? FOR UPDATE";
+    private static final String OLD_ANNOUNCEMENTS_SQL =
+            "SELECT id FROM announcements WHERE created_at < ? ORDER BY created_at, id LIMIT ? FOR UPDATE";
+    private static final String OLD_PAYMENTS_SQL =
+            "SELECT id FROM payments WHERE created_at < ? AND status IN " + FINAL_PAYMENT_STATUSES
+            + " ORDER BY created_at, id LIMIT ? FOR UPDATE";
+
+    private static final String COLUMNS_SQL =
+            "SELECT COLUMN_NAME, COLUMN_TYPE FROM information_schema.COLUMNS "
+            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? ORDER BY ORDINAL_POSITION";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ArchiveProperties archiveProperties;
+
+    @Autowired
+    private LeaseLock leaseLock;
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    @Autowired
+    private ClubRepository clubRepository;
+
+    private final Map<String, ArchiveJob> jobs = new ConcurrentHashMap<>();
+
+    // Column lists of the hot tables, read once the archive tables are in place
+    private final Map<String, String> columnLists = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "archive");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Create missing archive tables and add columns the hot tables gained since (ddl-auto only updates the hot tables)
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureArchiveTables() {
+        for (Map.Entry<String, String> table : ARCHIVE_TABLES.entrySet()) {
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table.getValue() + " LIKE " + table.getKey());
+                Map<String, String> archiveColumns = columns(table.getValue());
+                columns(table.getKey()).forEach((column, type) -> {
+                    if (!archiveColumns.containsKey(column)) {
+                        jdbcTemplate.execute("ALTER TABLE " + table.getValue()
+                                + " ADD COLUMN `" + column + "` " + type + " NULL");
+                        logger.info("Archive column added table={} column={}", table.getValue(), column);
+                    }
+                });
+            } catch (Exception e) {
+                logger.error("Could not prepare archive table {}", table.getValue(), e);
+            }
+        }
+    }
+
+    // Start an archive run in the background; progress is available through getJob
+    public ArchiveJob startArchive() {
+        ArchiveJob job = register("ADMIN");
+        executor.submit(() -> run(job));
+        return job;
+    }
+
+    // Nightly run, done by whichever instance gets the lock; runs on the archive thread, not the scheduler's
+    @Scheduled(cron = "${archive.cron:0 0 4 * * *}")
+    public void scheduledArchive() {
+        if (!archiveProperties.isEnabled()) {
+            return;
+        }
+        try {
+            ArchiveJob job = register("SCHEDULE");
+            executor.submit(() -> run(job));
+        } catch (RuntimeException e) {
+            logger.info("Scheduled archive skipped: {}", e.getMessage());
+        }
+    }
+
+    // Get archive job by ID
+    public ArchiveJob getJob(String jobId) {
+        ArchiveJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Archive job not found");
+        }
+        return job;
+    }
+
+    // Get all known archive jobs, most recent first
+    public List<ArchiveJob> getJobs() {
+        List<ArchiveJob> result = new ArrayList<>(jobs.values());
+        result.sort((a, b) -> b.getStartedAt().compareTo(a.getStartedAt()));
+        return result;
+    }
+
+    // Archived event by ID, with its club for the detail view
+    public Optional<Event> findEvent(Long id) {
+        Optional<Event> event = findArchived("events_archive", id, Event.class);
+        event.ifPresent(e -> e.setClub(clubRepository.findById(e.getClubId()).orElse(null)));
+        return event;
+    }
+
+    // Archived announcement by ID
+    public Optional<Announcement> findAnnouncement(Long id) {
+        return findArchived("announcements_archive", id, Announcement.class);
+    }
+
+    // Archived payment by ID
+    public Optional<Payment> findPayment(Long id) {
+        return findArchived("payments_archive", id, Payment.class);
+    }
+
+    // Delete an archived event and its RSVPs; returns the event's club when it was archived
+    public Optional<Long> deleteEvent(Long id) {
+        return transactionTemplate.execute(status -> {
+            List<Long> clubIds = jdbcTemplate.queryForList(
+                    "SELECT club_id FROM events_archive WHERE id = ? FOR UPDATE", Long.class, id);
+            if (clubIds.isEmpty()) {
+                return Optional.<Long>empty();
+            }
+            jdbcTemplate.update("DELETE FROM event_rsvps_archive WHERE event_id = ?", id);
+            jdbcTemplate.update("DELETE FROM events_archive WHERE id = ?", id);
+            return Optional.of(clubIds.get(0));
+        });
+    }
+
+    // Delete an archived announcement; returns false when it was not archived
+    public boolean deleteAnnouncement(Long id) {
+        return jdbcTemplate.update("DELETE FROM announcements_archive WHERE id = ?", id) > 0;
+    }
+
+    // Delete a club's archived rows in chunks (club purge); returns the number of rows deleted
+    public long deleteClubArchives(Long clubId) {
+        int chunkSize = archiveProperties.getChunkSize();
+        long deleted = 0;
+        while (true) {
+            Integer rows = transactionTemplate.execute(status -> {
+                List<Long> ids = jdbcTemplate.queryForList(
+                        "SELECT id FROM events_archive WHERE club_id = ? LIMIT ? FOR UPDATE", Long.class, clubId, chunkSize);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                String in = placeholders(ids.size());
+                int rsvps = jdbcTemplate.update("DELETE FROM event_rsvps_archive WHERE event_id IN " + in, ids.toArray());
+                return rsvps + jdbcTemplate.update("DELETE FROM events_archive WHERE id IN " + in, ids.toArray());
+            });
+            deleted += rows;
+            if (rows == 0) {
+                break;
+            }
+        }
+        for (String table : List.of("announcements_archive", "payments_archive")) {
+            int rows;
+            do {
+                rows = jdbcTemplate.update("DELETE FROM " + table + " WHERE club_id = ? LIMIT ?", clubId, chunkSize);
+                deleted += rows;
+            } while (rows == chunkSize);
+        }
+        return deleted;
+    }
+
+    // Remove a deleted user's archived rows the way the hot tables' foreign keys would
+    public void deleteUserArchives(Long userId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM event_rsvps_archive WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM payments_archive WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM announcements_archive WHERE created_by = ?", userId);
+            jdbcTemplate.update("UPDATE events_archive SET created_by = NULL WHERE created_by = ?", userId);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private synchronized ArchiveJob register(String trigger) {
+        for (ArchiveJob existing : jobs.values()) {
+            if (existing.isRunning()) {
+                throw new RuntimeException("Archive already in progress");
+            }
+        }
+        evictFinishedJobs();
+
+        ArchiveJob job = new ArchiveJob(UUID.randomUUID().toString(), trigger);
+        jobs.put(job.getJobId(), job);
+        return job;
+    }
+
+    private void run(ArchiveJob job) {
+        boolean ran = leaseLock.withLockIfAvailable(ARCHIVE_LOCK, ARCHIVE_LOCK_TTL, () -> archive(job));
+        if (!ran) {
+            job.setStatus(ArchiveJob.FAILED);
+            job.setMessage("Archive already in progress on another instance");
+            job.setFinishedAt(LocalDateTime.now());
+        }
+    }
+
+    private void archive(ArchiveJob job) {
+        long start = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime eventsCutoff = now.minusDays(archiveProperties.getEventsAfterDays());
+        LocalDateTime announcementsCutoff = now.minusDays(archiveProperties.getAnnouncementsAfterDays());
+        LocalDateTime paymentsCutoff = now.minusDays(archiveProperties.getPaymentsAfterDays());
+        try {
+            job.setTotal("events", eventsCutoff, count(
+                    "SELECT COUNT(*) FROM events WHERE event_date < ?", eventsCutoff));
+            job.setTotal("event_rsvps", eventsCutoff, count(
+                    "SELECT COUNT(*) FROM event_rsvps r JOIN events e ON e.id = r.event_id WHERE e.event_date < ?",
+                    eventsCutoff));
+            job.setTotal("announcements", announcementsCutoff, count(
+                    "SELECT COUNT(*) FROM announcements WHERE created_at < ?", announcementsCutoff));
+            job.setTotal("payments", paymentsCutoff, count(
+                    "SELECT COUNT(*) FROM payments WHERE created_at < ? AND status IN " + FINAL_PAYMENT_STATUSES,
+                    paymentsCutoff));
+
+            moveInChunks(job, "events", OLD_EVENTS_SQL, eventsCutoff, ids -> {
+                String in = placeholders(ids.size());
+                job.addArchived("event_rsvps", jdbcTemplate.update("INSERT INTO event_rsvps_archive ("
+                        + columnList("event_rsvps") + ") SELECT " + columnList("event_rsvps")
+                        + " FROM event_rsvps WHERE event_id IN " + in, ids.toArray()));
+                jdbcTemplate.update("DELETE FROM event_rsvps WHERE event_id IN " + in, ids.toArray());
+                jdbcTemplate.update("DELETE FROM event_seat_stripes WHERE event_id IN " + in, ids.toArray());
+            });
+            moveInChunks(job, "announcements", OLD_ANNOUNCEMENTS_SQL, announcementsCutoff, ids -> { });
+            moveInChunks(job, "payments", OLD_PAYMENTS_SQL, paymentsCutoff, ids -> { });
+
+            job.setStatus(ArchiveJob.COMPLETED);
+            logger.info("Archive finished trigger={} archived={} durationMs={}",
+                    job.getTrigger(), job.getArchived(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            job.setStatus(ArchiveJob.FAILED);
+            job.setMessage(e.getMessage());
+            logger.error("Archive failed trigger={} archived={}", job.getTrigger(), job.getArchived(), e);
+        } finally {
+            job.setFinishedAt(LocalDateTime.now());
+        }
+    }
+
+    // Lock a chunk of old rows, copy them (and their dependents, see beforeMove) to the archive and delete them
+    private void moveInChunks(ArchiveJob job, String table, String oldIdsSql, LocalDateTime cutoff,
+            Consumer<List<Long>> beforeMove) throws InterruptedException {
+        int chunkSize = archiveProperties.getChunkSize();
+        String archiveTable = ARCHIVE_TABLES.get(table);
+        String columns = columnList(table);
+        while (true) {
+            List<Long> moved = transactionTemplate.execute(status -> {
+                List<Long> ids = jdbcTemplate.queryForList(oldIdsSql, Long.class, Timestamp.valueOf(cutoff), chunkSize);
+                if (ids.isEmpty()) {
+                    return ids;
+                }
+                beforeMove.accept(ids);
+                String in = placeholders(ids.size());
+                jdbcTemplate.update("INSERT INTO " + archiveTable + " (" + columns + ") SELECT " + columns
+                        + " FROM " + table + " WHERE id IN " + in, ids.toArray());
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE id IN " + in, ids.toArray());
+                return ids;
+            });
+            if (moved == null || moved.isEmpty()) {
+                return;
+            }
+            job.addArchived(table, moved.size());
+            if ("events".equals(table)) {
+                moved.forEach(catalogIndex::removeEvent);
+            }
+            if (moved.size() < chunkSize) {
+                return;
+            }
+            if (archiveProperties.getPauseMs() > 0) {
+                Thread.sleep(archiveProperties.getPauseMs());
+            }
+        }
+    }
+
+    private <T> Optional<T> findArchived(String archiveTable, Long id, Class<T> type) {
+        List<T> rows = jdbcTemplate.query("SELECT * FROM " + archiveTable + " WHERE id = ?",
+                new BeanPropertyRowMapper<>(type), id);
+        return rows.stream().findFirst();
+    }
+
+    private long count(String sql, LocalDateTime cutoff) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, Timestamp.valueOf(cutoff));
+        return count != null ? count : 0;
+    }
+
+    private String columnList(String table) {
+        return columnLists.computeIfAbsent(table, t -> columns(t).keySet().stream()
+                .map(column -> "`" + column + "`")
+                .collect(Collectors.joining(", ")));
+    }
+
+    private Map<String, String> columns(String table) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        jdbcTemplate.query(COLUMNS_SQL, rs -> {
+            columns.put(rs.getString(1), rs.getString(2));
+        }, table);
+        return columns;
+    }
+
+    private static String placeholders(int count) {
+        return "(" + String.join(", ", Collections.nCopies(count, "?")) + ")";
+    }
+
+    private void evictFinishedJobs() {
+        if (jobs.size() < MAX_FINISHED_JOBS) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(j -> !j.isRunning())
+                .min((a, b) -> a.getStartedAt().compareTo(b.getStartedAt()))
+                .ifPresent(j -> jobs.remove(j.getJobId()));
+    }
+}
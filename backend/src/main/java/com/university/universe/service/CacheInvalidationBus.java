@@ -0,0 +1,17 @@
+package com.university.universe.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Tells other instances of the backend that a cached entry has changed
+ * The publishing instance updates its own cache directly; subscribers are only
+ * called for invalidations published by other instances.
+ */
+public interface CacheInvalidationBus {
+
+    // Announce that the entry key of topic changed; sent after the current transaction commits
+    void publish(String topic, String key);
+
+    // Receive keys invalidated by other instances for topic
+    void subscribe(String topic, Consumer<String> listener);
+}
@@ -0,0 +1,223 @@
+package com.university.universe.service;
+
+import com.university.universe.config.ApplicationProperties;
+import com.university.universe.config.CalendarProperties;
+import com.university.universe.config.JwtProperties;
+import com.university.universe.dto.CalendarResponse;
+import com.university.universe.dto.EventView;
+import com.university.universe.model.Event;
+import com.university.universe.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Event range queries, the month/week calendar and the iCalendar feeds
+ * Feeds cover events from calendar.feed-past-days ago onwards, per club or for
+ * the clubs a user belongs to. Calendar apps poll feeds often, so a feed's
+ * ETag comes from one aggregate query (event count, latest update, latest id,
+ * sum of row versions, which every update bumps) on idx_club_date; only when it changed are the events read, with plain
+ * SQL, and written to the response row by row. Personal feeds are opened
+ * with a per-user token (HMAC of the user id) because calendar apps cannot
+ * send the JWT.
+ */
+@Service
+public class CalendarService {
+
+    // A far-future bound for open-ended ranges (still a valid DATETIME)
+    private static final LocalDateTime END_OF_TIME = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private static final String FEED_COLUMNS =
+            "SELECT e.id, e.title, e.description, e.event_date, e.location, e.updated_at FROM events e ";
+
+    private static final String CLUB_FILTER = "WHERE e.club_id = ? AND e.event_date >= ? ";
+
+    private static final String USER_FILTER =
+            "WHERE e.club_id IN (SELECT m.club_id FROM club_memberships m WHERE m.user_id = ?) AND e.event_date >= ? ";
+
+    private static final String ORDER = "ORDER BY e.event_date, e.id";
+
+    private static final String CLUB_VERSION_SQL =
+            "SELECT c.name, COUNT(e.id), MAX(e.updated_at), MAX(e.id), SUM(e.version) FROM clubs c "
+            + "LEFT JOIN events e ON e.club_id = c.id AND e.event_date >= ? WHERE c.id = ? GROUP BY c.id, c.name";
+
+    private static final String USER_VERSION_SQL =
+            "SELECT COUNT(e.id), MAX(e.updated_at), MAX(e.id), SUM(e.version) FROM events e " + USER_FILTER;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CalendarProperties calendarProperties;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private JwtProperties jwtProperties;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public record ClubFeed(String name, String etag) { }
+
+    @Autowired
+    public CalendarService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Events starting in [from, to), earliest first; either bound may be null
+    @Transactional(readOnly = true)
+    public List<Event> getEvents(LocalDateTime from, LocalDateTime to, Long clubId, Integer limit) {
+        LocalDateTime start = from != null ? from : LocalDateTime.of(1970, 1, 1, 0, 0);
+        LocalDateTime end = to != null ? to : END_OF_TIME;
+        int max = Math.min(limit != null && limit > 0 ? limit : calendarProperties.getMaxResults(),
+                calendarProperties.getMaxResults());
+        PageRequest page = PageRequest.of(0, max);
+        return clubId != null
+                ? eventRepository.findByClubIdAndEventDateRange(clubId, start, end, page)
+                : eventRepository.findByEventDateRange(start, end, page);
+    }
+
+    // Month grid (whole Monday-Sunday weeks) or single week around a date, events bucketed per day
+    @Transactional(readOnly = true)
+    public CalendarResponse getCalendar(String view, LocalDate date, Long clubId) {
+        LocalDate from;
+        LocalDate to;
+        if ("week".equals(view)) {
+            from = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            to = from.plusDays(6);
+        } else if ("month".equals(view)) {
+            from = date.withDayOfMonth(1).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            to = date.with(TemporalAdjusters.lastDayOfMonth()).with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        } else {
+            throw new IllegalArgumentException("view must be month or week");
+        }
+
+        Map<LocalDate, List<EventView>> days = new LinkedHashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            days.put(day, new ArrayList<>());
+        }
+        for (Event event : getEvents(from.atStartOfDay(), to.plusDays(1).atStartOfDay(), clubId, null)) {
+            days.get(event.getEventDate().toLocalDate()).add(EventView.summary(event));
+        }
+
+        List<CalendarResponse.Day> result = new ArrayList<>(days.size());
+        days.forEach((day, events) -> result.add(new CalendarResponse.Day(day, events)));
+        return new CalendarResponse(true, view, from, to, result);
+    }
+
+    // Name and ETag of a club's feed, or null if the club does not exist
+    public ClubFeed getClubFeed(Long clubId) {
+        LocalDateTime since = feedStart();
+        List<ClubFeed> feeds = readOnlyTransaction.execute(status -> jdbcTemplate.query(CLUB_VERSION_SQL,
+                (rs, n) -> new ClubFeed(rs.getString(1), etag("club:" + clubId + "|" + since + "|"
+                        + rs.getLong(2) + "|" + rs.getTimestamp(3) + "|" + rs.getLong(4) + "|" + rs.getLong(5))),
+                Timestamp.valueOf(since), clubId));
+        return feeds == null || feeds.isEmpty() ? null : feeds.get(0);
+    }
+
+    // ETag of a user's personal feed
+    public String userFeedTag(Long userId) {
+        LocalDateTime since = feedStart();
+        String version = readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(USER_VERSION_SQL,
+                (rs, n) -> rs.getLong(1) + "|" + rs.getTimestamp(2) + "|" + rs.getLong(3) + "|" + rs.getLong(4),
+                userId, Timestamp.valueOf(since)));
+        return etag("user:" + userId + "|" + since + "|" + version);
+    }
+
+    // Write a club's feed; the calendar is named after the club
+    public void writeClubFeed(Long clubId, String clubName, Writer writer) throws IOException {
+        writeFeed(clubName + " events", CLUB_FILTER, clubId, writer);
+    }
+
+    // Write the feed of all clubs a user belongs to
+    public void writeUserFeed(Long userId, Writer writer) throws IOException {
+        writeFeed("My UniVerse events", USER_FILTER, userId, writer);
+    }
+
+    // Token that opens a user's personal feed (stable until jwt.secret changes)
+    public String feedToken(Long userId) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] digest = mac.doFinal(("calendar-feed:" + userId).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public boolean isValidFeedToken(Long userId, String token) {
+        return token != null && MessageDigest.isEqual(feedToken(userId).getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeFeed(String name, String filter, Long id, Writer writer) throws IOException {
+        ICalendarWriter ics = new ICalendarWriter(writer, ZoneId.of(calendarProperties.getTimeZone()),
+                Duration.ofMinutes(calendarProperties.getEventDurationMinutes()));
+        String eventUrl = applicationProperties.getFrontendUrl() + "/events/";
+        ics.begin(name);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(FEED_COLUMNS + filter + ORDER,
+                    rs -> {
+                        try {
+                            Timestamp updatedAt = rs.getTimestamp(6);
+                            ics.event(rs.getLong(1), rs.getString(2), rs.getString(3),
+                                    rs.getTimestamp(4).toLocalDateTime(), rs.getString(5),
+                                    updatedAt != null ? updatedAt.toLocalDateTime() : null,
+                                    eventUrl + rs.getLong(1));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }, id, Timestamp.valueOf(feedStart())));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        ics.end();
+    }
+
+    // Start of the feed window; moves once a day so ETags stay stable within a day
+    private LocalDateTime feedStart() {
+        return LocalDate.now(ZoneId.of(calendarProperties.getTimeZone()))
+                .minusDays(calendarProperties.getFeedPastDays()).atStartOfDay();
+    }
+
+    private static String etag(String version) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(version.getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
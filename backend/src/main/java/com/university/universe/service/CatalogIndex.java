@@ -0,0 +1,405 @@
+package com.university.universe.service;
+
+import com.university.universe.config.ChatbotProperties;
+import com.university.universe.model.Club;
+import com.university.universe.model.Event;
+import com.university.universe.repository.ClubRepository;
+import com.university.universe.repository.EventRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compact in-memory index of clubs (name, fee) and upcoming events (title, date, location)
+ * used to answer chatbot questions without touching the database
+ * Built from the repositories on startup and every catalog.refresh-interval-ms,
+ * and kept current in between by ClubService / EventService calling the put/remove
+ * methods on every write. Inside a transaction the change is applied after commit,
+ * so a rolled-back write never reaches the index. Those writes are published on the CacheInvalidationBus
+ * (topic "catalog", keys club:<id> / event:<id>) and other instances reload the
+ * entry from the database. Names are matched with fuzzy token matching
+ * (prefix or small edit distance), so "photgraphy" still finds "Photography Club".
+ */
+@Service
+public class CatalogIndex {
+
+    private static final String TOPIC = "catalog";
+    private static final String CLUB_KEY = "club:";
+    private static final String EVENT_KEY = "event:";
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogIndex.class);
+
+    // Words that appear in questions and names but do not identify a club or event
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "the", "of", "for", "to", "in", "on", "at", "and", "or", "is", "are", "be",
+            "what", "when", "where", "which", "who", "how", "much", "many", "does", "do", "did",
+            "it", "its", "me", "my", "i", "you", "your", "tell", "about", "please", "there",
+            "club", "clubs", "society", "event", "events", "next", "upcoming", "cost", "costs",
+            "fee", "fees", "price", "membership", "join", "joining", "pay", "university", "uni",
+            "will", "this", "that", "week", "month", "soon", "coming", "happening", "held", "date", "time");
+
+    @Autowired
+    private ClubRepository clubRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    private ChatbotProperties chatbotProperties;
+
+    private final Map<Long, ClubEntry> clubs = new ConcurrentHashMap<>();
+    private final Map<Long, EventEntry> events = new ConcurrentHashMap<>();
+
+    // Stamps every indexed entry, so a rebuild can tell entries it saw from ones added while it ran
+    private final AtomicLong writes = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        invalidationBus.subscribe(TOPIC, this::onInvalidation);
+    }
+
+    // Full rebuild on startup and periodically, as a safety net for writes that bypass the services
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${catalog.refresh-interval-ms:600000}",
+            initialDelayString = "${catalog.refresh-interval-ms:600000}")
+    public void rebuild() {
+        try {
+            // Entries indexed after this point (e.g. by putClub during the reload) are newer than the reload
+            long started = writes.get();
+            Set<Long> clubIds = new HashSet<>();
+            for (Club club : clubRepository.findAll()) {
+                indexClub(club, started);
+                clubIds.add(club.getId());
+            }
+            clubs.values().removeIf(club -> club.stamp <= started && !clubIds.contains(club.id));
+
+            Set<Long> eventIds = new HashSet<>();
+            for (Event event : eventRepository.findByEventDateAfter(LocalDateTime.now())) {
+                indexEvent(event, started);
+                eventIds.add(event.getId());
+            }
+            events.values().removeIf(event -> event.stamp <= started && !eventIds.contains(event.id));
+
+            logger.info("Catalog index rebuilt clubs={} upcomingEvents={}", clubs.size(), events.size());
+        } catch (Exception e) {
+            logger.error("Catalog index rebuild failed, keeping previous entries: {}", e.getMessage());
+        }
+    }
+
+    // Add or replace a club
+    public void putClub(Club club) {
+        if (club == null || club.getId() == null) {
+            return;
+        }
+        afterCommit(() -> indexClub(club));
+        invalidationBus.publish(TOPIC, CLUB_KEY + club.getId());
+    }
+
+    // Remove a club and its events
+    public void removeClub(Long clubId) {
+        afterCommit(() -> dropClub(clubId));
+        invalidationBus.publish(TOPIC, CLUB_KEY + clubId);
+    }
+
+    // Add or replace an event; past events are dropped
+    public void putEvent(Event event) {
+        if (event == null || event.getId() == null) {
+            return;
+        }
+        afterCommit(() -> indexEvent(event));
+        invalidationBus.publish(TOPIC, EVENT_KEY + event.getId());
+    }
+
+    // Remove an event
+    public void removeEvent(Long eventId) {
+        afterCommit(() -> events.remove(eventId));
+        invalidationBus.publish(TOPIC, EVENT_KEY + eventId);
+    }
+
+    // Run a local index change once the caller's transaction commits (now if there is none);
+    // the bus defers its own publish the same way
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    // Another instance changed a club or event: reload it, or drop it if it is gone
+    private void onInvalidation(String key) {
+        try {
+            if (key.startsWith(CLUB_KEY)) {
+                Long clubId = Long.valueOf(key.substring(CLUB_KEY.length()));
+                clubRepository.findById(clubId).ifPresentOrElse(this::indexClub, () -> dropClub(clubId));
+            } else if (key.startsWith(EVENT_KEY)) {
+                Long eventId = Long.valueOf(key.substring(EVENT_KEY.length()));
+                eventRepository.findById(eventId).ifPresentOrElse(this::indexEvent, () -> events.remove(eventId));
+            }
+        } catch (Exception e) {
+            logger.error("Catalog index reload failed key={}: {}", key, e.getMessage());
+        }
+    }
+
+    private void indexClub(Club club) {
+        indexClub(club, Long.MAX_VALUE);
+    }
+
+    // Index a club unless its entry was indexed after the given stamp (a rebuild's data is older than that)
+    private void indexClub(Club club, long since) {
+        List<String> tokens = keyTokens(club.getName());
+        clubs.compute(club.getId(), (id, current) -> current != null && current.stamp > since ? current
+                : new ClubEntry(id, club.getName(), club.getMembershipFee(), tokens, writes.incrementAndGet()));
+    }
+
+    private void dropClub(Long clubId) {
+        clubs.remove(clubId);
+        events.values().removeIf(e -> clubId.equals(e.clubId));
+    }
+
+    private void indexEvent(Event event) {
+        indexEvent(event, Long.MAX_VALUE);
+    }
+
+    // Index an event unless its entry was indexed after the given stamp; past events are dropped
+    private void indexEvent(Event event, long since) {
+        boolean past = event.getEventDate() == null || event.getEventDate().isBefore(LocalDateTime.now());
+        List<String> tokens = past ? null : keyTokens(event.getTitle());
+        events.compute(event.getId(), (id, current) -> {
+            if (current != null && current.stamp > since) {
+                return current;
+            }
+            return past ? null : new EventEntry(id, event.getTitle(), event.getClubId(), event.getEventDate(),
+                    event.getLocation(), tokens, writes.incrementAndGet());
+        });
+    }
+
+    // Best matching club for the words in a message, or null
+    public ClubEntry findClub(String message) {
+        List<String> query = keyTokens(message);
+        ClubEntry best = null;
+        double bestScore = 0;
+        for (ClubEntry club : clubs.values()) {
+            double score = matchScore(query, club.tokens);
+            if (score > bestScore) {
+                best = club;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    // Next upcoming event matching the words in a message (by title or club name),
+    // or the next event overall when the message names nothing specific
+    public EventEntry findNextEvent(String message) {
+        List<String> query = keyTokens(message);
+        LocalDateTime now = LocalDateTime.now();
+        EventEntry best = null;
+        double bestScore = 0;
+        for (EventEntry event : events.values()) {
+            if (event.eventDate.isBefore(now)) {
+                continue;
+            }
+            double score;
+            if (query.isEmpty()) {
+                score = 1;
+            } else {
+                ClubEntry club = event.clubId != null ? clubs.get(event.clubId) : null;
+                score = Math.max(matchScore(query, event.tokens),
+                        club != null ? matchScore(query, club.tokens) : 0);
+            }
+            if (score <= 0) {
+                continue;
+            }
+            if (best == null || score > bestScore
+                    || (score == bestScore && event.eventDate.isBefore(best.eventDate))) {
+                best = event;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    // Club name for an event, or null
+    public String clubName(Long clubId) {
+        ClubEntry club = clubId != null ? clubs.get(clubId) : null;
+        return club != null ? club.name : null;
+    }
+
+    public int getClubCount() {
+        return clubs.size();
+    }
+
+    public int getEventCount() {
+        return events.size();
+    }
+
+    // Fraction of the entry's key tokens matched by some query token (0 if none)
+    private static double matchScore(List<String> query, List<String> entryTokens) {
+        if (query.isEmpty() || entryTokens.isEmpty()) {
+            return 0;
+        }
+        int matched = 0;
+        for (String token : entryTokens) {
+            for (String q : query) {
+                if (fuzzyEquals(q, token)) {
+                    matched++;
+                    break;
+                }
+            }
+        }
+        return (double) matched / entryTokens.size();
+    }
+
+    static boolean fuzzyEquals(String query, String token) {
+        if (query.equals(token)) {
+            return true;
+        }
+        if (query.length() >= 4 && token.startsWith(query)) {
+            return true;
+        }
+        int maxEdits = query.length() >= 8 ? 2 : query.length() >= 4 ? 1 : 0;
+        if (maxEdits == 0 || Math.abs(query.length() - token.length()) > maxEdits) {
+            return false;
+        }
+        return editDistance(query, token, maxEdits) <= maxEdits;
+    }
+
+    // Levenshtein distance with early exit once every cell in a row exceeds the limit
+    private static int editDistance(String a, String b, int limit) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private List<String> keyTokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : IntentMatcher.tokenize(text, chatbotProperties.getMaxMessageLength())) {
+            if (!STOP_WORDS.contains(token) && !tokens.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Indexed club
+     */
+    public static final class ClubEntry {
+        private final Long id;
+        private final String name;
+        private final BigDecimal membershipFee;
+        private final List<String> tokens;
+        private final long stamp;
+
+        ClubEntry(Long id, String name, BigDecimal membershipFee, List<String> tokens, long stamp) {
+            this.id = id;
+            this.name = name;
+            this.membershipFee = membershipFee;
+            this.tokens = tokens;
+            this.stamp = stamp;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public BigDecimal getMembershipFee() {
+            return membershipFee;
+        }
+    }
+
+    /**
+     * Indexed upcoming event
+     */
+    public static final class EventEntry {
+        private final Long id;
+        private final String title;
+        private final Long clubId;
+        private final LocalDateTime eventDate;
+        private final String location;
+        private final List<String> tokens;
+        private final long stamp;
+
+        EventEntry(Long id, String title, Long clubId, LocalDateTime eventDate, String location,
+                List<String> tokens, long stamp) {
+            this.id = id;
+            this.title = title;
+            this.clubId = clubId;
+            this.eventDate = eventDate;
+            this.location = location;
+            this.tokens = tokens;
+            this.stamp = stamp;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public Long getClubId() {
+            return clubId;
+        }
+
+        public LocalDateTime getEventDate() {
+            return eventDate;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.university.universe.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.universe.config.ChatbotProperties;
+import com.university.universe.dto.ChatbotIntents;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Chatbot replies based on keyword intents
+ * Intents and responses come from chatbot.intents-location (JSON, see
+ * ChatbotIntents). The file is checked every chatbot.reload-interval-ms and
+ * recompiled when it changes; an invalid file is logged and the previous
+ * intents stay active. Intents with a lookup (club_fee, next_event) answer
+ * with real club fees and event dates from CatalogIndex when the message
+ * names a club or event.
+ */
+@Service
+public class ChatbotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatbotService.class);
+
+    private static final String FALLBACK_INTENT = "fallback";
+    private static final String LOOKUP_CLUB_FEE = "club_fee";
+    private static final String LOOKUP_NEXT_EVENT = "next_event";
+    private static final DateTimeFormatter EVENT_DATE_FORMAT =
+            DateTimeFormatter.ofPattern("EEEE, d MMMM yyyy 'at' h:mm a", Locale.ENGLISH);
+
+    @Autowired
+    private ChatbotProperties chatbotProperties;
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private volatile IntentMatcher matcher;
+    private volatile long loadedLastModified = -1;
+
+    @PostConstruct
+    public void init() {
+        try {
+            reload();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load chatbot intents from "
+                    + chatbotProperties.getIntentsLocation(), e);
+        }
+    }
+
+    // Reply to a chat message; intents with a lookup answer from the catalog index (no database access)
+    public String reply(String message) {
+        IntentMatcher.Result result = matcher.classify(message);
+        String intent = result.getIntent() != null ? result.getIntent() : FALLBACK_INTENT;
+        meterRegistry.counter("chatbot.intents", "intent", intent).increment();
+
+        String answer = null;
+        if (LOOKUP_CLUB_FEE.equals(result.getLookup())) {
+            answer = answerClubFee(message);
+        } else if (LOOKUP_NEXT_EVENT.equals(result.getLookup())) {
+            answer = answerNextEvent(message);
+        }
+        return answer != null ? answer : result.getResponse();
+    }
+
+    private String answerClubFee(String message) {
+        CatalogIndex.ClubEntry club = catalogIndex.findClub(message);
+        if (club == null) {
+            return null;
+        }
+        BigDecimal fee = club.getMembershipFee();
+        if (fee == null || fee.signum() == 0) {
+            return club.getName() + " is free to join. You can join from the club's page on our Clubs page.";
+        }
+        return "Membership in " + club.getName() + " costs LKR " + String.format("%,.2f", fee)
+                + ". You can pay and join from the club's page on our Clubs page.";
+    }
+
+    private String answerNextEvent(String message) {
+        CatalogIndex.EventEntry event = catalogIndex.findNextEvent(message);
+        if (event == null) {
+            return null;
+        }
+        StringBuilder answer = new StringBuilder("The next one is ").append(event.getTitle());
+        String clubName = catalogIndex.clubName(event.getClubId());
+        if (clubName != null) {
+            answer.append(" by ").append(clubName);
+        }
+        answer.append(", on ").append(event.getEventDate().format(EVENT_DATE_FORMAT));
+        if (event.getLocation() != null && !event.getLocation().isBlank()) {
+            answer.append(" at ").append(event.getLocation());
+        }
+        return answer.append(". See our Events page for details.").toString();
+    }
+
+    // Load and compile the intent configuration
+    public synchronized int reload() throws IOException {
+        Resource resource = resourceLoader.getResource(chatbotProperties.getIntentsLocation());
+        long lastModified = lastModified(resource);
+        ChatbotIntents config;
+        try (InputStream in = resource.getInputStream()) {
+            config = objectMapper.readValue(in, ChatbotIntents.class);
+        }
+        matcher = IntentMatcher.compile(config, chatbotProperties.getMaxMessageLength());
+        loadedLastModified = lastModified;
+        logger.info("Chatbot intents loaded intents={} location={}",
+                matcher.getIntentCount(), chatbotProperties.getIntentsLocation());
+        return matcher.getIntentCount();
+    }
+
+    // Hot reload: recompile when the intents file has changed on disk
+    @Scheduled(fixedDelayString = "${chatbot.reload-interval-ms:10000}",
+            initialDelayString = "${chatbot.reload-interval-ms:10000}")
+    public void reloadIfChanged() {
+        Resource resource = resourceLoader.getResource(chatbotProperties.getIntentsLocation());
+        long lastModified = lastModified(resource);
+        if (lastModified <= 0 || lastModified == loadedLastModified) {
+            return;
+        }
+        try {
+            reload();
+        } catch (Exception e) {
+            loadedLastModified = lastModified;
+            logger.error("Chatbot intents reload failed, keeping previous intents: {}", e.getMessage());
+        }
+    }
+
+    // Run the accuracy corpus (chatbot.corpus-location) against the active intents
+    public Map<String, Object> evaluateCorpus() throws IOException {
+        Resource resource = resourceLoader.getResource(chatbotProperties.getCorpusLocation());
+        IntentMatcher current = matcher;
+        int total = 0;
+        int correct = 0;
+        List<Map<String, String>> misses = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\t", 2);
+                if (parts.length != 2) {
+                    continue;
+                }
+                String actual = current.classify(parts[1]).getIntent();
+                if (actual == null) {
+                    actual = FALLBACK_INTENT;
+                }
+                total++;
+                if (actual.equals(parts[0])) {
+                    correct++;
+                } else {
+                    Map<String, String> miss = new HashMap<>();
+                    miss.put("message", parts[1]);
+                    miss.put("expected", parts[0]);
+                    miss.put("actual", actual);
+                    misses.add(miss);
+                }
+            }
+        }
+
+        Map<String, Object> report = new HashMap<>();
+        report.put("total", total);
+        report.put("correct", correct);
+        report.put("accuracy", total == 0 ? 0.0 : (double) correct / total);
+        report.put("misses", misses);
+        return report;
+    }
+
+    private long lastModified(Resource resource) {
+        try {
+            return resource.isFile() ? resource.lastModified() : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.university.universe.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Minimal circuit breaker for calls to an external service
+ * After failureThreshold consecutive failures the circuit opens and calls are
+ * rejected without being sent for openMillis. Then one trial call is let
+ * through (half-open): success closes the circuit, failure opens it again.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+
+    public CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    // Whether a call may be sent now; when it returns true, report the outcome with recordSuccess/recordFailure
+    public boolean allowRequest() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && System.currentTimeMillis() - openedAt.get() >= openMillis) {
+            // Exactly one caller wins the trial call
+            return state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+        return false;
+    }
+
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        state.set(State.CLOSED);
+    }
+
+    public void recordFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (state.get() == State.HALF_OPEN || failures >= failureThreshold) {
+            openedAt.set(System.currentTimeMillis());
+            state.set(State.OPEN);
+        }
+    }
+
+    // The call was not a failure of the service (e.g. a rejected card): release a half-open trial
+    public void recordIgnored() {
+        state.compareAndSet(State.HALF_OPEN, State.CLOSED);
+    }
+
+    // Seconds until a trial call will be let through, 0 unless open
+    public long getRetryAfterSeconds() {
+        if (state.get() != State.OPEN) {
+            return 0;
+        }
+        long remaining = openMillis - (System.currentTimeMillis() - openedAt.get());
+        return Math.max(1, (remaining + 999) / 1000);
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,218 @@
+package com.university.universe.service;
+
+import com.university.universe.dto.ClubPurgeJob;
+import com.university.universe.repository.AnnouncementRepository;
+import com.university.universe.repository.ClubMembershipRepository;
+import com.university.universe.repository.ClubRepository;
+import com.university.universe.repository.EventRepository;
+import com.university.universe.repository.PaymentRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+
+/**
+ * Deletes a club together with its announcements, events, memberships and payments
+ * Dependent rows are removed in chunks of club.purge.chunk-size ids, each chunk in
+ * its own short transaction (one DELETE ... WHERE id IN (...)), with a short pause
+ * between chunks so other writers are not starved. The club row itself goes last,
+ * when the ON DELETE CASCADE foreign keys have nothing left to do. A purge holds the
+ * club-purge:<clubId> LeaseLock, so two instances never purge the same club at once;
+ * job progress itself is kept by the instance that runs the job.
+ */
+@Service
+public class ClubDeletionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClubDeletionService.class);
+
+    private static final int MAX_FINISHED_JOBS = 50;
+    private static final Duration PURGE_LOCK_TTL = Duration.ofMinutes(30);
+
+    @Autowired
+    private ClubRepository clubRepository;
+
+    @Autowired
+    private AnnouncementRepository announcementRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ClubMembershipRepository membershipRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    @Autowired
+    private ClubStatsService clubStatsService;
+
+    @Autowired
+    private LeaseLock leaseLock;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Value("${club.purge.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${club.purge.pause-ms:20}")
+    private long pauseMillis;
+
+    private final Map<String, ClubPurgeJob> jobs = new ConcurrentHashMap<>();
+
+    // One purge at a time keeps the delete load on the database bounded
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "club-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Delete a club and its dependent rows, blocking until done
+    public ClubPurgeJob purgeClub(Long clubId) {
+        ClubPurgeJob job = register(clubId);
+        run(job);
+        if (ClubPurgeJob.FAILED.equals(job.getStatus())) {
+            throw new RuntimeException("Club deletion failed: " + job.getMessage());
+        }
+        return job;
+    }
+
+    // Start deleting a club in the background; progress is available through getJob
+    public ClubPurgeJob startPurge(Long clubId) {
+        ClubPurgeJob job = register(clubId);
+        executor.submit(() -> run(job));
+        return job;
+    }
+
+    // Get purge job by ID
+    public ClubPurgeJob getJob(String jobId) {
+        ClubPurgeJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Purge job not found");
+        }
+        return job;
+    }
+
+    // Get all known purge jobs, most recent first
+    public List<ClubPurgeJob> getJobs() {
+        List<ClubPurgeJob> result = new ArrayList<>(jobs.values());
+        result.sort((a, b) -> b.getStartedAt().compareTo(a.getStartedAt()));
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private synchronized ClubPurgeJob register(Long clubId) {
+        if (!clubRepository.existsById(clubId)) {
+            throw new RuntimeException("Club not found");
+        }
+        for (ClubPurgeJob existing : jobs.values()) {
+            if (existing.isRunning() && existing.getClubId().equals(clubId)) {
+                throw new RuntimeException("Club deletion already in progress");
+            }
+        }
+        evictFinishedJobs();
+
+        ClubPurgeJob job = new ClubPurgeJob(UUID.randomUUID().toString(), clubId);
+        jobs.put(job.getJobId(), job);
+        return job;
+    }
+
+    private void run(ClubPurgeJob job) {
+        boolean ran = leaseLock.withLockIfAvailable("club-purge:" + job.getClubId(), PURGE_LOCK_TTL, () -> purge(job));
+        if (!ran) {
+            job.setStatus(ClubPurgeJob.FAILED);
+            job.setMessage("Club deletion already in progress on another instance");
+            job.setFinishedAt(LocalDateTime.now());
+        }
+    }
+
+    private void purge(ClubPurgeJob job) {
+        Long clubId = job.getClubId();
+        long start = System.currentTimeMillis();
+        try {
+            job.setTotal("announcements", announcementRepository.countByClubId(clubId));
+            job.setTotal("events", eventRepository.countByClubId(clubId));
+            job.setTotal("club_memberships", membershipRepository.countByClubId(clubId));
+            job.setTotal("payments", paymentRepository.countByClubId(clubId));
+
+            deleteInChunks(job, "announcements", announcementRepository::findIdsByClubId, announcementRepository);
+            deleteInChunks(job, "events", eventRepository::findIdsByClubId, eventRepository);
+            deleteInChunks(job, "club_memberships", membershipRepository::findIdsByClubId, membershipRepository);
+            deleteInChunks(job, "payments", paymentRepository::findIdsByClubId, paymentRepository);
+            long archived = archiveService.deleteClubArchives(clubId);
+            long notifications = notificationService.deleteClubNotifications(clubId, chunkSize);
+
+            clubRepository.deleteById(clubId);
+            clubStatsService.remove(clubId);
+            catalogIndex.removeClub(clubId);
+
+            job.setStatus(ClubPurgeJob.COMPLETED);
+            logger.info("Club purged clubId={} deleted={} archivedDeleted={} notificationsDeleted={} durationMs={}",
+                    clubId, job.getDeleted(), archived, notifications, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            job.setStatus(ClubPurgeJob.FAILED);
+            job.setMessage(e.getMessage());
+            logger.error("Club purge failed clubId={} deleted={}", clubId, job.getDeleted(), e);
+        } finally {
+            job.setFinishedAt(LocalDateTime.now());
+        }
+    }
+
+    private <T> void deleteInChunks(ClubPurgeJob job, String table,
+            BiFunction<Long, Pageable, List<Long>> nextIds, JpaRepository<T, Long> repository)
+            throws InterruptedException {
+        Pageable chunk = PageRequest.of(0, chunkSize);
+        List<Long> ids = nextIds.apply(job.getClubId(), chunk);
+        while (!ids.isEmpty()) {
+            // deleteAllByIdInBatch runs in its own transaction, so row locks are held for one chunk only
+            repository.deleteAllByIdInBatch(ids);
+            job.addDeleted(table, ids.size());
+            if (ids.size() < chunkSize) {
+                break;
+            }
+            if (pauseMillis > 0) {
+                Thread.sleep(pauseMillis);
+            }
+            ids = nextIds.apply(job.getClubId(), chunk);
+        }
+    }
+
+    private void evictFinishedJobs() {
+        if (jobs.size() < MAX_FINISHED_JOBS) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(j -> !j.isRunning())
+                .min((a, b) -> a.getStartedAt().compareTo(b.getStartedAt()))
+                .ifPresent(j -> jobs.remove(j.getJobId()));
+    }
+}
@@ -1,30 +1,63 @@
 package com.university.universe.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.university.universe.model.Club;
 import com.university.universe.repository.ClubRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 @SuppressWarnings("null")
 public class ClubService {
 
+    // Fields a merge patch may change
+    private static final Map<String, MergePatch.Field> PATCHABLE = Map.of(
+            "name", new MergePatch.Field(String.class, false),
+            "description", new MergePatch.Field(String.class, true),
+            "logoUrl", new MergePatch.Field(String.class, true),
+            "adminId", new MergePatch.Field(Long.class, true),
+            "membershipFee", new MergePatch.Field(BigDecimal.class, true));
+
     @Autowired
     private ClubRepository clubRepository;
 
+    @Autowired
+    private ClubDeletionService clubDeletionService;
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     // Create a new club
     public Club createClub(Club club) {
-        return clubRepository.save(club);
+        // New rows start at version 0 whatever the body says (a version would make save() merge instead of insert)
+        club.setVersion(null);
+        Club savedClub = clubRepository.save(club);
+        catalogIndex.putClub(savedClub);
+        return savedClub;
     }
 
     // Get all clubs
+    @Transactional(readOnly = true)
     public List<Club> getAllClubs() {
         return clubRepository.findAll();
     }
 
     // Get club by ID
+    @Transactional(readOnly = true)
     public Club getClubById(Long id) {
         Optional<Club> club = clubRepository.findById(id);
         if (!club.isPresent()) {
@@ -33,32 +66,66 @@ public class ClubService {
         return club.get();
     }
 
+    // Get club by ID from the primary (after a version conflict the replica may lag behind)
+    @Transactional
+    public Club getLatestClub(Long id) {
+        return clubRepository.findById(id).orElseThrow(() -> new RuntimeException("Club not found"));
+    }
+
     // Get clubs by admin ID
+    @Transactional(readOnly = true)
     public List<Club> getClubsByAdminId(Long adminId) {
         return clubRepository.findByAdminId(adminId);
     }
 
     // Search clubs by name
+    @Transactional(readOnly = true)
     public List<Club> searchClubsByName(String name) {
         return clubRepository.findByNameContainingIgnoreCase(name);
     }
 
-    // Update club
-    public Club updateClub(Long id, Club updatedClub) {
-        Club existingClub = getClubById(id);
+    // Update club; expectedVersion (null: no check) is the version the client last read
+    @Transactional
+    public Club updateClub(Long id, Club updatedClub, Long expectedVersion) {
+        // Read on the primary (not through the read-only getClubById), so the version is current
+        Club existingClub = clubRepository.findById(id).orElseThrow(() -> new RuntimeException("Club not found"));
+        VersionCheck.require("Club", expectedVersion, existingClub.getVersion());
 
         existingClub.setName(updatedClub.getName());
         existingClub.setDescription(updatedClub.getDescription());
         existingClub.setLogoUrl(updatedClub.getLogoUrl());
         existingClub.setAdminId(updatedClub.getAdminId());
         existingClub.setMembershipFee(updatedClub.getMembershipFee());
+        existingClub.setUpdatedAt(LocalDateTime.now());
 
-        return clubRepository.save(existingClub);
+        Club savedClub = clubRepository.saveAndFlush(existingClub);
+        catalogIndex.putClub(savedClub);
+        return savedClub;
     }
 
-    // Delete club
+    /**
+     * Apply a JSON Merge Patch with one UPDATE of just the patched columns
+     * The club is not loaded to apply it; it is read back (on the primary) only
+     * when the caller wants the result or the catalog index needs its new name
+     * or fee. Returns null when it was not read back.
+     */
+    @Transactional
+    public Club patchClub(Long id, Map<String, Object> patch, Long expectedVersion, boolean returnUpdated) {
+        MergePatch changes = MergePatch.of("Club", patch, PATCHABLE, objectMapper)
+                .set("updatedAt", LocalDateTime.now());
+        if (!changes.apply(entityManager, Club.class, id, true, expectedVersion)) {
+            changes.requireUpdated(entityManager, Club.class, id);
+        }
+        if (!returnUpdated && !changes.has("name") && !changes.has("membershipFee")) {
+            return null;
+        }
+        Club savedClub = clubRepository.findById(id).orElseThrow(() -> new RuntimeException("Club not found"));
+        catalogIndex.putClub(savedClub);
+        return savedClub;
+    }
+    
+    // Delete club (dependent rows are removed in chunks, see ClubDeletionService)
     public void deleteClub(Long id) {
-        Long idToDelete = id;
-        clubRepository.deleteById(idToDelete);
+        clubDeletionService.purgeClub(id);
     }
 }
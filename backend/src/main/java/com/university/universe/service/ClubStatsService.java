@@ -0,0 +1,228 @@
+package com.university.universe.service;
+
+import com.university.universe.model.ClubStats;
+import com.university.universe.repository.ClubRepository;
+import com.university.universe.repository.ClubStatsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maintains the club_stats counters incrementally
+ * Joins, leaves, event creation/deletion and payment status changes each apply
+ * a one-row UPDATE with the delta, in the caller's transaction when there is
+ * one. The first change for a club without a row counts its rows once
+ * instead. A counter update that fails fails the caller's transaction with
+ * it, so a change is never committed without its counters. The nightly
+ * repair recounts every club (one club per short transaction) and reports
+ * the clubs whose counters had drifted.
+ */
+@Service
+public class ClubStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClubStatsService.class);
+
+    private static final String SUCCEEDED = "SUCCEEDED";
+    private static final String REFUNDED = "REFUNDED";
+
+    private static final String REPAIR_LOCK = "club-stats-repair";
+    private static final Duration REPAIR_LOCK_TTL = Duration.ofHours(1);
+
+    private static final String ADJUST_SQL =
+            "UPDATE club_stats SET "
+            + "member_count = GREATEST(member_count + ?, 0), "
+            + "event_count = GREATEST(event_count + ?, 0), "
+            + "paid_count = GREATEST(paid_count + ?, 0), "
+            + "revenue = revenue + ?, "
+            + "refunded_count = GREATEST(refunded_count + ?, 0), "
+            + "refunded_amount = refunded_amount + ?, "
+            + "updated_at = NOW(6) "
+            + "WHERE club_id = ?";
+
+    // One statement, so increments committed while it runs are not overwritten by an older count.
+    // Archived events and payments still count (ArchiveService only moves them).
+    private static final String RECOUNT_SQL =
+            "INSERT INTO club_stats (club_id, member_count, event_count, paid_count, revenue, "
+            + "refunded_count, refunded_amount, updated_at, repaired_at) "
+            + "SELECT c.id, "
+            + "(SELECT COUNT(*) FROM club_memberships m WHERE m.club_id = c.id), "
+            + "(SELECT COUNT(*) FROM events e WHERE e.club_id = c.id) "
+            + "+ (SELECT COUNT(*) FROM events_archive e WHERE e.club_id = c.id), "
+            + "(SELECT COUNT(*) FROM payments p WHERE p.club_id = c.id AND p.status = 'SUCCEEDED') "
+            + "+ (SELECT COUNT(*) FROM payments_archive p WHERE p.club_id = c.id AND p.status = 'SUCCEEDED'), "
+            + "(SELECT COALESCE(SUM(p.amount), 0) FROM payments p WHERE p.club_id = c.id AND p.status = 'SUCCEEDED') "
+            + "+ (SELECT COALESCE(SUM(p.amount), 0) FROM payments_archive p WHERE p.club_id = c.id AND p.status = 'SUCCEEDED'), "
+            + "(SELECT COUNT(*) FROM payments p WHERE p.club_id = c.id AND p.status = 'REFUNDED') "
+            + "+ (SELECT COUNT(*) FROM payments_archive p WHERE p.club_id = c.id AND p.status = 'REFUNDED'), "
+            + "(SELECT COALESCE(SUM(p.amount), 0) FROM payments p WHERE p.club_id = c.id AND p.status = 'REFUNDED') "
+            + "+ (SELECT COALESCE(SUM(p.amount), 0) FROM payments_archive p WHERE p.club_id = c.id AND p.status = 'REFUNDED'), "
+            + "NOW(6), NOW(6) "
+            + "FROM clubs c WHERE c.id = ? "
+            + "ON DUPLICATE KEY UPDATE "
+            + "member_count = VALUES(member_count), event_count = VALUES(event_count), "
+            + "paid_count = VALUES(paid_count), revenue = VALUES(revenue), "
+            + "refunded_count = VALUES(refunded_count), refunded_amount = VALUES(refunded_amount), "
+            + "updated_at = VALUES(updated_at), repaired_at = VALUES(repaired_at)";
+
+    private static final String COUNTERS_SQL =
+            "SELECT member_count, event_count, paid_count, revenue, refunded_count, refunded_amount "
+            + "FROM club_stats WHERE club_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ClubStatsRepository clubStatsRepository;
+
+    @Autowired
+    private ClubRepository clubRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LeaseLock leaseLock;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Get the counters of one club (a primary key lookup; counted once if the club has no row yet)
+    public ClubStats getStats(Long clubId) {
+        Optional<ClubStats> stats = clubStatsRepository.findById(clubId);
+        if (stats.isPresent()) {
+            return stats.get();
+        }
+        if (!clubRepository.existsById(clubId)) {
+            throw new RuntimeException("Club not found");
+        }
+        jdbcTemplate.update(RECOUNT_SQL, clubId);
+        return clubStatsRepository.findById(clubId)
+                .orElseThrow(() -> new RuntimeException("Club not found"));
+    }
+
+    // Get the counters of every club that has a row
+    @Transactional(readOnly = true)
+    public List<ClubStats> getAllStats() {
+        return clubStatsRepository.findAll();
+    }
+
+    public void memberJoined(Long clubId) {
+        adjust(clubId, 1, 0, 0, BigDecimal.ZERO, 0, BigDecimal.ZERO);
+    }
+
+    public void memberLeft(Long clubId) {
+        adjust(clubId, -1, 0, 0, BigDecimal.ZERO, 0, BigDecimal.ZERO);
+    }
+
+    public void eventCreated(Long clubId) {
+        adjust(clubId, 0, 1, 0, BigDecimal.ZERO, 0, BigDecimal.ZERO);
+    }
+
+    public void eventsCreated(Long clubId, int count) {
+        adjust(clubId, 0, count, 0, BigDecimal.ZERO, 0, BigDecimal.ZERO);
+    }
+
+    public void eventDeleted(Long clubId) {
+        adjust(clubId, 0, -1, 0, BigDecimal.ZERO, 0, BigDecimal.ZERO);
+    }
+
+    // Move revenue counters for a payment going from previousStatus to newStatus (no-op when neither side counts)
+    public void paymentStatusChanged(Long clubId, BigDecimal amount, String previousStatus, String newStatus) {
+        int paid = (SUCCEEDED.equals(newStatus) ? 1 : 0) - (SUCCEEDED.equals(previousStatus) ? 1 : 0);
+        int refunded = (REFUNDED.equals(newStatus) ? 1 : 0) - (REFUNDED.equals(previousStatus) ? 1 : 0);
+        if (paid == 0 && refunded == 0) {
+            return;
+        }
+        BigDecimal value = amount != null ? amount : BigDecimal.ZERO;
+        adjust(clubId, 0, 0, paid, value.multiply(BigDecimal.valueOf(paid)),
+                refunded, value.multiply(BigDecimal.valueOf(refunded)));
+    }
+
+    // Drop the counters of a deleted club
+    public void remove(Long clubId) {
+        jdbcTemplate.update("DELETE FROM club_stats WHERE club_id = ?", clubId);
+    }
+
+    // Recount every club now; fails if a repair is already running on any instance
+    public Map<String, Object> repair() {
+        Map<String, Object> result = new HashMap<>();
+        boolean ran = leaseLock.withLockIfAvailable(REPAIR_LOCK, REPAIR_LOCK_TTL, () -> result.putAll(repairAll()));
+        if (!ran) {
+            throw new RuntimeException("Club stats repair already in progress");
+        }
+        return result;
+    }
+
+    // Nightly repair, run by whichever instance gets the lock
+    @Scheduled(cron = "${club-stats.repair-cron:0 30 3 * * *}")
+    public void nightlyRepair() {
+        leaseLock.withLockIfAvailable(REPAIR_LOCK, REPAIR_LOCK_TTL, () -> repairAll());
+    }
+
+    private Map<String, Object> repairAll() {
+        long start = System.currentTimeMillis();
+        List<Long> clubIds = jdbcTemplate.queryForList("SELECT id FROM clubs ORDER BY id", Long.class);
+        int drifted = 0;
+        for (Long clubId : clubIds) {
+            boolean changed = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                List<Map<String, Object>> before = jdbcTemplate.queryForList(COUNTERS_SQL, clubId);
+                jdbcTemplate.update(RECOUNT_SQL, clubId);
+                List<Map<String, Object>> after = jdbcTemplate.queryForList(COUNTERS_SQL, clubId);
+                if (!before.isEmpty() && !before.equals(after)) {
+                    logger.warn("Club stats drift repaired clubId={} before={} after={}",
+                            clubId, before.get(0), after.get(0));
+                    return true;
+                }
+                return false;
+            }));
+            if (changed) {
+                drifted++;
+            }
+        }
+        int removed = jdbcTemplate.update("DELETE FROM club_stats WHERE club_id NOT IN (SELECT id FROM clubs)");
+        meterRegistry.counter("club.stats.drift").increment(drifted);
+
+        long durationMs = System.currentTimeMillis() - start;
+        logger.info("Club stats repaired clubs={} drifted={} removed={} durationMs={}",
+                clubIds.size(), drifted, removed, durationMs);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("clubs", clubIds.size());
+        result.put("drifted", drifted);
+        result.put("removed", removed);
+        result.put("durationMs", durationMs);
+        return result;
+    }
+
+    private void adjust(Long clubId, int members, int events, int paid, BigDecimal revenue,
+            int refunded, BigDecimal refundedAmount) {
+        int updated = jdbcTemplate.update(ADJUST_SQL, members, events, paid, revenue,
+                refunded, refundedAmount, clubId);
+        if (updated == 0) {
+            // No row yet: count the club's rows (including this change) instead of starting from zero
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                entityManager.flush();
+            }
+            jdbcTemplate.update(RECOUNT_SQL, clubId);
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.university.universe.service;
+
+import com.university.universe.config.RsvpProperties;
+import com.university.universe.dto.EventAttendance;
+import com.university.universe.dto.RsvpView;
+import com.university.universe.model.EventRsvp;
+import com.university.universe.repository.EventRsvpRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * RSVPs with per-event capacity and a waitlist
+ * An event's free seats are split over rsvp.seat-stripes rows of
+ * event_seat_stripes. An RSVP takes one seat with a conditional UPDATE
+ * (remaining > 0) on a random non-empty stripe and inserts its row in the same
+ * short transaction, so a popular event spreads its RSVPs over several row
+ * locks instead of serializing on one counter. When no stripe has a seat the
+ * RSVP is WAITLISTED. A cancelled seat goes straight to the first waitlisted
+ * RSVP, or back to its stripe when nobody is waiting.
+ *
+ * Every transaction locks stripe rows before RSVP rows, so RSVPs, cancellations
+ * and capacity changes on the same event cannot deadlock each other. Waitlist
+ * promotion uses SKIP LOCKED (MySQL 8) to pass over RSVPs another
+ * cancellation is promoting.
+ */
+@Service
+public class EventRsvpService {
+
+    private static final String EVENT_SQL = "SELECT capacity, event_date FROM events WHERE id = ?";
+
+    private static final String FREE_STRIPES_SQL =
+            "SELECT stripe FROM event_seat_stripes WHERE event_id = ? AND remaining > 0";
+
+    private static final String TAKE_SEAT_SQL =
+            "UPDATE event_seat_stripes SET remaining = remaining - 1 WHERE event_id = ? AND stripe = ? AND remaining > 0";
+
+    private static final String RELEASE_SEAT_SQL =
+            "UPDATE event_seat_stripes SET remaining = remaining + 1 WHERE event_id = ? AND stripe = ?";
+
+    private static final String LOCK_STRIPE_SQL =
+            "SELECT remaining FROM event_seat_stripes WHERE event_id = ? AND stripe = ? FOR UPDATE";
+
+    private static final String OVERBOOKED_STRIPE_SQL =
+            "SELECT stripe FROM event_seat_stripes WHERE event_id = ? AND remaining < 0 LIMIT 1";
+
+    private static final String LOCK_STRIPES_SQL =
+            "SELECT stripe FROM event_seat_stripes WHERE event_id = ? FOR UPDATE";
+
+    private static final String UPSERT_STRIPE_SQL =
+            "INSERT INTO event_seat_stripes (event_id, stripe, remaining) VALUES (?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE remaining = VALUES(remaining)";
+
+    private static final String INSERT_RSVP_SQL =
+            "INSERT INTO event_rsvps (event_id, user_id, status, stripe, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, NOW(6), NOW(6))";
+
+    private static final String RSVP_SQL = "SELECT id, status, stripe FROM event_rsvps WHERE event_id = ? AND user_id = ?";
+
+    private static final String NEXT_WAITLISTED_SQL =
+            "SELECT id FROM event_rsvps WHERE event_id = ? AND status = 'WAITLISTED' "
+            + "ORDER BY created_at, id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String PROMOTE_SQL =
+            "UPDATE event_rsvps SET status = 'GOING', stripe = ?, updated_at = NOW(6) WHERE id = ?";
+
+    private static final String WAITLIST_POSITION_SQL =
+            "SELECT COUNT(*) FROM event_rsvps w, event_rsvps r WHERE r.id = ? AND w.event_id = r.event_id "
+            + "AND w.status = 'WAITLISTED' AND (w.created_at < r.created_at OR (w.created_at = r.created_at AND w.id <= r.id))";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EventRsvpRepository rsvpRepository;
+
+    @Autowired
+    private RsvpProperties rsvpProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * RSVP to an event: GOING when a seat is free, WAITLISTED otherwise
+     * Repeating an RSVP returns the existing one.
+     */
+    public RsvpView rsvp(Long eventId, Long userId) {
+        EventRow event = findEvent(eventId);
+        if (event.eventDate().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Event has already started");
+        }
+        if (rsvpRepository.findByEventIdAndUserId(eventId, userId).isPresent()) {
+            return currentRsvp(eventId, userId);
+        }
+
+        String status;
+        try {
+            status = transactionTemplate.execute(tx -> {
+                Integer stripe = event.capacity() != null ? takeSeat(eventId) : null;
+                String result = event.capacity() == null || stripe != null ? EventRsvp.GOING : EventRsvp.WAITLISTED;
+                jdbcTemplate.update(INSERT_RSVP_SQL, eventId, userId, result, stripe);
+                return result;
+            });
+        } catch (DuplicateKeyException e) {
+            // The same user RSVPed concurrently; the seat taken here was rolled back
+            return currentRsvp(eventId, userId);
+        }
+
+        if (EventRsvp.WAITLISTED.equals(status)) {
+            // A seat may have been released while this RSVP was being queued
+            promoteNext(eventId);
+        }
+        meterRegistry.counter("event.rsvps", "status", status.toLowerCase(Locale.ROOT)).increment();
+        return currentRsvp(eventId, userId);
+    }
+
+    /**
+     * Cancel an RSVP; a GOING RSVP's seat goes to the first waitlisted RSVP
+     */
+    public void cancel(Long eventId, Long userId) {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            Boolean cancelled = transactionTemplate.execute(tx -> cancelOnce(eventId, userId));
+            if (Boolean.TRUE.equals(cancelled)) {
+                return;
+            }
+        }
+        throw new RuntimeException("RSVP is being updated, please try again");
+    }
+
+    // The RSVP changed between reading it and locking it (promoted): returns false to retry
+    private boolean cancelOnce(Long eventId, Long userId) {
+        RsvpRow rsvp = findRsvp(RSVP_SQL, eventId, userId);
+        if (rsvp == null) {
+            throw new RuntimeException("RSVP not found");
+        }
+
+        Integer seat = null;
+        boolean overbooked = false;
+        if (EventRsvp.GOING.equals(rsvp.status()) && findEvent(eventId).capacity() != null) {
+            // After a capacity cut some stripes are negative: the seat pays that back instead of going to the waitlist
+            List<Integer> owing = jdbcTemplate.queryForList(OVERBOOKED_STRIPE_SQL, Integer.class, eventId);
+            int stripe = !owing.isEmpty() ? owing.get(0) : rsvp.stripe() != null ? rsvp.stripe() : 0;
+            List<Integer> remaining = jdbcTemplate.queryForList(LOCK_STRIPE_SQL, Integer.class, eventId, stripe);
+            if (!remaining.isEmpty()) {
+                seat = stripe;
+                overbooked = remaining.get(0) < 0;
+            }
+        }
+        RsvpRow locked = findRsvp(RSVP_SQL + " FOR UPDATE", eventId, userId);
+        if (locked == null) {
+            throw new RuntimeException("RSVP not found");
+        }
+        if (!locked.equals(rsvp)) {
+            return false;
+        }
+
+        if (seat != null) {
+            List<Long> next = overbooked ? List.of()
+                    : jdbcTemplate.queryForList(NEXT_WAITLISTED_SQL, Long.class, eventId, 1);
+            if (next.isEmpty()) {
+                jdbcTemplate.update(RELEASE_SEAT_SQL, eventId, seat);
+            } else {
+                jdbcTemplate.update(PROMOTE_SQL, seat, next.get(0));
+            }
+        }
+        jdbcTemplate.update("DELETE FROM event_rsvps WHERE id = ?", rsvp.id());
+        return true;
+    }
+
+    // Get a user's RSVP to an event
+    @Transactional(readOnly = true)
+    public RsvpView getRsvp(Long eventId, Long userId) {
+        EventRsvp rsvp = rsvpRepository.findByEventIdAndUserId(eventId, userId)
+                .orElseThrow(() -> new RuntimeException("RSVP not found"));
+        return RsvpView.of(rsvp, waitlistPosition(rsvp));
+    }
+
+    // Get a user's RSVPs with their events
+    @Transactional(readOnly = true)
+    public List<RsvpView> getUserRsvps(Long userId) {
+        List<RsvpView> views = new ArrayList<>();
+        for (EventRsvp rsvp : rsvpRepository.findByUserIdWithEvent(userId)) {
+            views.add(RsvpView.withEvent(rsvp, waitlistPosition(rsvp)));
+        }
+        return views;
+    }
+
+    // Capacity, GOING and WAITLISTED counts and free seats of an event
+    @Transactional(readOnly = true)
+    public EventAttendance getAttendance(Long eventId) {
+        EventRow event = findEvent(eventId);
+        long going = 0;
+        long waitlisted = 0;
+        for (Map<String, Object> row : jdbcTemplate.queryForList(
+                "SELECT status, COUNT(*) AS n FROM event_rsvps WHERE event_id = ? GROUP BY status", eventId)) {
+            long count = ((Number) row.get("n")).longValue();
+            if (EventRsvp.GOING.equals(row.get("status"))) {
+                going = count;
+            } else {
+                waitlisted = count;
+            }
+        }
+        Integer seatsLeft = event.capacity() == null ? null : jdbcTemplate.queryForObject(
+                "SELECT GREATEST(COALESCE(SUM(remaining), 0), 0) FROM event_seat_stripes WHERE event_id = ?",
+                Integer.class, eventId);
+        return new EventAttendance(eventId, event.capacity(), going, waitlisted, seatsLeft);
+    }
+
+    /**
+     * Spread an event's free seats over its stripes after its capacity was set or changed
+     * Runs in the caller's transaction. Waitlisted RSVPs are promoted into new
+     * seats first. Lowering the capacity below the GOING count keeps existing
+     * RSVPs and makes the stripes negative; cancelled seats then pay that back
+     * before anyone is promoted. A null capacity removes the stripes and
+     * promotes the whole waitlist.
+     */
+    public void capacityChanged(Long eventId, Integer capacity) {
+        jdbcTemplate.queryForList(LOCK_STRIPES_SQL, Integer.class, eventId);
+        if (capacity == null) {
+            jdbcTemplate.update("DELETE FROM event_seat_stripes WHERE event_id = ?", eventId);
+            jdbcTemplate.update("UPDATE event_rsvps SET status = 'GOING', stripe = NULL, updated_at = NOW(6) "
+                    + "WHERE event_id = ? AND status = 'WAITLISTED'", eventId);
+            return;
+        }
+
+        int stripes = Math.max(1, rsvpProperties.getSeatStripes());
+        // Current read: sees RSVPs committed while this transaction waited for the stripe locks
+        long going = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_rsvps "
+                + "WHERE event_id = ? AND status = 'GOING' LOCK IN SHARE MODE", Long.class, eventId);
+        // Negative when the capacity was cut below the GOING count
+        int free = (int) (capacity - going);
+
+        if (free > 0) {
+            List<Long> promoted = jdbcTemplate.queryForList(NEXT_WAITLISTED_SQL, Long.class, eventId, free);
+            List<Object[]> updates = new ArrayList<>(promoted.size());
+            for (int i = 0; i < promoted.size(); i++) {
+                updates.add(new Object[] { i % stripes, promoted.get(i) });
+            }
+            jdbcTemplate.batchUpdate(PROMOTE_SQL, updates);
+            free -= promoted.size();
+        }
+
+        List<Object[]> rows = new ArrayList<>(stripes);
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            int remaining = Math.floorDiv(free, stripes) + (stripe < Math.floorMod(free, stripes) ? 1 : 0);
+            rows.add(new Object[] { eventId, stripe, remaining });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_STRIPE_SQL, rows);
+        // Stripes left over from a larger rsvp.seat-stripes setting
+        jdbcTemplate.update("UPDATE event_seat_stripes SET remaining = 0 WHERE event_id = ? AND stripe >= ?",
+                eventId, stripes);
+    }
+
+    // Remove an event's RSVPs and seats (runs in the caller's transaction)
+    public void eventDeleted(Long eventId) {
+        jdbcTemplate.update("DELETE FROM event_seat_stripes WHERE event_id = ?", eventId);
+        jdbcTemplate.update("DELETE FROM event_rsvps WHERE event_id = ?", eventId);
+    }
+
+    // Move the first waitlisted RSVP into a free seat, if there is both
+    private boolean promoteNext(Long eventId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(tx -> {
+            Integer stripe = takeSeat(eventId);
+            if (stripe == null) {
+                return false;
+            }
+            List<Long> next = jdbcTemplate.queryForList(NEXT_WAITLISTED_SQL, Long.class, eventId, 1);
+            if (next.isEmpty()) {
+                jdbcTemplate.update(RELEASE_SEAT_SQL, eventId, stripe);
+                return false;
+            }
+            jdbcTemplate.update(PROMOTE_SQL, stripe, next.get(0));
+            return true;
+        }));
+    }
+
+    // Take a seat from a random non-empty stripe; null when the event is full
+    private Integer takeSeat(Long eventId) {
+        List<Integer> free = jdbcTemplate.queryForList(FREE_STRIPES_SQL, Integer.class, eventId);
+        int start = free.isEmpty() ? 0 : ThreadLocalRandom.current().nextInt(free.size());
+        for (int i = 0; i < free.size(); i++) {
+            int stripe = free.get((start + i) % free.size());
+            // Another RSVP may have emptied the stripe since it was read: try the next one
+            if (jdbcTemplate.update(TAKE_SEAT_SQL, eventId, stripe) == 1) {
+                return stripe;
+            }
+        }
+        return null;
+    }
+
+    // Read back an RSVP just written, from the primary (a read-write transaction is never routed to the replica)
+    private RsvpView currentRsvp(Long eventId, Long userId) {
+        return transactionTemplate.execute(tx -> {
+            EventRsvp rsvp = rsvpRepository.findByEventIdAndUserId(eventId, userId)
+                    .orElseThrow(() -> new RuntimeException("RSVP not found"));
+            return RsvpView.of(rsvp, waitlistPosition(rsvp));
+        });
+    }
+
+    private Long waitlistPosition(EventRsvp rsvp) {
+        if (!EventRsvp.WAITLISTED.equals(rsvp.getStatus())) {
+            return null;
+        }
+        return jdbcTemplate.queryForObject(WAITLIST_POSITION_SQL, Long.class, rsvp.getId());
+    }
+
+    private EventRow findEvent(Long eventId) {
+        List<EventRow> events = jdbcTemplate.query(EVENT_SQL, (rs, n) -> new EventRow(
+                rs.getObject(1, Integer.class), rs.getTimestamp(2).toLocalDateTime()), eventId);
+        if (events.isEmpty()) {
+            throw new RuntimeException("Event not found");
+        }
+        return events.get(0);
+    }
+
+    private RsvpRow findRsvp(String sql, Long eventId, Long userId) {
+        List<RsvpRow> rows = jdbcTemplate.query(sql, (rs, n) -> new RsvpRow(rs.getLong(1), rs.getString(2),
+                rs.getObject(3, Integer.class)), eventId, userId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private record EventRow(Integer capacity, LocalDateTime eventDate) {
+    }
+
+    private record RsvpRow(long id, String status, Integer stripe) {
+    }
+}
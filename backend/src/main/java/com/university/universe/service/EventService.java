@@ -1,62 +1,315 @@
 package com.university.universe.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.universe.dto.BulkItemResult;
+import com.university.universe.dto.DomainEvent;
 import com.university.universe.model.Event;
 import com.university.universe.repository.EventRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class EventService {
+
+    // Fields a merge patch may change
+    private static final Map<String, MergePatch.Field> PATCHABLE = Map.of(
+            "title", new MergePatch.Field(String.class, false),
+            "description", new MergePatch.Field(String.class, true),
+            "eventDate", new MergePatch.Field(LocalDateTime.class, false),
+            "location", new MergePatch.Field(String.class, true),
+            "photoUrl", new MergePatch.Field(String.class, true),
+            "capacity", new MergePatch.Field(Integer.class, true));
     
     @Autowired
     private EventRepository eventRepository;
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    @Autowired
+    private ClubStatsService clubStatsService;
+
+    @Autowired
+    private EventRsvpService rsvpService;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Value("${bulk.max-items:100}")
+    private int bulkMaxItems;
+
+    @PersistenceContext
+    private EntityManager entityManager;
     
     // Create a new event
+    @Transactional
     public Event createEvent(Event event) {
-        return eventRepository.save(event);
+        validateCapacity(event.getCapacity());
+        event.setVersion(null);
+        Event savedEvent = eventRepository.save(event);
+        if (savedEvent.getCapacity() != null) {
+            rsvpService.capacityChanged(savedEvent.getId(), savedEvent.getCapacity());
+        }
+        clubStatsService.eventCreated(savedEvent.getClubId());
+        catalogIndex.putEvent(savedEvent);
+        outboxService.append(changed(DomainEvent.EVENT_CREATED, savedEvent));
+        return savedEvent;
+    }
+    
+    /**
+     * Create many events with one multi-row INSERT
+     * Each event is checked first (title, date, capacity, an existing club);
+     * the valid ones are inserted together and the rest reported, one result
+     * per event in request order. The generated ids come back with the insert.
+     * At most bulk.max-items events per call.
+     */
+    @Transactional
+    public List<BulkItemResult> createEvents(List<Event> events) {
+        if (events == null || events.isEmpty()) {
+            throw new RuntimeException("No events given");
+        }
+        if (events.size() > bulkMaxItems) {
+            throw new RuntimeException("At most " + bulkMaxItems + " items per batch");
+        }
+        Set<Long> clubIds = new HashSet<>();
+        for (Event event : events) {
+            if (event != null && event.getClubId() != null) {
+                clubIds.add(event.getClubId());
+            }
+        }
+        Set<Long> existingClubIds = clubIds.isEmpty() ? Set.of()
+                : new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM clubs WHERE id IN ("
+                        + String.join(", ", Collections.nCopies(clubIds.size(), "?")) + ")", Long.class,
+                        clubIds.toArray()));
+
+        BulkItemResult[] results = new BulkItemResult[events.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            String problem = validate(events.get(i), existingClubIds);
+            if (problem != null) {
+                results[i] = BulkItemResult.failed(i, null, "INVALID", problem);
+            } else {
+                valid.add(i);
+            }
+        }
+        if (valid.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        List<Object> args = new ArrayList<>();
+        for (int i : valid) {
+            Event event = events.get(i);
+            args.addAll(Arrays.asList(event.getTitle(), event.getDescription(), event.getEventDate(),
+                    event.getLocation(), event.getPhotoUrl(), event.getCapacity(), event.getClubId(),
+                    event.getCreatedBy()));
+        }
+        String sql = "INSERT INTO events (title, description, event_date, location, photo_url, capacity, club_id, "
+                + "created_by, created_at, updated_at, version) VALUES "
+                + String.join(", ", Collections.nCopies(valid.size(), "(?, ?, ?, ?, ?, ?, ?, ?, NOW(), NOW(), 0)"));
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            for (int p = 0; p < args.size(); p++) {
+                statement.setObject(p + 1, args.get(p));
+            }
+            return statement;
+        }, keys);
+
+        Map<Long, Integer> createdPerClub = new HashMap<>();
+        List<DomainEvent> created = new ArrayList<>(valid.size());
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int k = 0; k < valid.size(); k++) {
+            int i = valid.get(k);
+            Event event = events.get(i);
+            event.setId(((Number) generated.get(k).values().iterator().next()).longValue());
+            event.setVersion(0L);
+            if (event.getCapacity() != null) {
+                rsvpService.capacityChanged(event.getId(), event.getCapacity());
+            }
+            createdPerClub.merge(event.getClubId(), 1, Integer::sum);
+            catalogIndex.putEvent(event);
+            created.add(changed(DomainEvent.EVENT_CREATED, event));
+            results[i] = BulkItemResult.ok(i, event.getId(), "CREATED");
+        }
+        createdPerClub.forEach(clubStatsService::eventsCreated);
+        outboxService.appendAll(created);
+        return Arrays.asList(results);
     }
     
     // Get all events
+    @Transactional(readOnly = true)
     public List<Event> getAllEvents() {
         return eventRepository.findAll();
     }
     
-    // Get event by ID
+    // Get event by ID, falling back to archived events
+    @Transactional(readOnly = true)
     public Event getEventById(Long id) {
-        Optional<Event> event = eventRepository.findById(id);
+        Optional<Event> event = eventRepository.findById(id).or(() -> archiveService.findEvent(id));
         if (!event.isPresent()) {
             throw new RuntimeException("Event not found");
         }
         return event.get();
     }
     
+    // Get event by ID from the primary (after a version conflict the replica may lag behind)
+    @Transactional
+    public Event getLatestEvent(Long id) {
+        return eventRepository.findById(id).orElseThrow(() -> new RuntimeException("Event not found"));
+    }
+    
     // Get events by club ID
+    @Transactional(readOnly = true)
     public List<Event> getEventsByClubId(Long clubId) {
         return eventRepository.findByClubId(clubId);
     }
     
     // Get events by creator
+    @Transactional(readOnly = true)
     public List<Event> getEventsByCreator(Long createdBy) {
         return eventRepository.findByCreatedBy(createdBy);
     }
     
-    // Update event
-    public Event updateEvent(Long id, Event updatedEvent) {
-        Event existingEvent = getEventById(id);
+    // Update event; expectedVersion (null: no check) is the version the client last read
+    @Transactional
+    public Event updateEvent(Long id, Event updatedEvent, Long expectedVersion) {
+        validateCapacity(updatedEvent.getCapacity());
+        // Archived events are read-only
+        Event existingEvent = eventRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+        VersionCheck.require("Event", expectedVersion, existingEvent.getVersion());
+        boolean capacityChanged = !Objects.equals(existingEvent.getCapacity(), updatedEvent.getCapacity());
         
         existingEvent.setTitle(updatedEvent.getTitle());
         existingEvent.setDescription(updatedEvent.getDescription());
         existingEvent.setEventDate(updatedEvent.getEventDate());
         existingEvent.setLocation(updatedEvent.getLocation());
         existingEvent.setPhotoUrl(updatedEvent.getPhotoUrl());
+        existingEvent.setCapacity(updatedEvent.getCapacity());
+        existingEvent.setUpdatedAt(LocalDateTime.now());
         
-        return eventRepository.save(existingEvent);
+        Event savedEvent = eventRepository.saveAndFlush(existingEvent);
+        if (capacityChanged) {
+            rsvpService.capacityChanged(id, savedEvent.getCapacity());
+        }
+        catalogIndex.putEvent(savedEvent);
+        outboxService.append(changed(DomainEvent.EVENT_UPDATED, savedEvent));
+        return savedEvent;
+    }
+
+    /**
+     * Apply a JSON Merge Patch with one UPDATE of just the patched columns
+     * Archived events are read-only (the hot row is missing, so "Event not
+     * found"). The event is read back only when the caller wants the result or
+     * the catalog index needs its new title, date or location. Returns null when
+     * it was not read back.
+     */
+    @Transactional
+    public Event patchEvent(Long id, Map<String, Object> patch, Long expectedVersion, boolean returnUpdated) {
+        MergePatch changes = MergePatch.of("Event", patch, PATCHABLE, objectMapper)
+                .set("updatedAt", LocalDateTime.now());
+        validateCapacity((Integer) changes.get("capacity"));
+        if (!changes.apply(entityManager, Event.class, id, true, expectedVersion)) {
+            changes.requireUpdated(entityManager, Event.class, id);
+        }
+        if (changes.has("capacity")) {
+            rsvpService.capacityChanged(id, (Integer) changes.get("capacity"));
+        }
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("fields", changes.fields());
+        if (changes.has("title")) {
+            payload.put("title", changes.get("title"));
+        }
+        if (changes.has("eventDate")) {
+            payload.put("eventDate", changes.get("eventDate").toString());
+        }
+        outboxService.append(DomainEvent.of(DomainEvent.EVENT, id, DomainEvent.EVENT_UPDATED, payload));
+        if (!returnUpdated && !changes.has("title") && !changes.has("eventDate") && !changes.has("location")) {
+            return null;
+        }
+        Event savedEvent = eventRepository.findById(id).orElseThrow(() -> new RuntimeException("Event not found"));
+        catalogIndex.putEvent(savedEvent);
+        return savedEvent;
     }
     
-    // Delete event
+    // Delete event (hot or archived)
+    @Transactional
     public void deleteEvent(Long id) {
-        eventRepository.deleteById(id);
+        eventRepository.findById(id).ifPresentOrElse(event -> {
+            rsvpService.eventDeleted(id);
+            eventRepository.delete(event);
+            clubStatsService.eventDeleted(event.getClubId());
+            outboxService.append(changed(DomainEvent.EVENT_DELETED, event));
+        }, () -> archiveService.deleteEvent(id).ifPresent(clubId -> {
+            clubStatsService.eventDeleted(clubId);
+            outboxService.append(DomainEvent.of(DomainEvent.EVENT, id, DomainEvent.EVENT_DELETED,
+                    Map.of("clubId", clubId)));
+        }));
+        catalogIndex.removeEvent(id);
+    }
+
+    // Outbox event for a change of an event: its club, creator, title and date
+    private static DomainEvent changed(String type, Event event) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("clubId", event.getClubId());
+        payload.put("createdBy", event.getCreatedBy());
+        payload.put("title", event.getTitle());
+        payload.put("eventDate", event.getEventDate() != null ? event.getEventDate().toString() : null);
+        return DomainEvent.of(DomainEvent.EVENT, event.getId(), type, payload);
+    }
+
+    // Why a batch event cannot be created, or null
+    private static String validate(Event event, Set<Long> existingClubIds) {
+        if (event == null) {
+            return "Missing event";
+        }
+        if (event.getTitle() == null || event.getTitle().isBlank()) {
+            return "Title is required";
+        }
+        if (event.getEventDate() == null) {
+            return "Event date is required";
+        }
+        if (event.getCapacity() != null && event.getCapacity() < 1) {
+            return "Capacity must be at least 1";
+        }
+        if (event.getClubId() == null || !existingClubIds.contains(event.getClubId())) {
+            return "Club not found";
+        }
+        return null;
+    }
+
+    private void validateCapacity(Integer capacity) {
+        if (capacity != null && capacity < 1) {
+            throw new RuntimeException("Capacity must be at least 1");
+        }
     }
 }
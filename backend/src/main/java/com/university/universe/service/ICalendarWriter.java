@@ -0,0 +1,108 @@
+package com.university.universe.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes an iCalendar (RFC 5545) feed straight to a Writer, one event at a time
+ * Event times are local to the configured zone and written in UTC, so no
+ * VTIMEZONE block is needed. Text is escaped and lines are folded at 75
+ * octets as the RFC requires.
+ */
+public final class ICalendarWriter {
+
+    private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final Writer out;
+    private final ZoneId zone;
+    private final Duration eventDuration;
+
+    public ICalendarWriter(Writer out, ZoneId zone, Duration eventDuration) {
+        this.out = out;
+        this.zone = zone;
+        this.eventDuration = eventDuration;
+    }
+
+    public void begin(String calendarName) throws IOException {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//UniVerse//Club Events//EN");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        text("X-WR-CALNAME", calendarName);
+    }
+
+    public void event(long id, String title, String description, LocalDateTime start, String location,
+            LocalDateTime updatedAt, String url) throws IOException {
+        line("BEGIN:VEVENT");
+        line("UID:event-" + id + "@universe");
+        line("DTSTAMP:" + utc(updatedAt != null ? updatedAt : start));
+        line("DTSTART:" + utc(start));
+        line("DTEND:" + utc(start.plus(eventDuration)));
+        text("SUMMARY", title);
+        if (location != null && !location.isBlank()) {
+            text("LOCATION", location);
+        }
+        if (description != null && !description.isBlank()) {
+            text("DESCRIPTION", description);
+        }
+        if (url != null) {
+            line("URL:" + url);
+        }
+        line("END:VEVENT");
+    }
+
+    public void end() throws IOException {
+        line("END:VCALENDAR");
+        out.flush();
+    }
+
+    private String utc(LocalDateTime dateTime) {
+        return dateTime.atZone(zone).withZoneSameInstant(ZoneOffset.UTC).format(UTC_FORMAT);
+    }
+
+    private void text(String name, String value) throws IOException {
+        line(name + ":" + escape(value == null ? "" : value));
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case ';' -> escaped.append("\\;");
+                case ',' -> escaped.append("\\,");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> { }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    // Write a content line, folding it with CRLF + space before it exceeds 75 octets
+    private void line(String content) throws IOException {
+        int octets = 0;
+        int i = 0;
+        while (i < content.length()) {
+            int codePoint = content.codePointAt(i);
+            int length = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + length > MAX_LINE_OCTETS) {
+                out.write("\r\n ");
+                octets = 1;
+            }
+            int chars = Character.charCount(codePoint);
+            out.write(content, i, chars);
+            octets += length;
+            i += chars;
+        }
+        out.write("\r\n");
+    }
+}
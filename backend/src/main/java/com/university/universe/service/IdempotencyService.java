@@ -0,0 +1,354 @@
+package com.university.universe.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.universe.config.StripeProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs a request at most once per Idempotency-Key
+ * The first request with a key claims it in the idempotency_keys table and runs;
+ * its response is stored as JSON for idempotency.ttl-minutes. Repeats of a
+ * completed key get the stored response. A repeat that arrives while the first
+ * is still running waits for it: on the same instance it joins the running call,
+ * on another instance it polls the row (up to idempotency.wait-ms). Failures are
+ * not stored, so a retry with the same key runs again. Reusing a key for a
+ * different request is rejected.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final long POLL_INTERVAL_MS = 100;
+    private static final int SWEEP_BATCH = 1000;
+
+    private static final String CLAIM_SQL =
+            "INSERT IGNORE INTO idempotency_keys (id_key, request_hash, claim_token, status, created_at, expires_at) "
+            + "VALUES (?, ?, ?, 'IN_PROGRESS', NOW(6), DATE_ADD(NOW(6), INTERVAL ? SECOND))";
+
+    private static final String FIND_SQL =
+            "SELECT request_hash, status, response_body, expires_at < NOW(6) AS expired "
+            + "FROM idempotency_keys WHERE id_key = ?";
+
+    private static final String COMPLETE_SQL =
+            "UPDATE idempotency_keys SET status = 'COMPLETED', response_body = ?, "
+            + "expires_at = DATE_ADD(NOW(6), INTERVAL ? SECOND) "
+            + "WHERE id_key = ? AND claim_token = ? AND status = 'IN_PROGRESS'";
+
+    private static final String RELEASE_SQL =
+            "DELETE FROM idempotency_keys WHERE id_key = ? AND claim_token = ? AND status = 'IN_PROGRESS'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LeaseLock leaseLock;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private StripeProperties stripeProperties;
+
+    @Value("${idempotency.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    @Value("${idempotency.wait-ms:10000}")
+    private long waitMillis;
+
+    // How long a claimed key may stay IN_PROGRESS before it counts as abandoned (crashed instance);
+    // raised on startup to outlast the slowest possible Stripe call, see claimTimeoutSeconds
+    @Value("${idempotency.in-progress-timeout-seconds:0}")
+    private long inProgressTimeoutSeconds;
+
+    // Calls running on this instance, so concurrent repeats join them instead of polling the table
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        long derived = claimTimeoutSeconds(stripeProperties);
+        if (inProgressTimeoutSeconds < derived) {
+            if (inProgressTimeoutSeconds > 0) {
+                logger.warn("idempotency.in-progress-timeout-seconds={} is shorter than the slowest Stripe call, "
+                        + "using {}", inProgressTimeoutSeconds, derived);
+            }
+            inProgressTimeoutSeconds = derived;
+        }
+    }
+
+    /**
+     * Shortest safe claim timeout: every Stripe attempt waiting for a connection permit,
+     * connecting and reading for the full timeouts, the SDK's longest backoff between
+     * attempts, and half as much again for the database work around the call. A claim
+     * that expires sooner could be taken over while the first request is still running.
+     */
+    static long claimTimeoutSeconds(StripeProperties stripe) {
+        long attempts = stripe.getMaxNetworkRetries() + 1L;
+        long attemptMillis = 2L * stripe.getConnectTimeoutMs() + stripe.getReadTimeoutMs();
+        long callMillis = attempts * attemptMillis
+                + stripe.getMaxNetworkRetries() * com.stripe.net.HttpClient.maxNetworkRetriesDelay.toMillis();
+        return TimeUnit.MILLISECONDS.toSeconds(callMillis * 3 / 2) + 1;
+    }
+
+    /**
+     * Run call once for key; repeats with the same key and request hash get the first result
+     *
+     * @param key         Scoped idempotency key (e.g. checkout:<userId>:<header value>)
+     * @param requestHash Fingerprint of the request body, see fingerprint
+     * @param type        Response type, used to read a stored response back
+     * @param call        The work to run on first use of the key
+     */
+    public <T, E extends Exception> T execute(String key, String requestHash, Class<T> type,
+            IdempotentCall<T, E> call) throws E {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        while (true) {
+            CompletableFuture<Object> mine = new CompletableFuture<>();
+            InFlight claim = new InFlight(requestHash, mine);
+            InFlight running = inFlight.putIfAbsent(key, claim);
+            if (running != null) {
+                checkSameRequest(running.requestHash, requestHash);
+                T result = await(running.future, type, deadline);
+                if (result != null) {
+                    count("coalesced");
+                    return result;
+                }
+                // The first call failed; try ourselves
+                continue;
+            }
+
+            try {
+                T result = claimAndRun(key, requestHash, type, call, deadline);
+                mine.complete(result);
+                return result;
+            } catch (Exception e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                if (!mine.isDone()) {
+                    mine.completeExceptionally(new IllegalStateException("Request did not complete"));
+                }
+                inFlight.remove(key, claim);
+            }
+        }
+    }
+
+    /**
+     * Validate an Idempotency-Key header value; returns null when the header is absent
+     */
+    public String normalizeKey(String headerValue) {
+        if (headerValue == null || headerValue.isBlank()) {
+            return null;
+        }
+        String key = headerValue.trim();
+        if (key.length() > MAX_KEY_LENGTH || !key.chars().allMatch(c -> c > 32 && c < 127)) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most " + MAX_KEY_LENGTH
+                    + " printable characters");
+        }
+        return key;
+    }
+
+    /**
+     * SHA-256 over the request fields that must match for a key to be reused
+     */
+    public static String fingerprint(Object... parts) {
+        StringBuilder text = new StringBuilder();
+        for (Object part : parts) {
+            text.append(part).append('\u001f');
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Background sweeper: delete expired keys in small batches, one instance at a time
+    @Scheduled(fixedDelayString = "${idempotency.sweep-interval-ms:300000}",
+            initialDelayString = "${idempotency.sweep-interval-ms:300000}")
+    public void sweepExpired() {
+        leaseLock.withLockIfAvailable("idempotency-sweep", Duration.ofMinutes(5), () -> {
+            int total = 0;
+            int deleted;
+            do {
+                deleted = jdbcTemplate.update(
+                        "DELETE FROM idempotency_keys WHERE expires_at < NOW(6) LIMIT " + SWEEP_BATCH);
+                total += deleted;
+            } while (deleted == SWEEP_BATCH);
+            if (total > 0) {
+                logger.info("Idempotency keys swept rows={}", total);
+            }
+        });
+    }
+
+    private <T, E extends Exception> T claimAndRun(String key, String requestHash, Class<T> type,
+            IdempotentCall<T, E> call, long deadline) throws E {
+        String token = UUID.randomUUID().toString();
+        while (true) {
+            if (jdbcTemplate.update(CLAIM_SQL, key, requestHash, token, inProgressTimeoutSeconds) == 1) {
+                return run(key, token, type, call);
+            }
+
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(FIND_SQL, key);
+            if (rows.isEmpty()) {
+                continue; // released or swept in between, claim again
+            }
+            Map<String, Object> row = rows.get(0);
+            if (isTrue(row.get("expired"))) {
+                // Completed response past its TTL, or a claim abandoned by a crashed instance
+                jdbcTemplate.update("DELETE FROM idempotency_keys WHERE id_key = ? AND expires_at < NOW(6)", key);
+                continue;
+            }
+            checkSameRequest((String) row.get("request_hash"), requestHash);
+            if ("COMPLETED".equals(row.get("status"))) {
+                count("replayed");
+                return read((String) row.get("response_body"), type);
+            }
+
+            // Running on another instance
+            if (System.nanoTime() - deadline >= 0) {
+                throw new IdempotencyConflictException(false);
+            }
+            sleep(POLL_INTERVAL_MS);
+        }
+    }
+
+    private <T, E extends Exception> T run(String key, String token, Class<T> type,
+            IdempotentCall<T, E> call) throws E {
+        T result;
+        try {
+            result = call.call();
+        } catch (Exception e) {
+            release(key, token);
+            throw e;
+        }
+        try {
+            int stored = jdbcTemplate.update(COMPLETE_SQL, objectMapper.writeValueAsString(result),
+                    TimeUnit.MINUTES.toSeconds(ttlMinutes), key, token);
+            if (stored == 0) {
+                // The claim expired and was taken over (or swept); leave the row to whoever holds it now
+                logger.warn("Idempotency claim lost before completion key={}", key);
+                count("claim-lost");
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            // The work is done; only replays are lost
+            logger.error("Idempotent response could not be stored key={}: {}", key, e.getMessage());
+            release(key, token);
+        }
+        count("executed");
+        return result;
+    }
+
+    private <T> T await(CompletableFuture<Object> future, Class<T> type, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        try {
+            return type.cast(future.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS));
+        } catch (ExecutionException e) {
+            return null;
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException(false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the original request");
+        }
+    }
+
+    // Give up our claim; a claim taken over by another request is left alone
+    private void release(String key, String token) {
+        try {
+            jdbcTemplate.update(RELEASE_SQL, key, token);
+        } catch (Exception e) {
+            // The claim expires after idempotency.in-progress-timeout-seconds
+            logger.error("Idempotency key release failed key={}: {}", key, e.getMessage());
+        }
+    }
+
+    private <T> T read(String body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Stored response could not be read: " + e.getMessage());
+        }
+    }
+
+    private void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new IdempotencyConflictException(true);
+        }
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("idempotency.requests", "outcome", outcome).increment();
+    }
+
+    private static boolean isTrue(Object value) {
+        return value instanceof Number n ? n.intValue() != 0 : Boolean.TRUE.equals(value);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the original request");
+        }
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<Object> future) {
+    }
+
+    /**
+     * Work guarded by an idempotency key
+     */
+    @FunctionalInterface
+    public interface IdempotentCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /**
+     * The key is still being processed (409), or was used for a different request (422)
+     */
+    public static class IdempotencyConflictException extends RuntimeException {
+        private final boolean requestMismatch;
+
+        public IdempotencyConflictException(boolean requestMismatch) {
+            super(requestMismatch
+                    ? "Idempotency-Key was already used for a different request"
+                    : "A request with this Idempotency-Key is still being processed, please retry shortly");
+            this.requestMismatch = requestMismatch;
+        }
+
+        public boolean isRequestMismatch() {
+            return requestMismatch;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.university.universe.service;
+
+import com.university.universe.dto.DomainEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stand-in OutboxBroker that keeps events in memory (outbox.broker=memory)
+ * Events are appended to one partition per aggregate, the way a broker
+ * adapter would key them, so the relay's ordering and redelivery can be
+ * checked without a broker. Only the most recent partitions are kept.
+ */
+@Service
+@ConditionalOnProperty(name = "outbox.broker", havingValue = "memory")
+public class InMemoryOutboxBroker implements OutboxBroker {
+
+    private static final int MAX_PARTITIONS = 10000;
+
+    private final Map<String, List<DomainEvent>> partitions = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<DomainEvent>> eldest) {
+            return size() > MAX_PARTITIONS;
+        }
+    };
+
+    private long sent;
+
+    @Override
+    public synchronized void send(DomainEvent event) {
+        partitions.computeIfAbsent(key(event.aggregateType(), event.aggregateId()), k -> new ArrayList<>())
+                .add(event);
+        sent++;
+    }
+
+    // Events received for one aggregate, in the order they were sent (duplicates included)
+    public synchronized List<DomainEvent> received(String aggregateType, Long aggregateId) {
+        return List.copyOf(partitions.getOrDefault(key(aggregateType, aggregateId), List.of()));
+    }
+
+    // Number of sends so far
+    public synchronized long sentCount() {
+        return sent;
+    }
+
+    private static String key(String aggregateType, Long aggregateId) {
+        return aggregateType + ":" + aggregateId;
+    }
+}
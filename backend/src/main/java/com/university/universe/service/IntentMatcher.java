@@ -0,0 +1,160 @@
+package com.university.universe.service;
+
+import com.university.universe.dto.ChatbotIntents;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled, immutable matcher for chatbot intents
+ * Keywords are stored in a word-level trie, so "hi" only matches the word "hi"
+ * and never the inside of "this" or "which". A message is tokenized once and
+ * every token position is walked through the trie; each keyword hit adds
+ * weight x keyword word count to its intent, and the highest score wins
+ * (ties go to the intent listed first).
+ */
+public final class IntentMatcher {
+
+    private final Node root = new Node();
+    private final String[] names;
+    private final String[] responses;
+    private final String[] lookups;
+    private final String fallback;
+    private final int maxMessageLength;
+
+    private IntentMatcher(ChatbotIntents config, int maxMessageLength) {
+        List<ChatbotIntents.Intent> intents = config.getIntents();
+        this.names = new String[intents.size()];
+        this.responses = new String[intents.size()];
+        this.lookups = new String[intents.size()];
+        this.fallback = config.getFallback();
+        this.maxMessageLength = maxMessageLength;
+
+        for (int i = 0; i < intents.size(); i++) {
+            ChatbotIntents.Intent intent = intents.get(i);
+            if (intent.getName() == null || intent.getResponse() == null) {
+                throw new IllegalArgumentException("Intent #" + i + " needs a name and a response");
+            }
+            names[i] = intent.getName();
+            responses[i] = intent.getResponse();
+            lookups[i] = intent.getLookup();
+            for (String keyword : intent.getKeywords()) {
+                List<String> words = tokenize(keyword, Integer.MAX_VALUE);
+                if (words.isEmpty()) {
+                    continue;
+                }
+                Node node = root;
+                for (String word : words) {
+                    node = node.children.computeIfAbsent(word, w -> new Node());
+                }
+                node.hits.add(new int[] { i, intent.getWeight() * words.size() });
+            }
+        }
+    }
+
+    // Compile an intent configuration; throws IllegalArgumentException for an invalid one
+    public static IntentMatcher compile(ChatbotIntents config, int maxMessageLength) {
+        if (config == null || config.getIntents() == null || config.getFallback() == null) {
+            throw new IllegalArgumentException("Intent configuration needs a fallback and a list of intents");
+        }
+        return new IntentMatcher(config, maxMessageLength);
+    }
+
+    // Classify a message; never returns null (unmatched messages get the fallback)
+    public Result classify(String message) {
+        if (message == null || message.isEmpty()) {
+            return new Result(null, fallback, null, 0);
+        }
+        List<String> tokens = tokenize(message, maxMessageLength);
+        int[] scores = new int[names.length];
+
+        for (int start = 0; start < tokens.size(); start++) {
+            Node node = root;
+            for (int i = start; i < tokens.size(); i++) {
+                node = node.children.get(tokens.get(i));
+                if (node == null) {
+                    break;
+                }
+                for (int[] hit : node.hits) {
+                    scores[hit[0]] += hit[1];
+                }
+            }
+        }
+
+        int best = -1;
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] > 0 && (best < 0 || scores[i] > scores[best])) {
+                best = i;
+            }
+        }
+        if (best < 0) {
+            return new Result(null, fallback, null, 0);
+        }
+        return new Result(names[best], responses[best], lookups[best], scores[best]);
+    }
+
+    public int getIntentCount() {
+        return names.length;
+    }
+
+    // Split into lowercase words of letters and digits, reading at most maxLength characters
+    static List<String> tokenize(String text, int maxLength) {
+        List<String> tokens = new ArrayList<>();
+        int end = Math.min(text.length(), maxLength);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < end; i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                tokens.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        if (word.length() > 0) {
+            tokens.add(word.toString());
+        }
+        return tokens;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        // {intent index, score} for every keyword ending at this node
+        private final List<int[]> hits = new ArrayList<>(1);
+    }
+
+    /**
+     * Classification result; intent is null when the fallback response was chosen
+     */
+    public static final class Result {
+        private final String intent;
+        private final String response;
+        private final String lookup;
+        private final int score;
+
+        Result(String intent, String response, String lookup, int score) {
+            this.intent = intent;
+            this.response = response;
+            this.lookup = lookup;
+            this.score = score;
+        }
+
+        public String getIntent() {
+            return intent;
+        }
+
+        public String getResponse() {
+            return response;
+        }
+
+        public String getLookup() {
+            return lookup;
+        }
+
+        public int getScore() {
+            return score;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.university.universe.service;
+
+import com.university.universe.config.ClusterProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * CacheInvalidationBus shared through the MySQL cache_invalidations table (cluster.invalidation=jdbc)
+ * Every instance polls for rows it has not seen yet every
+ * cluster.invalidation-poll-interval-ms. Auto-increment ids can commit out of
+ * order, so each poll also re-reads the last few seconds and skips ids it has
+ * already handled. Rows older than cluster.invalidation-retention-minutes are
+ * deleted by whichever instance gets the cleanup lock.
+ */
+@Service
+@ConditionalOnProperty(name = "cluster.invalidation", havingValue = "jdbc")
+public class JdbcCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcCacheInvalidationBus.class);
+
+    private static final int MAX_ROWS_PER_POLL = 1000;
+    private static final int SEEN_IDS = 10000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO cache_invalidations (topic, cache_key, origin, created_at) VALUES (?, ?, ?, NOW(6))";
+
+    private static final String POLL_SQL =
+            "SELECT id, topic, cache_key, origin FROM cache_invalidations "
+            + "WHERE id > ? OR created_at > DATE_SUB(NOW(6), INTERVAL 5 SECOND) ORDER BY id LIMIT "
+            + MAX_ROWS_PER_POLL;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ClusterProperties clusterProperties;
+
+    @Autowired
+    private LeaseLock leaseLock;
+
+    private final TransactionTemplate newTransaction;
+
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+    // Ids already delivered (bounded, oldest dropped first); only touched by the poller thread
+    private final Map<Long, Boolean> seen = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > SEEN_IDS;
+        }
+    };
+
+    private long lastSeenId = -1;
+
+    @Autowired
+    public JdbcCacheInvalidationBus(PlatformTransactionManager transactionManager) {
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void publish(String topic, String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(topic, key);
+            return;
+        }
+        // Other instances must not reload before the change is visible to them
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                insert(topic, key);
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(String topic, Consumer<String> listener) {
+        listeners.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${cluster.invalidation-poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            if (lastSeenId < 0) {
+                // Start from the current end of the table; older changes are already in the startup load
+                Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM cache_invalidations", Long.class);
+                lastSeenId = max != null ? max : 0;
+                return;
+            }
+            String self = clusterProperties.getInstanceId();
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(POLL_SQL, lastSeenId);
+            for (Map<String, Object> row : rows) {
+                long id = ((Number) row.get("id")).longValue();
+                lastSeenId = Math.max(lastSeenId, id);
+                if (seen.put(id, Boolean.TRUE) != null || self.equals(row.get("origin"))) {
+                    continue;
+                }
+                deliver((String) row.get("topic"), (String) row.get("cache_key"));
+            }
+        } catch (Exception e) {
+            logger.error("Cache invalidation poll failed: {}", e.getMessage());
+        }
+    }
+
+    // Prune delivered rows; one instance at a time
+    @Scheduled(fixedDelay = 300000, initialDelay = 300000)
+    public void cleanup() {
+        leaseLock.withLockIfAvailable("cache-invalidations-cleanup", Duration.ofMinutes(1), () -> {
+            int deleted = jdbcTemplate.update(
+                    "DELETE FROM cache_invalidations WHERE created_at < DATE_SUB(NOW(6), INTERVAL ? MINUTE)",
+                    clusterProperties.getInvalidationRetentionMinutes());
+            if (deleted > 0) {
+                logger.info("Cache invalidations pruned rows={}", deleted);
+            }
+        });
+    }
+
+    private void insert(String topic, String key) {
+        try {
+            newTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.update(INSERT_SQL, topic, key, clusterProperties.getInstanceId()));
+        } catch (Exception e) {
+            // Other instances catch up on their next full refresh
+            logger.error("Cache invalidation publish failed topic={} key={}: {}", topic, key, e.getMessage());
+        }
+    }
+
+    private void deliver(String topic, String key) {
+        for (Consumer<String> listener : listeners.getOrDefault(topic, List.of())) {
+            try {
+                listener.accept(key);
+            } catch (Exception e) {
+                logger.error("Cache invalidation listener failed topic={} key={}: {}", topic, key, e.getMessage());
+            }
+        }
+    }
+}
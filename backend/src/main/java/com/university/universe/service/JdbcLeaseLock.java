@@ -0,0 +1,119 @@
+package com.university.universe.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * LeaseLock on the MySQL distributed_locks table
+ * Acquiring is a single upsert: a missing row is inserted, an expired row is
+ * taken over, a live row held by someone else is left alone. Reading the owner
+ * back tells whether we got it. Every statement runs in its own short
+ * transaction (REQUIRES_NEW), so the lock row is never held by the caller's
+ * transaction and becomes visible to other instances immediately.
+ */
+@Service
+public class JdbcLeaseLock implements LeaseLock {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcLeaseLock.class);
+
+    private static final long MIN_BACKOFF_MS = 25;
+    private static final long MAX_BACKOFF_MS = 250;
+
+    // MySQL applies the assignments left to right, so the second IF sees the new owner
+    private static final String ACQUIRE_SQL =
+            "INSERT INTO distributed_locks (lock_name, owner, expires_at) "
+            + "VALUES (?, ?, DATE_ADD(NOW(6), INTERVAL ? MICROSECOND)) "
+            + "ON DUPLICATE KEY UPDATE "
+            + "owner = IF(expires_at < NOW(6), VALUES(owner), owner), "
+            + "expires_at = IF(owner = VALUES(owner), VALUES(expires_at), expires_at)";
+
+    private static final String OWNER_SQL = "SELECT owner FROM distributed_locks WHERE lock_name = ?";
+
+    private static final String RELEASE_SQL = "DELETE FROM distributed_locks WHERE lock_name = ? AND owner = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate newTransaction;
+
+    @Autowired
+    public JdbcLeaseLock(PlatformTransactionManager transactionManager) {
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public <T> T withLock(String name, Duration ttl, Duration wait, Supplier<T> work) {
+        String owner = UUID.randomUUID().toString();
+        long deadline = System.nanoTime() + wait.toNanos();
+        long backoff = MIN_BACKOFF_MS;
+
+        while (!tryAcquire(name, owner, ttl)) {
+            if (System.nanoTime() - deadline >= 0) {
+                logger.warn("Lock wait timed out lock={} waitMs={}", name, wait.toMillis());
+                throw new RuntimeException("Another request is already being processed, please try again");
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for lock " + name);
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+        }
+
+        try {
+            return work.get();
+        } finally {
+            release(name, owner);
+        }
+    }
+
+    @Override
+    public boolean withLockIfAvailable(String name, Duration ttl, Runnable work) {
+        String owner = UUID.randomUUID().toString();
+        if (!tryAcquire(name, owner, ttl)) {
+            logger.debug("Lock busy, skipping lock={}", name);
+            return false;
+        }
+        try {
+            work.run();
+            return true;
+        } finally {
+            release(name, owner);
+        }
+    }
+
+    private boolean tryAcquire(String name, String owner, Duration ttl) {
+        Boolean acquired = newTransaction.execute(status -> {
+            jdbcTemplate.update(ACQUIRE_SQL, name, owner, ttl.toNanos() / 1000);
+            List<String> current = jdbcTemplate.queryForList(OWNER_SQL, String.class, name);
+            return !current.isEmpty() && owner.equals(current.get(0));
+        });
+        return Boolean.TRUE.equals(acquired);
+    }
+
+    private void release(String name, String owner) {
+        try {
+            Integer deleted = newTransaction.execute(status -> jdbcTemplate.update(RELEASE_SQL, name, owner));
+            if (deleted == null || deleted == 0) {
+                // The lease ran out before the work finished and someone else may have taken it
+                logger.warn("Lock lease expired before release lock={}", name);
+            }
+        } catch (Exception e) {
+            // The lease expires on its own; do not hide the outcome of the work
+            logger.error("Lock release failed lock={}: {}", name, e.getMessage());
+        }
+    }
+}
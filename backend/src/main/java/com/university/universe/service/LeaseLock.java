@@ -0,0 +1,19 @@
+package com.university.universe.service;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Named lock shared by every instance of the backend
+ * A lock is a lease: it expires after ttl even if the holder dies, so a crashed
+ * instance cannot block others forever. The ttl must therefore be longer than
+ * the work done under the lock.
+ */
+public interface LeaseLock {
+
+    // Run work while holding the lock, waiting up to wait for it; throws RuntimeException on timeout
+    <T> T withLock(String name, Duration ttl, Duration wait, Supplier<T> work);
+
+    // Run work only if the lock is free right now (scheduled jobs); returns false when skipped
+    boolean withLockIfAvailable(String name, Duration ttl, Runnable work);
+}
@@ -0,0 +1,25 @@
+package com.university.universe.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Consumer;
+
+/**
+ * In-process CacheInvalidationBus for a single instance (cluster.invalidation=local)
+ * There are no other instances to tell, so publishing does nothing.
+ */
+@Service
+@ConditionalOnProperty(name = "cluster.invalidation", havingValue = "local", matchIfMissing = true)
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+    @Override
+    public void publish(String topic, String key) {
+        // Single instance: the publisher has already updated its own cache
+    }
+
+    @Override
+    public void subscribe(String topic, Consumer<String> listener) {
+        // Nothing is ever received from other instances
+    }
+}
@@ -0,0 +1,129 @@
+package com.university.universe.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON Merge Patch (RFC 7396) for flat entities
+ * A patch names the fields to change: a value sets the field, null clears it,
+ * absent fields stay as they are. apply() writes just the patched columns with
+ * one JPQL UPDATE by id (bumping the @Version of versioned entities), so the
+ * entity is not loaded first and unchanged columns - TEXT bodies included -
+ * are not rewritten. "version" in a patch is not a field: it is the version
+ * the client last read, which callers pass to apply().
+ */
+final class MergePatch {
+
+    // A patchable field: its Java type and whether null (clearing it) is allowed
+    record Field(Class<?> type, boolean nullable) {
+    }
+
+    private final String entity;
+    private final Map<String, Object> values = new LinkedHashMap<>();
+    private final List<String> fields = new ArrayList<>();
+
+    private MergePatch(String entity) {
+        this.entity = entity;
+    }
+
+    // Check a patch against the entity's patchable fields and convert its values; throws RuntimeException on bad input
+    static MergePatch of(String entity, Map<String, Object> patch, Map<String, Field> fields, ObjectMapper mapper) {
+        MergePatch result = new MergePatch(entity);
+        for (Map.Entry<String, Object> change : patch.entrySet()) {
+            String name = change.getKey();
+            if ("version".equals(name)) {
+                continue;
+            }
+            Field field = fields.get(name);
+            if (field == null) {
+                throw new RuntimeException(entity + " field '" + name + "' cannot be changed");
+            }
+            if (change.getValue() == null) {
+                if (!field.nullable()) {
+                    throw new RuntimeException(entity + " field '" + name + "' cannot be empty");
+                }
+                result.values.put(name, null);
+                result.fields.add(name);
+                continue;
+            }
+            try {
+                result.values.put(name, mapper.convertValue(change.getValue(), field.type()));
+                result.fields.add(name);
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Invalid value for " + entity + " field '" + name + "'");
+            }
+        }
+        if (result.values.isEmpty()) {
+            throw new RuntimeException("Nothing to update");
+        }
+        return result;
+    }
+
+    boolean has(String field) {
+        return values.containsKey(field);
+    }
+
+    Object get(String field) {
+        return values.get(field);
+    }
+
+    // Names of the fields the client patched, in patch order (not attributes added with set)
+    List<String> fields() {
+        return List.copyOf(fields);
+    }
+
+    // Also set an attribute the client does not send (e.g. updatedAt) in the same UPDATE
+    MergePatch set(String attribute, Object value) {
+        values.put(attribute, value);
+        return this;
+    }
+
+    /**
+     * Write the patched attributes of one row
+     * With an expected version the row must still have it. Returns false when
+     * no row was updated: the id does not exist or its version has moved on
+     * (see requireUpdated).
+     */
+    boolean apply(EntityManager entityManager, Class<?> type, Long id, boolean versioned, Long expectedVersion) {
+        StringBuilder jpql = new StringBuilder("UPDATE ").append(type.getSimpleName()).append(" e SET ");
+        int index = 0;
+        for (String attribute : values.keySet()) {
+            jpql.append(index > 0 ? ", " : "").append("e.").append(attribute).append(" = :p").append(index++);
+        }
+        if (versioned) {
+            jpql.append(", e.version = e.version + 1");
+        }
+        jpql.append(" WHERE e.id = :id");
+        if (versioned && expectedVersion != null) {
+            jpql.append(" AND e.version = :version");
+        }
+
+        Query query = entityManager.createQuery(jpql.toString()).setParameter("id", id);
+        index = 0;
+        for (Object value : values.values()) {
+            query.setParameter("p" + index++, value);
+        }
+        if (versioned && expectedVersion != null) {
+            query.setParameter("version", expectedVersion);
+        }
+        return query.executeUpdate() == 1;
+    }
+
+    // After apply() returned false: not found, or a version conflict (OptimisticLockingFailureException)
+    void requireUpdated(EntityManager entityManager, Class<?> type, Long id) {
+        List<?> found = entityManager.createQuery("SELECT e.id FROM " + type.getSimpleName() + " e WHERE e.id = :id")
+                .setParameter("id", id)
+                .getResultList();
+        if (found.isEmpty()) {
+            throw new RuntimeException(entity + " not found");
+        }
+        throw new OptimisticLockingFailureException(entity + " was changed by someone else");
+    }
+}
@@ -0,0 +1,348 @@
+package com.university.universe.service;
+
+import com.university.universe.config.NotificationProperties;
+import com.university.universe.dto.DomainEvent;
+import com.university.universe.dto.NotificationView;
+import com.university.universe.repository.ClubMembershipRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Notifies club members of published announcements and new events
+ * Listens to ANNOUNCEMENT_PUBLISHED and EVENT_CREATED from the outbox
+ * (OutboxRelay) and delivers on the relay's thread, after the publishing
+ * transaction has committed; a delivery that fails throws, so the relay
+ * keeps the event and retries it with backoff. A club with fewer than
+ * notifications.fan-out-on-read-threshold members (from club_stats) gets one
+ * inbox row per member: member ids are read in pages of
+ * notifications.page-size, and each page's rows and unread counters are
+ * written as JDBC batches in one transaction (fan-out on write). A larger
+ * club gets one ClubBroadcast that its members read through their
+ * memberships (fan-out on read). Unread counts are a user's
+ * NotificationCounter plus, per club, the broadcasts past their
+ * NotificationCursor - never a COUNT(*) over notifications. Deliveries are
+ * idempotent (INSERT IGNORE on unique keys), so neither a retried delivery
+ * nor republishing an announcement notifies twice.
+ */
+@Service
+public class NotificationService {
+
+    public static final String ANNOUNCEMENT = "ANNOUNCEMENT";
+    public static final String EVENT = "EVENT";
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+
+    private static final String INSERT_NOTIFICATION_SQL =
+            "INSERT IGNORE INTO notifications (user_id, club_id, type, ref_id, title, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String ADD_UNREAD_SQL =
+            "INSERT INTO notification_counters (user_id, unread, updated_at) VALUES (?, ?, NOW(6)) "
+            + "ON DUPLICATE KEY UPDATE unread = GREATEST(unread + VALUES(unread), 0), updated_at = NOW(6)";
+
+    private static final String UPSERT_CURSOR_SQL =
+            "INSERT INTO notification_cursors (user_id, club_id, seen_seq) VALUES (?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE seen_seq = GREATEST(seen_seq, VALUES(seen_seq))";
+
+    // Inbox counter plus, for each club of the user, the broadcasts after their cursor
+    private static final String UNREAD_SQL =
+            "SELECT COALESCE((SELECT unread FROM notification_counters WHERE user_id = ?), 0) "
+            + "+ COALESCE((SELECT SUM(GREATEST("
+            + "(SELECT MAX(b.seq) FROM club_broadcasts b WHERE b.club_id = m.club_id) - COALESCE(c.seen_seq, 0), 0)) "
+            + "FROM club_memberships m "
+            + "LEFT JOIN notification_cursors c ON c.user_id = m.user_id AND c.club_id = m.club_id "
+            + "WHERE m.user_id = ? AND m.status = 'ACTIVE'), 0)";
+
+    private static final String INBOX_SQL =
+            "SELECT id, type, ref_id, club_id, title, created_at, read_at IS NOT NULL AS is_read "
+            + "FROM notifications WHERE user_id = ? ORDER BY id DESC LIMIT ?";
+
+    private static final String BROADCASTS_SQL =
+            "SELECT b.id, b.type, b.ref_id, b.club_id, b.title, b.created_at, "
+            + "b.seq <= COALESCE(c.seen_seq, 0) AS is_read "
+            + "FROM club_memberships m "
+            + "JOIN club_broadcasts b ON b.club_id = m.club_id "
+            + "AND (m.joined_at IS NULL OR b.created_at >= m.joined_at) "
+            + "LEFT JOIN notification_cursors c ON c.user_id = m.user_id AND c.club_id = m.club_id "
+            + "WHERE m.user_id = ? AND m.status = 'ACTIVE' "
+            + "ORDER BY b.created_at DESC, b.id DESC LIMIT ?";
+
+    private static final String LATEST_BROADCASTS_SQL =
+            "SELECT m.club_id, (SELECT MAX(b.seq) FROM club_broadcasts b WHERE b.club_id = m.club_id) AS seq "
+            + "FROM club_memberships m WHERE m.user_id = ?";
+
+    @Autowired
+    private ClubMembershipRepository membershipRepository;
+
+    @Autowired
+    private ClubStatsService clubStatsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private NotificationProperties notificationProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    // One delivery: an announcement or event of a club; its author is not notified
+    private record Delivery(Long clubId, String type, Long refId, String title, Long authorId,
+            LocalDateTime createdAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        outboxRelay.subscribe(DomainEvent.ANNOUNCEMENT, this::onDomainEvent);
+        outboxRelay.subscribe(DomainEvent.EVENT, this::onDomainEvent);
+    }
+
+    // Deliver a published announcement or a new event; throws when the delivery failed, so the relay retries it
+    void onDomainEvent(DomainEvent event) {
+        String type = switch (event.type()) {
+            case DomainEvent.ANNOUNCEMENT_PUBLISHED -> ANNOUNCEMENT;
+            case DomainEvent.EVENT_CREATED -> EVENT;
+            default -> null;
+        };
+        Long clubId = event.getLong("clubId");
+        if (type == null || clubId == null) {
+            return;
+        }
+        Delivery delivery = new Delivery(clubId, type, event.aggregateId(), event.getString("title"),
+                event.getLong("createdBy"), event.createdAt());
+        deliver(delivery);
+    }
+
+    // A new member starts with the club's earlier broadcasts read
+    public void memberJoined(Long userId, Long clubId) {
+        Long latest = jdbcTemplate.queryForObject("SELECT MAX(seq) FROM club_broadcasts WHERE club_id = ?",
+                Long.class, clubId);
+        if (latest != null) {
+            jdbcTemplate.update(UPSERT_CURSOR_SQL, userId, clubId, latest);
+        }
+    }
+
+    public void memberLeft(Long userId, Long clubId) {
+        jdbcTemplate.update("DELETE FROM notification_cursors WHERE user_id = ? AND club_id = ?", userId, clubId);
+    }
+
+    // Number of unread notifications (inbox and broadcasts)
+    @Transactional(readOnly = true)
+    public long getUnreadCount(Long userId) {
+        Long unread = jdbcTemplate.queryForObject(UNREAD_SQL, Long.class, userId, userId);
+        return unread != null ? unread : 0;
+    }
+
+    // A user's latest notifications, inbox and broadcasts merged, newest first
+    @Transactional(readOnly = true)
+    public List<NotificationView> getNotifications(Long userId, int limit) {
+        int size = Math.max(1, Math.min(limit, 100));
+        List<NotificationView> result = new ArrayList<>(jdbcTemplate.query(INBOX_SQL,
+                (rs, row) -> view(rs, false), userId, size));
+        result.addAll(jdbcTemplate.query(BROADCASTS_SQL, (rs, row) -> view(rs, true), userId, size));
+        result.sort(Comparator.comparing(NotificationView::createdAt).reversed());
+        return result.size() > size ? result.subList(0, size) : result;
+    }
+
+    // Mark one inbox notification read
+    @Transactional
+    public void markRead(Long userId, Long notificationId) {
+        int updated = jdbcTemplate.update("UPDATE notifications SET read_at = NOW(6) "
+                + "WHERE id = ? AND user_id = ? AND read_at IS NULL", notificationId, userId);
+        if (updated > 0) {
+            jdbcTemplate.update(ADD_UNREAD_SQL, userId, -updated);
+            return;
+        }
+        Integer found = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications WHERE id = ? AND user_id = ?",
+                Integer.class, notificationId, userId);
+        if (found == null || found == 0) {
+            throw new RuntimeException("Notification not found");
+        }
+    }
+
+    // Mark all of a user's notifications read: inbox rows, and every club's broadcasts up to its latest
+    @Transactional
+    public void markAllRead(Long userId) {
+        int updated = jdbcTemplate.update(
+                "UPDATE notifications SET read_at = NOW(6) WHERE user_id = ? AND read_at IS NULL", userId);
+        if (updated > 0) {
+            // Subtract what was marked rather than zeroing, so rows delivered meanwhile stay counted
+            jdbcTemplate.update(ADD_UNREAD_SQL, userId, -updated);
+        }
+        List<Object[]> cursors = new ArrayList<>();
+        jdbcTemplate.query(LATEST_BROADCASTS_SQL, rs -> {
+            long seq = rs.getLong("seq");
+            if (!rs.wasNull()) {
+                cursors.add(new Object[] { userId, rs.getLong("club_id"), seq });
+            }
+        }, userId);
+        if (!cursors.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_CURSOR_SQL, cursors);
+        }
+    }
+
+    // Drop a deleted user's notifications, counter and cursors
+    public void deleteUserNotifications(Long userId) {
+        jdbcTemplate.update("DELETE FROM notifications WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM notification_counters WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM notification_cursors WHERE user_id = ?", userId);
+    }
+
+    /**
+     * Drop a deleted club's notifications, broadcasts and cursors
+     * Inbox rows go in chunks, each in its own transaction together with the
+     * unread counters of their users. Returns the number of rows deleted.
+     */
+    public long deleteClubNotifications(Long clubId, int chunkSize) {
+        long deleted = 0;
+        while (true) {
+            Integer rows = transactionTemplate.execute(status -> deleteChunk(clubId, chunkSize));
+            deleted += rows != null ? rows : 0;
+            if (rows == null || rows < chunkSize) {
+                break;
+            }
+        }
+        deleted += jdbcTemplate.update("DELETE FROM club_broadcasts WHERE club_id = ?", clubId);
+        deleted += jdbcTemplate.update("DELETE FROM notification_cursors WHERE club_id = ?", clubId);
+        return deleted;
+    }
+
+    private int deleteChunk(Long clubId, int chunkSize) {
+        List<Long> ids = new ArrayList<>();
+        Map<Long, Integer> unreadPerUser = new TreeMap<>();
+        jdbcTemplate.query(
+                "SELECT id, user_id, read_at FROM notifications WHERE club_id = ? ORDER BY id LIMIT ? FOR UPDATE",
+                rs -> {
+                    ids.add(rs.getLong("id"));
+                    if (rs.getTimestamp("read_at") == null) {
+                        unreadPerUser.merge(rs.getLong("user_id"), 1, Integer::sum);
+                    }
+                }, clubId, chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> decrements = new ArrayList<>();
+        unreadPerUser.forEach((userId, unread) -> decrements.add(new Object[] { userId, -unread }));
+        if (!decrements.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_UNREAD_SQL, decrements);
+        }
+        jdbcTemplate.update("DELETE FROM notifications WHERE id IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")", ids.toArray());
+        return ids.size();
+    }
+
+    private void deliver(Delivery delivery) {
+        long start = System.currentTimeMillis();
+        try {
+            long members = clubStatsService.getStats(delivery.clubId()).getMemberCount();
+            if (members >= notificationProperties.getFanOutOnReadThreshold()) {
+                boolean added = broadcast(delivery);
+                meterRegistry.counter("notifications.delivered", "mode", "broadcast").increment(added ? 1 : 0);
+                logger.info("Notification broadcast clubId={} type={} refId={} members={} durationMs={}",
+                        delivery.clubId(), delivery.type(), delivery.refId(), members,
+                        System.currentTimeMillis() - start);
+            } else {
+                int delivered = fanOut(delivery);
+                meterRegistry.counter("notifications.delivered", "mode", "inbox").increment(delivered);
+                logger.info("Notifications delivered clubId={} type={} refId={} inboxes={} durationMs={}",
+                        delivery.clubId(), delivery.type(), delivery.refId(), delivered,
+                        System.currentTimeMillis() - start);
+            }
+        } catch (RuntimeException e) {
+            // Pages already written stay; the retry skips their rows (INSERT IGNORE)
+            meterRegistry.counter("notifications.failed").increment();
+            throw e;
+        }
+    }
+
+    // Fan-out on write: one inbox row per active member, a page of members per transaction
+    private int fanOut(Delivery delivery) {
+        int pageSize = Math.max(1, notificationProperties.getPageSize());
+        Pageable page = PageRequest.of(0, pageSize);
+        int delivered = 0;
+        List<Long> userIds = membershipRepository.findActiveMemberIds(delivery.clubId(), 0L, page);
+        while (!userIds.isEmpty()) {
+            List<Long> recipients = userIds.stream().filter(id -> !id.equals(delivery.authorId())).toList();
+            Integer written = transactionTemplate.execute(status -> writeInbox(delivery, recipients));
+            delivered += written != null ? written : 0;
+            if (userIds.size() < pageSize) {
+                break;
+            }
+            Long lastUserId = userIds.get(userIds.size() - 1);
+            userIds = membershipRepository.findActiveMemberIds(delivery.clubId(), lastUserId, page);
+        }
+        return delivered;
+    }
+
+    // One page: the inbox rows in one batch, then +1 on the counter of each user who got a new row
+    private int writeInbox(Delivery delivery, List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        Timestamp createdAt = Timestamp.valueOf(delivery.createdAt());
+        List<Object[]> rows = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            rows.add(new Object[] { userId, delivery.clubId(), delivery.type(), delivery.refId(), delivery.title(),
+                    createdAt });
+        }
+        int[] inserted = jdbcTemplate.batchUpdate(INSERT_NOTIFICATION_SQL, rows);
+        List<Object[]> increments = new ArrayList<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            // 0 means the user already had this notification (INSERT IGNORE)
+            if (inserted[i] != 0) {
+                increments.add(new Object[] { userIds.get(i), 1 });
+            }
+        }
+        if (!increments.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_UNREAD_SQL, increments);
+        }
+        return increments.size();
+    }
+
+    // Fan-out on read: one broadcast row with the club's next seq; false if it was already broadcast
+    private boolean broadcast(Delivery delivery) {
+        Boolean added = transactionTemplate.execute(status -> {
+            // Locks the club's last seq, so concurrent broadcasts to one club number themselves in turn
+            List<Long> latest = jdbcTemplate.queryForList(
+                    "SELECT seq FROM club_broadcasts WHERE club_id = ? ORDER BY seq DESC LIMIT 1 FOR UPDATE",
+                    Long.class, delivery.clubId());
+            return jdbcTemplate.update("INSERT IGNORE INTO club_broadcasts "
+                    + "(club_id, seq, type, ref_id, title, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+                    delivery.clubId(), (latest.isEmpty() ? 0 : latest.get(0)) + 1,
+                    delivery.type(), delivery.refId(), delivery.title(), Timestamp.valueOf(delivery.createdAt())) > 0;
+        });
+        return Boolean.TRUE.equals(added);
+    }
+
+    private static NotificationView view(ResultSet rs, boolean broadcast) throws SQLException {
+        return new NotificationView(rs.getLong("id"), rs.getString("type"), rs.getLong("ref_id"), rs.getLong("club_id"),
+                rs.getString("title"), rs.getTimestamp("created_at").toLocalDateTime(), rs.getBoolean("is_read"),
+                broadcast);
+    }
+}
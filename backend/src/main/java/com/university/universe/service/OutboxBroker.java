@@ -0,0 +1,16 @@
+package com.university.universe.service;
+
+import com.university.universe.dto.DomainEvent;
+
+/**
+ * Hands outbox events to a message broker (outbox.broker)
+ * OutboxRelay calls send() for each event after the in-process listeners.
+ * Throwing makes the relay retry the event later, so a broker can receive
+ * an event more than once. An aggregate's events are sent in sequence
+ * order; an adapter should key them by aggregate type and id (one
+ * partition) to keep that order on the broker.
+ */
+public interface OutboxBroker {
+
+    void send(DomainEvent event);
+}
@@ -0,0 +1,230 @@
+package com.university.universe.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.universe.config.OutboxProperties;
+import com.university.universe.dto.DomainEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Dispatches outbox events to in-process listeners and the optional OutboxBroker
+ * Every outbox.poll-interval-ms the instance holding the "outbox-relay" lease
+ * reads the PENDING events that are due in id order, outbox.batch-size at a
+ * time, and marks
+ * the ones it delivered DISPATCHED with one UPDATE per batch - so each event
+ * is dispatched by one instance, and listeners are for work to be done once
+ * per event (per-instance caches keep using CacheInvalidationBus).
+ * Delivery is at least once: a crash between dispatching and marking, or a
+ * later listener failing, repeats the event. A failed event is retried with
+ * exponential backoff (outbox.retry-delay-ms up to outbox.max-retry-delay-ms)
+ * and later events of its aggregate wait for it, which keeps every
+ * aggregate's events in sequence order. Waiting events are left out of the
+ * query, so they do not fill the batches of other aggregates; after
+ * outbox.max-attempts it is
+ * marked FAILED, kept for inspection, and its aggregate moves on.
+ * DISPATCHED rows are deleted after outbox.retention-hours.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final int CLEANUP_CHUNK = 5000;
+
+    // Due events whose aggregate has no earlier event in backoff
+    private static final String PENDING_SQL =
+            "SELECT o.id, o.aggregate_type, o.aggregate_id, o.seq, o.event_type, o.payload, o.attempts, o.created_at "
+            + "FROM outbox_events o WHERE o.status = 'PENDING' "
+            + "AND (o.next_attempt_at IS NULL OR o.next_attempt_at <= ?) "
+            + "AND NOT EXISTS (SELECT 1 FROM outbox_events w WHERE w.aggregate_type = o.aggregate_type "
+            + "AND w.aggregate_id = o.aggregate_id AND w.status = 'PENDING' AND w.id < o.id "
+            + "AND w.next_attempt_at > ?) "
+            + "ORDER BY o.id LIMIT ?";
+
+    private static final String RETRY_SQL =
+            "UPDATE outbox_events SET status = ?, attempts = ?, last_error = ?, next_attempt_at = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LeaseLock leaseLock;
+
+    @Autowired
+    private OutboxProperties outboxProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private OutboxBroker broker;
+
+    private final Map<String, List<Consumer<DomainEvent>>> listeners = new ConcurrentHashMap<>();
+
+    private record Row(DomainEvent event, int attempts) {
+    }
+
+    // Receive the events of one aggregate type; a listener that throws gets the event again later
+    public void subscribe(String aggregateType, Consumer<DomainEvent> listener) {
+        listeners.computeIfAbsent(aggregateType, t -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}",
+            initialDelayString = "${outbox.poll-interval-ms:1000}")
+    public void relay() {
+        try {
+            leaseLock.withLockIfAvailable("outbox-relay", Duration.ofMillis(outboxProperties.getLeaseMs()),
+                    this::drain);
+        } catch (Exception e) {
+            logger.error("Outbox relay failed: {}", e.getMessage());
+        }
+    }
+
+    // Dispatch batches until the outbox is drained, a batch makes no progress, or half the lease is used
+    void drain() {
+        long deadline = System.currentTimeMillis() + outboxProperties.getLeaseMs() / 2;
+        int batchSize = Math.max(1, outboxProperties.getBatchSize());
+        while (true) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Row> rows = jdbcTemplate.query(PENDING_SQL, (rs, i) -> row(rs), now, now, batchSize);
+            int done = dispatchBatch(rows);
+            if (rows.size() < batchSize || done == 0 || System.currentTimeMillis() > deadline) {
+                return;
+            }
+        }
+    }
+
+    // Delete dispatched events past the retention; one instance at a time
+    @Scheduled(fixedDelay = 3600000, initialDelay = 600000)
+    public void cleanup() {
+        leaseLock.withLockIfAvailable("outbox-cleanup", Duration.ofMinutes(5), () -> {
+            Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusHours(outboxProperties.getRetentionHours()));
+            long deleted = 0;
+            int rows;
+            do {
+                rows = jdbcTemplate.update("DELETE FROM outbox_events WHERE status = 'DISPATCHED' "
+                        + "AND dispatched_at < ? LIMIT " + CLEANUP_CHUNK, cutoff);
+                deleted += rows;
+            } while (rows == CLEANUP_CHUNK);
+            if (deleted > 0) {
+                logger.info("Outbox pruned rows={}", deleted);
+            }
+        });
+    }
+
+    // One batch, in id order; returns the number of events dispatched or given up on
+    private int dispatchBatch(List<Row> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> waiting = new HashSet<>();
+        List<Long> dispatched = new ArrayList<>();
+        int failed = 0;
+        for (Row row : rows) {
+            DomainEvent event = row.event();
+            String aggregate = event.aggregateType() + ":" + event.aggregateId();
+            if (waiting.contains(aggregate)) {
+                // An earlier event of this aggregate failed in this batch
+                continue;
+            }
+            try {
+                dispatch(event);
+                dispatched.add(event.id());
+                Timer.builder("outbox.lag")
+                        .description("Delay between an outbox event being written and dispatched")
+                        .tag("type", event.type())
+                        .register(meterRegistry)
+                        .record(Math.max(Duration.between(event.createdAt(), now).toMillis(), 0),
+                                TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                if (retryLater(row, e)) {
+                    waiting.add(aggregate);
+                } else {
+                    failed++;
+                }
+            }
+        }
+        if (!dispatched.isEmpty()) {
+            jdbcTemplate.update("UPDATE outbox_events SET status = 'DISPATCHED', dispatched_at = NOW(6) WHERE id IN ("
+                    + String.join(", ", Collections.nCopies(dispatched.size(), "?")) + ")", dispatched.toArray());
+            meterRegistry.counter("outbox.events", "outcome", "dispatched").increment(dispatched.size());
+        }
+        return dispatched.size() + failed;
+    }
+
+    private void dispatch(DomainEvent event) {
+        for (Consumer<DomainEvent> listener : listeners.getOrDefault(event.aggregateType(), List.of())) {
+            listener.accept(event);
+        }
+        if (broker != null) {
+            broker.send(event);
+        }
+    }
+
+    // Schedule the next attempt, or give up after outbox.max-attempts; returns true when it will be retried
+    private boolean retryLater(Row row, Exception error) {
+        DomainEvent event = row.event();
+        int attempts = row.attempts() + 1;
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        if (message.length() > 500) {
+            message = message.substring(0, 500);
+        }
+        if (attempts >= outboxProperties.getMaxAttempts()) {
+            jdbcTemplate.update(RETRY_SQL, "FAILED", attempts, message, null, event.id());
+            meterRegistry.counter("outbox.events", "outcome", "failed").increment();
+            logger.error("Outbox event failed for good id={} type={} aggregate={}:{} seq={} attempts={}: {}",
+                    event.id(), event.type(), event.aggregateType(), event.aggregateId(), event.sequence(), attempts,
+                    message);
+            return false;
+        }
+        long delay = Math.min(outboxProperties.getRetryDelayMs() << Math.min(attempts - 1, 30),
+                outboxProperties.getMaxRetryDelayMs());
+        jdbcTemplate.update(RETRY_SQL, "PENDING", attempts, message,
+                Timestamp.valueOf(LocalDateTime.now().plusNanos(delay * 1_000_000)), event.id());
+        meterRegistry.counter("outbox.events", "outcome", "retried").increment();
+        logger.warn("Outbox event will be retried id={} type={} aggregate={}:{} attempts={} delayMs={}: {}",
+                event.id(), event.type(), event.aggregateType(), event.aggregateId(), attempts, delay, message);
+        return true;
+    }
+
+    private Row row(ResultSet rs) throws SQLException {
+        String payload = rs.getString("payload");
+        Map<String, Object> values;
+        try {
+            values = payload != null ? objectMapper.readValue(payload, new TypeReference<Map<String, Object>>() {
+            }) : Map.of();
+        } catch (Exception e) {
+            // Written by OutboxService, so this is not expected; listeners get an empty payload
+            logger.error("Outbox event payload unreadable id={}: {}", rs.getLong("id"), e.getMessage());
+            values = Map.of();
+        }
+        DomainEvent event = new DomainEvent(rs.getLong("id"), rs.getString("aggregate_type"),
+                rs.getLong("aggregate_id"), rs.getLong("seq"), rs.getString("event_type"), values,
+                rs.getTimestamp("created_at").toLocalDateTime());
+        return new Row(event, rs.getInt("attempts"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.university.universe.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.universe.dto.DomainEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes domain events to the outbox_events table in the caller's transaction
+ * An event commits or rolls back together with the change it describes, so
+ * listeners never hear of a change that did not happen nor miss one that
+ * did; OutboxRelay dispatches them after commit. Each aggregate's last
+ * sequence number is bumped first (outbox_sequences, in aggregate order so
+ * concurrent writers lock in the same order); the row lock serializes
+ * writers of one aggregate until they commit, which keeps its events in
+ * sequence order. Costs three statements per call, batched for many events.
+ */
+@Service
+public class OutboxService {
+
+    private static final String NEXT_SEQ_SQL =
+            "INSERT INTO outbox_sequences (aggregate_type, aggregate_id, last_seq) VALUES (?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE last_seq = last_seq + VALUES(last_seq)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_events (aggregate_type, aggregate_id, seq, event_type, payload, status, attempts, "
+            + "created_at) VALUES (?, ?, ?, ?, ?, 'PENDING', 0, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Record one event; must run inside the transaction that makes the change
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(DomainEvent event) {
+        appendAll(List.of(event));
+    }
+
+    // Record several events (e.g. of a batch request) with one batch per statement
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        // Events per aggregate, sorted by type then id
+        Map<String, Map<Long, Integer>> counts = new TreeMap<>();
+        for (DomainEvent event : events) {
+            if (event.aggregateType() == null || event.aggregateId() == null) {
+                throw new RuntimeException("Domain event " + event.type() + " has no aggregate");
+            }
+            counts.computeIfAbsent(event.aggregateType(), t -> new TreeMap<>())
+                    .merge(event.aggregateId(), 1, Integer::sum);
+        }
+
+        List<Object[]> increments = new ArrayList<>();
+        counts.forEach((type, perId) -> perId.forEach((id, count) -> increments.add(new Object[] { type, id, count })));
+        jdbcTemplate.batchUpdate(NEXT_SEQ_SQL, increments);
+
+        // Read the new last_seq back; this transaction's own update is visible to it
+        Map<String, Map<Long, Long>> nextSeq = new HashMap<>();
+        counts.forEach((type, perId) -> {
+            Map<Long, Long> seqs = nextSeq.computeIfAbsent(type, t -> new HashMap<>());
+            jdbcTemplate.query("SELECT aggregate_id, last_seq FROM outbox_sequences WHERE aggregate_type = ? "
+                    + "AND aggregate_id IN (" + String.join(", ", Collections.nCopies(perId.size(), "?")) + ")",
+                    rs -> {
+                        long id = rs.getLong("aggregate_id");
+                        // First sequence number of this call's events
+                        seqs.put(id, rs.getLong("last_seq") - perId.get(id) + 1);
+                    }, concat(type, perId.keySet()));
+        });
+
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            long seq = nextSeq.get(event.aggregateType()).merge(event.aggregateId(), 1L, Long::sum) - 1;
+            rows.add(new Object[] { event.aggregateType(), event.aggregateId(), seq, event.type(),
+                    toJson(event), Timestamp.valueOf(event.createdAt()) });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private String toJson(DomainEvent event) {
+        try {
+            return event.payload() != null ? objectMapper.writeValueAsString(event.payload()) : null;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Domain event " + event.type() + " payload cannot be written: "
+                    + e.getMessage());
+        }
+    }
+
+    private static Object[] concat(String first, Iterable<Long> rest) {
+        List<Object> args = new ArrayList<>();
+        args.add(first);
+        rest.forEach(args::add);
+        return args.toArray();
+    }
+}
@@ -1,28 +1,39 @@
 package com.university.universe.service;
 
-import com.stripe.Stripe;
+import com.stripe.StripeClient;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.ApiException;
+import com.stripe.exception.RateLimitException;
 import com.stripe.exception.SignatureVerificationException;
 import com.stripe.exception.StripeException;
 import com.stripe.model.*;
 import com.stripe.model.checkout.Session;
+import com.stripe.net.RequestOptions;
 import com.stripe.net.Webhook;
 import com.stripe.param.checkout.SessionCreateParams;
 import com.university.universe.dto.CheckoutSessionRequest;
 import com.university.universe.dto.CheckoutSessionResponse;
+import com.university.universe.dto.DomainEvent;
 import com.university.universe.model.Club;
 import com.university.universe.model.Payment;
 import com.university.universe.repository.ClubRepository;
 import com.university.universe.repository.PaymentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for handling Stripe payment operations
@@ -34,12 +45,42 @@ public class PaymentService {
 
     private static final Logger logger = LoggerFactory.getLogger(PaymentService.class);
 
+    // Locks a payment row for a status change; the stored status is the one being changed from
+    private static final String LOCK_STATUS_SQL = "SELECT status FROM payments WHERE id = ? FOR UPDATE";
+
     @Autowired
     private PaymentRepository paymentRepository;
 
     @Autowired
     private ClubRepository clubRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private StripeClient stripeClient;
+
+    @Autowired
+    private CircuitBreaker stripeCircuitBreaker;
+
+    @Autowired
+    private ClubStatsService clubStatsService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Value("${stripe.api.key}")
     private String stripeApiKey;
 
@@ -49,6 +90,32 @@ public class PaymentService {
     @Value("${app.frontend.url:http://localhost:3000}")
     private String frontendUrl;
 
+    /**
+     * Create a checkout session at most once per Idempotency-Key
+     * Double-clicks and client retries with the same key get the first session
+     * instead of a new Payment row and Stripe call. Without a key every call
+     * creates a new session.
+     *
+     * @param request        Checkout session request with payment details
+     * @param idempotencyKey Idempotency-Key header value, may be null
+     * @return Checkout session response with session URL
+     */
+    public CheckoutSessionResponse createCheckoutSession(CheckoutSessionRequest request, String idempotencyKey)
+            throws StripeException {
+        String key = idempotencyService.normalizeKey(idempotencyKey);
+        if (key == null || request.getUserId() == null) {
+            return createCheckoutSession(request);
+        }
+        String requestHash = IdempotencyService.fingerprint(
+                request.getUserId(),
+                request.getClubId(),
+                request.getAmount() != null ? request.getAmount().stripTrailingZeros().toPlainString() : null,
+                request.getSuccessUrl(),
+                request.getCancelUrl());
+        return idempotencyService.execute("checkout:" + request.getUserId() + ":" + key, requestHash,
+                CheckoutSessionResponse.class, () -> createCheckoutSession(request));
+    }
+
     /**
      * Create a Stripe checkout session for club membership payment
      * 
@@ -56,9 +123,6 @@ public class PaymentService {
      * @return Checkout session response with session URL
      */
     public CheckoutSessionResponse createCheckoutSession(CheckoutSessionRequest request) throws StripeException {
-        // Initialize Stripe API key
-        Stripe.apiKey = stripeApiKey;
-
         // Log API key initialization (without exposing the actual key)
         if (stripeApiKey == null || stripeApiKey.isEmpty() || stripeApiKey.contains("placeholder")) {
             logger.error("Stripe API key is not properly configured. Key: {}",
@@ -66,7 +130,6 @@ public class PaymentService {
                             : "NULL/EMPTY");
             throw new IllegalArgumentException("Stripe API key is not properly configured");
         }
-        logger.info("Stripe API key initialized (length: {})", stripeApiKey.length());
 
         // Validate request
         if (request.getUserId() == null || request.getClubId() == null) {
@@ -84,15 +147,17 @@ public class PaymentService {
                 throw new IllegalArgumentException("Club not found");
             }
 
-            // Create payment record
-            Payment payment = new Payment(
+            // Create payment record (and its PAYMENT_CREATED event)
+            Payment newPayment = new Payment(
                     request.getUserId(),
                     request.getClubId(),
                     request.getAmount(),
                     "LKR"); // Always use LKR
-            payment = paymentRepository.save(payment);
-
-            logger.info("✓ Payment record created with ID: {}", payment.getId());
+            Payment payment = transactionTemplate.execute(status -> {
+                Payment saved = paymentRepository.save(newPayment);
+                outboxService.append(changed(DomainEvent.PAYMENT_CREATED, saved, null));
+                return saved;
+            });
 
             // Build Stripe checkout session
             String successUrl = buildUrl(request.getSuccessUrl());
@@ -106,13 +171,6 @@ public class PaymentService {
             String currency = "lkr"; // Stripe supports LKR (Sri Lankan Rupees)
             Long unitAmount = convertToStripeAmount(request.getAmount());
 
-            // Log payment details
-            logger.info("💳 Stripe Checkout Session - LKR Payment:");
-            logger.info("  Amount in LKR: {} LKR", request.getAmount());
-            logger.info("  Stripe API Currency: {}", currency);
-            logger.info("  Stripe Amount (cents): {}", unitAmount);
-            logger.info("  Club: {}", club.get().getName());
-
             SessionCreateParams params = SessionCreateParams.builder()
                     .setMode(SessionCreateParams.Mode.PAYMENT)
                     .setSuccessUrl(successUrl)
@@ -143,17 +201,17 @@ public class PaymentService {
                     .setCustomerEmail(null) // Can be set if user email is available
                     .build();
 
-            logger.info("Attempting to create Stripe checkout session...");
-
             // Create Stripe session with detailed error handling
             Session session;
             try {
-                session = Session.create(params);
-                logger.info("✓ Stripe session created successfully: {}", session.getId());
+                // One Stripe session per Payment row, even if the request is retried on the network
+                RequestOptions options = RequestOptions.builder()
+                        .setIdempotencyKey("checkout-payment-" + payment.getId())
+                        .build();
+                session = callStripe("checkout.session.create", () -> stripeClient.checkout().sessions().create(params, options));
             } catch (com.stripe.exception.InvalidRequestException e) {
-                logger.error("Stripe Invalid Request Error: {}", e.getMessage());
-                logger.error("Stripe Error Code: {}", e.getCode());
-                logger.error("Stripe Error Param: {}", e.getParam());
+                logger.error("Stripe invalid request code={} param={}: {}", e.getCode(), e.getParam(),
+                        e.getMessage());
                 throw e;
             } catch (com.stripe.exception.AuthenticationException e) {
                 logger.error("Stripe Authentication Error - API key may be invalid: {}", e.getMessage());
@@ -162,9 +220,8 @@ public class PaymentService {
                 logger.error("Stripe Card Error: {}", e.getMessage());
                 throw e;
             } catch (com.stripe.exception.StripeException e) {
-                logger.error("Stripe Exception occurred: {}", e.getMessage(), e);
-                logger.error("Stripe Status Code: {}", e.getStatusCode());
-                logger.error("Stripe Error Type: {}", e.getClass().getSimpleName());
+                logger.error("Stripe {} status={}: {}", e.getClass().getSimpleName(), e.getStatusCode(),
+                        e.getMessage());
                 throw e;
             }
 
@@ -172,16 +229,11 @@ public class PaymentService {
             payment.setStripeSessionId(session.getId());
             if (session.getPaymentIntent() != null) {
                 payment.setStripePaymentIntentId(session.getPaymentIntent());
-                logger.info("💾 PaymentIntent ID saved to database: {}", session.getPaymentIntent());
-            } else {
-                logger.warn(
-                        "⚠️ Session created but PaymentIntent ID is NULL. Session has no associated payment intent yet.");
             }
             paymentRepository.save(payment);
 
-            logger.info("✓ Payment record updated with Stripe session ID: {}", session.getId());
-            logger.info("   Payment ID: {}, Session ID: {}, PaymentIntent ID: {}",
-                    payment.getId(), payment.getStripeSessionId(), payment.getStripePaymentIntentId());
+            logger.info("Checkout session created paymentId={} sessionId={} clubId={} amountLkr={} stripeAmount={}",
+                    payment.getId(), session.getId(), request.getClubId(), request.getAmount(), unitAmount);
 
             // Build response
             CheckoutSessionResponse response = new CheckoutSessionResponse();
@@ -193,7 +245,6 @@ public class PaymentService {
             return response;
 
         } catch (StripeException e) {
-            logger.error("Stripe Exception in createCheckoutSession: {}", e.getMessage(), e);
             throw e;
         } catch (Exception e) {
             logger.error("Unexpected error in createCheckoutSession: {}", e.getMessage(), e);
@@ -214,10 +265,9 @@ public class PaymentService {
         try {
             // Verify webhook signature
             Event event = Webhook.constructEvent(payload, sigHeader, webhookSecret);
+            recordWebhookLag(event);
 
-            logger.info("🔔 Webhook received from Stripe: Type: {}", event.getType());
-            logger.debug("Webhook Event ID: {}", event.getId());
-            logger.debug("Webhook Created: {}", event.getCreated());
+            logger.info("Webhook received type={} id={}", event.getType(), event.getId());
 
             // Handle different event types
             switch (event.getType()) {
@@ -273,7 +323,6 @@ public class PaymentService {
 
         if (stripeObject instanceof Session) {
             Session session = (Session) stripeObject;
-            logger.info("✅ Processing checkout session completed: {}", session.getId());
 
             // Update payment record
             Optional<Payment> paymentOpt = paymentRepository.findByStripeSessionId(session.getId());
@@ -282,15 +331,14 @@ public class PaymentService {
                 payment.setStatus("SUCCEEDED");
                 payment.setPaidAt(LocalDateTime.now());
                 payment.setUpdatedAt(LocalDateTime.now());
-                paymentRepository.save(payment);
+                savePayment(payment);
 
-                logger.info("✅ Payment marked as SUCCEEDED in database - ID: {}, Status: {}", payment.getId(),
-                        payment.getStatus());
+                logger.info("Payment succeeded paymentId={} sessionId={}", payment.getId(), session.getId());
             } else {
-                logger.warn("⚠️ Payment not found for session: {}", session.getId());
+                logger.warn("Payment not found for session: {}", session.getId());
             }
         } else {
-            logger.warn("⚠️ Event object is not a Session: {}",
+            logger.warn("Event object is not a Session: {}",
                     stripeObject != null ? stripeObject.getClass().getSimpleName() : "null");
         }
     }
@@ -304,7 +352,6 @@ public class PaymentService {
 
         if (stripeObject instanceof PaymentIntent) {
             PaymentIntent paymentIntent = (PaymentIntent) stripeObject;
-            logger.info("Processing payment intent succeeded: {}", paymentIntent.getId());
 
             // Update payment record
             Optional<Payment> paymentOpt = paymentRepository.findByStripePaymentIntentId(paymentIntent.getId());
@@ -315,9 +362,10 @@ public class PaymentService {
                 payment.setUpdatedAt(LocalDateTime.now());
                 // Note: Charge information is not directly available from PaymentIntent
                 // It can be retrieved separately if needed via PaymentIntent.getCharges() query
-                paymentRepository.save(payment);
+                savePayment(payment);
 
-                logger.info("Payment marked as succeeded: {}", payment.getId());
+                logger.info("Payment succeeded paymentId={} paymentIntentId={}", payment.getId(),
+                        paymentIntent.getId());
             }
         }
     }
@@ -331,7 +379,6 @@ public class PaymentService {
 
         if (stripeObject instanceof PaymentIntent) {
             PaymentIntent paymentIntent = (PaymentIntent) stripeObject;
-            logger.info("Processing payment intent failed: {}", paymentIntent.getId());
 
             // Update payment record
             Optional<Payment> paymentOpt = paymentRepository.findByStripePaymentIntentId(paymentIntent.getId());
@@ -342,9 +389,10 @@ public class PaymentService {
                 if (paymentIntent.getLastPaymentError() != null) {
                     payment.setErrorMessage(paymentIntent.getLastPaymentError().getMessage());
                 }
-                paymentRepository.save(payment);
+                savePayment(payment);
 
-                logger.info("Payment marked as failed: {}", payment.getId());
+                logger.info("Payment failed paymentId={} paymentIntentId={}", payment.getId(),
+                        paymentIntent.getId());
             }
         }
     }
@@ -358,7 +406,6 @@ public class PaymentService {
 
         if (stripeObject instanceof Charge) {
             Charge charge = (Charge) stripeObject;
-            logger.info("Processing charge refunded: {}", charge.getId());
 
             // Find and update related payment
             if (charge.getPaymentIntent() != null) {
@@ -367,19 +414,20 @@ public class PaymentService {
                     Payment payment = paymentOpt.get();
                     payment.setStatus("REFUNDED");
                     payment.setUpdatedAt(LocalDateTime.now());
-                    paymentRepository.save(payment);
+                    savePayment(payment);
 
-                    logger.info("Payment marked as refunded: {}", payment.getId());
+                    logger.info("Payment refunded paymentId={} chargeId={}", payment.getId(), charge.getId());
                 }
             }
         }
     }
 
     /**
-     * Get payment by ID
+     * Get payment by ID, falling back to archived payments
      */
     public Payment getPaymentById(Long paymentId) {
-        Optional<Payment> result = paymentRepository.findById(paymentId);
+        Optional<Payment> result = paymentRepository.findById(paymentId)
+                .or(() -> archiveService.findPayment(paymentId));
         return result
                 .orElseThrow(() -> new RuntimeException("Payment not found with id: " + paymentId));
     }
@@ -426,26 +474,13 @@ public class PaymentService {
      * @return Updated payment object
      */
     public Payment confirmPayment(Long paymentId) throws StripeException {
-        Stripe.apiKey = stripeApiKey;
-
-        logger.info("═══════════════════════════════════════════════");
-        logger.info("🔄 PAYMENT CONFIRMATION STARTED - Payment ID: {}", paymentId);
-        logger.info("═══════════════════════════════════════════════");
-
-        // Get payment from database
-        Payment payment = getPaymentById(paymentId);
-
-        logger.info("📋 Current payment state in database:");
-        logger.info("   ID: {}", payment.getId());
-        logger.info("   Status: {}", payment.getStatus());
-        logger.info("   SessionID: {}", payment.getStripeSessionId());
-        logger.info("   PaymentIntentID: {}", payment.getStripePaymentIntentId());
-        logger.info("   Amount: {}", payment.getAmount());
-        logger.info("   Currency: {}", payment.getCurrency());
+        // Get payment from database (archived payments are final and never confirmed again)
+        Payment payment = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new RuntimeException("Payment not found with id: " + paymentId));
 
         // If already marked as succeeded, return it
         if ("SUCCEEDED".equals(payment.getStatus())) {
-            logger.info("✓ Payment {} is already marked as SUCCEEDED", paymentId);
+            logger.debug("Confirm skipped: paymentId={} already SUCCEEDED", paymentId);
             return payment;
         }
 
@@ -455,109 +490,194 @@ public class PaymentService {
 
             // If PaymentIntent ID is missing, retrieve it from the session
             if (paymentIntentId == null || paymentIntentId.isEmpty()) {
-                logger.warn("⚠️ PaymentIntent ID not in database, retrieving from Stripe session: {}", sessionId);
-
                 if (sessionId == null || sessionId.isEmpty()) {
-                    logger.error("❌ SESSION ID IS ALSO MISSING!");
-                    logger.error("   Cannot confirm payment without SessionID");
-                    logger.warn("   Returning payment with current status: {}", payment.getStatus());
+                    logger.warn("Confirm skipped: paymentId={} has no session or payment intent, status={}",
+                            paymentId, payment.getStatus());
                     return payment;
                 }
 
                 try {
-                    logger.info("🔍 Retrieving session from Stripe: {}", sessionId);
-                    Session session = Session.retrieve(sessionId);
-                    logger.info("✓ Session retrieved from Stripe");
+                    Session session = callStripe("checkout.session.retrieve", () -> stripeClient.checkout().sessions().retrieve(sessionId));
 
                     paymentIntentId = session.getPaymentIntent();
                     if (paymentIntentId != null && !paymentIntentId.isEmpty()) {
-                        logger.info("✓ PaymentIntent ID found in session: {}", paymentIntentId);
                         // Update the payment record with the PaymentIntent ID for future reference
                         payment.setStripePaymentIntentId(paymentIntentId);
                         paymentRepository.save(payment);
-                        logger.info("✓ PaymentIntent ID saved to database for future use");
                     } else {
-                        logger.warn("⚠️ Session does not have PaymentIntent ID yet");
-                        logger.warn("   Payment is still processing or requires further action");
+                        logger.info("Confirm pending: paymentId={} sessionId={} has no payment intent yet",
+                                paymentId, sessionId);
                         payment.setStatus("PENDING");
                         payment.setUpdatedAt(LocalDateTime.now());
-                        paymentRepository.save(payment);
+                        savePayment(payment);
                         return payment;
                     }
                 } catch (Exception e) {
-                    logger.error("❌ Error retrieving session from Stripe: {}", e.getMessage());
-                    logger.warn("   Returning payment with current status: {}", payment.getStatus());
+                    logger.error("Confirm failed to retrieve sessionId={} for paymentId={}: {}", sessionId,
+                            paymentId, e.getMessage());
                     return payment;
                 }
             }
 
-            logger.info("🔍 Querying Stripe API for PaymentIntent: {}", paymentIntentId);
-            PaymentIntent paymentIntent = PaymentIntent.retrieve(paymentIntentId);
-            logger.info("✓ PaymentIntent retrieved from Stripe");
-            logger.info("   Stripe PaymentIntent ID: {}", paymentIntent.getId());
-            logger.info("   Stripe Status: {}", paymentIntent.getStatus());
-            logger.info("   Stripe Amount: {}", paymentIntent.getAmount());
-            logger.info("   Stripe Currency: {}", paymentIntent.getCurrency());
+            String intentId = paymentIntentId;
+            PaymentIntent paymentIntent = callStripe("payment_intent.retrieve",
+                    () -> stripeClient.paymentIntents().retrieve(intentId));
+            String stripeStatus = paymentIntent.getStatus();
 
             // Check if payment succeeded in Stripe
-            if ("succeeded".equalsIgnoreCase(paymentIntent.getStatus())) {
-                logger.info("✅ STRIPE CONFIRMS: Payment is SUCCEEDED");
-                // Update payment record
+            if ("succeeded".equalsIgnoreCase(stripeStatus)) {
                 payment.setStatus("SUCCEEDED");
                 payment.setPaidAt(LocalDateTime.now());
                 payment.setUpdatedAt(LocalDateTime.now());
-                payment = paymentRepository.save(payment);
-
-                logger.info("✅ DATABASE UPDATED: Payment status updated to SUCCEEDED");
-                logger.info("   Payment ID: {}, PaidAt: {}", payment.getId(), payment.getPaidAt());
-                logger.info("═══════════════════════════════════════════════");
-                return payment;
-            } else if ("processing".equalsIgnoreCase(paymentIntent.getStatus())) {
-                logger.warn("⏳ PaymentIntent {} is still processing", paymentIntent.getId());
-                logger.warn("   This is normal - payment may still be being processed by Stripe");
+                payment = savePayment(payment);
+            } else if ("processing".equalsIgnoreCase(stripeStatus)) {
                 payment.setStatus("PENDING");
                 payment.setUpdatedAt(LocalDateTime.now());
-                paymentRepository.save(payment);
-                logger.info("═══════════════════════════════════════════════");
-                return payment;
-            } else if ("requires_payment_method".equalsIgnoreCase(paymentIntent.getStatus())) {
-                logger.error("❌ PaymentIntent requires payment method - payment failed");
+                savePayment(payment);
+            } else if ("requires_payment_method".equalsIgnoreCase(stripeStatus)) {
                 payment.setStatus("FAILED");
                 payment.setErrorMessage("Payment requires payment method - please try again");
-                payment = paymentRepository.save(payment);
-                logger.info("═══════════════════════════════════════════════");
-                return payment;
-            } else {
-                logger.warn("⚠️ PaymentIntent has unexpected status: {}", paymentIntent.getStatus());
-                logger.warn("   This payment status is not yet handled. Keeping as-is.");
-                logger.info("═══════════════════════════════════════════════");
-                return payment;
+                payment = savePayment(payment);
             }
 
+            logger.info("Payment confirmed paymentId={} paymentIntentId={} stripeStatus={} status={}",
+                    paymentId, paymentIntentId, stripeStatus, payment.getStatus());
+            return payment;
+
         } catch (com.stripe.exception.InvalidRequestException e) {
-            logger.error("❌ Stripe Invalid Request Error for PaymentIntent {}", payment.getStripePaymentIntentId());
-            logger.error("   Error Code: {}", e.getCode());
-            logger.error("   Error Message: {}", e.getMessage());
+            logger.error("Confirm rejected by Stripe paymentId={} paymentIntentId={} code={}: {}", paymentId,
+                    payment.getStripePaymentIntentId(), e.getCode(), e.getMessage());
             throw e;
         } catch (com.stripe.exception.AuthenticationException e) {
-            logger.error("❌ Stripe Authentication Error");
-            logger.error("   Message: {}", e.getMessage());
-            logger.error("   Verify Stripe API key is correctly configured");
+            logger.error("Confirm failed: Stripe authentication error, verify API key: {}", e.getMessage());
             throw e;
         } catch (com.stripe.exception.StripeException e) {
-            logger.error("❌ Stripe Exception while confirming payment");
-            logger.error("   Status Code: {}", e.getStatusCode());
-            logger.error("   Message: {}", e.getMessage());
+            logger.error("Confirm failed paymentId={} stripeStatus={}: {}", paymentId, e.getStatusCode(),
+                    e.getMessage());
             throw e;
         } catch (Exception e) {
-            logger.error("❌ Unexpected error confirming payment");
-            logger.error("   Exception Type: {}", e.getClass().getName());
-            logger.error("   Message: {}", e.getMessage());
-            logger.error("   Full error:", e);
+            logger.error("Confirm failed paymentId={}", paymentId, e);
             throw new RuntimeException("Failed to confirm payment: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A single Stripe API call
+     */
+    @FunctionalInterface
+    private interface StripeCall<T> {
+        T execute() throws StripeException;
+    }
+
+    /**
+     * Rejected without calling Stripe because the circuit breaker is open
+     */
+    public static class StripeUnavailableException extends ApiConnectionException {
+        private final long retryAfterSeconds;
+
+        public StripeUnavailableException(long retryAfterSeconds) {
+            super("Payment provider is temporarily unavailable, please try again shortly");
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+
+    /**
+     * Execute a Stripe API call through the circuit breaker, recording its latency
+     * (stripe.api.requests) and failures (stripe.api.errors) per operation
+     * Only connection errors, rate limiting and Stripe server errors count as
+     * failures for the breaker; a declined card or invalid request does not.
+     */
+    private <T> T callStripe(String operation, StripeCall<T> call) throws StripeException {
+        if (!stripeCircuitBreaker.allowRequest()) {
+            meterRegistry.counter("stripe.circuit.rejected", "operation", operation).increment();
+            throw new StripeUnavailableException(stripeCircuitBreaker.getRetryAfterSeconds());
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            T result = call.execute();
+            stripeCircuitBreaker.recordSuccess();
+            return result;
+        } catch (StripeException e) {
+            outcome = "error";
+            if (e instanceof ApiConnectionException || e instanceof RateLimitException || e instanceof ApiException) {
+                stripeCircuitBreaker.recordFailure();
+            } else {
+                stripeCircuitBreaker.recordIgnored();
+            }
+            meterRegistry.counter("stripe.api.errors",
+                    "operation", operation, "type", e.getClass().getSimpleName()).increment();
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            stripeCircuitBreaker.recordFailure();
+            throw e;
         } finally {
-            logger.info("═══════════════════════════════════════════════");
+            sample.stop(Timer.builder("stripe.api.requests")
+                    .description("Latency of Stripe API calls")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Save a payment whose status may have changed
+     * The stored row is locked first and its status is the previous one, so two
+     * callers settling the same payment (webhook and confirm) cannot both count the
+     * same transition. The club's revenue counters move in the same transaction,
+     * see ClubStatsService, and a status change is written to the outbox with it
+     */
+    private Payment savePayment(Payment payment) {
+        return transactionTemplate.execute(status -> {
+            String previousStatus = jdbcTemplate.query(LOCK_STATUS_SQL,
+                    rs -> rs.next() ? rs.getString(1) : null, payment.getId());
+            if (previousStatus == null) {
+                throw new RuntimeException("Payment not found");
+            }
+            Payment saved = paymentRepository.save(payment);
+            clubStatsService.paymentStatusChanged(saved.getClubId(), saved.getAmount(),
+                    previousStatus, saved.getStatus());
+            if (!Objects.equals(previousStatus, saved.getStatus())) {
+                outboxService.append(changed(DomainEvent.PAYMENT_STATUS_CHANGED, saved, previousStatus));
+            }
+            return saved;
+        });
+    }
+
+    /**
+     * Outbox event for a payment; previousStatus is null for a new payment
+     */
+    private static DomainEvent changed(String type, Payment payment, String previousStatus) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("userId", payment.getUserId());
+        payload.put("clubId", payment.getClubId());
+        payload.put("amount", payment.getAmount());
+        payload.put("currency", payment.getCurrency());
+        payload.put("previousStatus", previousStatus);
+        payload.put("status", payment.getStatus());
+        return DomainEvent.of(DomainEvent.PAYMENT, payment.getId(), type, payload);
+    }
+
+    /**
+     * Record how long after creation a webhook event reached this service
+     */
+    private void recordWebhookLag(Event event) {
+        if (event.getCreated() == null) {
+            return;
         }
+        long lagMillis = System.currentTimeMillis() - event.getCreated() * 1000L;
+        Timer.builder("stripe.webhook.lag")
+                .description("Delay between Stripe creating an event and this service processing it")
+                .tag("type", event.getType())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(Math.max(lagMillis, 0), TimeUnit.MILLISECONDS);
     }
 
     /**
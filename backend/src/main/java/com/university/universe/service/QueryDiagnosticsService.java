@@ -0,0 +1,153 @@
+package com.university.universe.service;
+
+import com.university.universe.config.QueryDiagnosticsProperties;
+import com.university.universe.config.StatementCountingInspector.RequestStatements;
+import com.university.universe.dto.QueryReport;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Service for the slow-query / N+1 detector
+ * Evaluates the statements recorded for each request against the configured
+ * budgets, logs offenders tagged with the controller method and keeps the
+ * most recent reports plus per-handler totals for the admin dashboard
+ */
+@Service
+public class QueryDiagnosticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryDiagnosticsService.class);
+
+    @Autowired
+    private QueryDiagnosticsProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Deque<QueryReport> recentReports = new ArrayDeque<>();
+
+    private final Map<String, HandlerTotals> handlerTotals = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Evaluate one completed request
+     */
+    public void evaluate(String handler, String method, String uri, RequestStatements statements,
+            long durationMillis) {
+        HandlerTotals totals = handlerTotals.computeIfAbsent(handler, h -> new HandlerTotals());
+        totals.record(statements.getCount());
+
+        List<String> reasons = new ArrayList<>();
+        if (statements.getCount() > properties.getStatementThreshold()) {
+            reasons.add("STATEMENT_COUNT");
+        }
+
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        statements.getFingerprints().entrySet().stream()
+                .filter(entry -> entry.getValue() >= properties.getRepeatThreshold())
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        if (!repeated.isEmpty()) {
+            reasons.add("REPEATED_STATEMENT");
+        }
+
+        if (durationMillis > properties.getSlowRequestMillis()) {
+            reasons.add("SLOW_REQUEST");
+        }
+
+        if (reasons.isEmpty()) {
+            return;
+        }
+
+        for (String reason : reasons) {
+            meterRegistry.counter("diagnostics.queries.flagged", "handler", handler, "reason", reason).increment();
+        }
+        totals.flagged.incrementAndGet();
+
+        QueryReport report = new QueryReport(handler, method, uri, statements.getCount(), durationMillis,
+                reasons, repeated);
+        synchronized (recentReports) {
+            recentReports.addFirst(report);
+            while (recentReports.size() > properties.getMaxReports()) {
+                recentReports.removeLast();
+            }
+        }
+
+        logger.warn("Query budget exceeded handler={} {} {} statements={} durationMs={} reasons={} repeated={}",
+                handler, method, uri, statements.getCount(), durationMillis, reasons, repeated);
+    }
+
+    /**
+     * Dashboard view: per-handler totals and the most recent flagged requests
+     */
+    public Map<String, Object> getDashboard() {
+        Map<String, Object> handlers = new HashMap<>();
+        handlerTotals.forEach((handler, totals) -> handlers.put(handler, totals.toMap()));
+
+        List<QueryReport> reports;
+        synchronized (recentReports) {
+            reports = new ArrayList<>(recentReports);
+        }
+
+        Map<String, Object> dashboard = new HashMap<>();
+        dashboard.put("enabled", properties.isEnabled());
+        dashboard.put("statementThreshold", properties.getStatementThreshold());
+        dashboard.put("repeatThreshold", properties.getRepeatThreshold());
+        dashboard.put("slowRequestMillis", properties.getSlowRequestMillis());
+        dashboard.put("handlers", handlers);
+        dashboard.put("recentReports", reports);
+        return dashboard;
+    }
+
+    /**
+     * Clear collected totals and reports
+     */
+    public void reset() {
+        handlerTotals.clear();
+        synchronized (recentReports) {
+            recentReports.clear();
+        }
+    }
+
+    /**
+     * Running totals for one controller method
+     */
+    private static final class HandlerTotals {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong statements = new AtomicLong();
+        private final AtomicLong flagged = new AtomicLong();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+
+        private void record(int statementCount) {
+            requests.incrementAndGet();
+            statements.addAndGet(statementCount);
+            maxStatements.accumulate(statementCount);
+        }
+
+        private Map<String, Object> toMap() {
+            long requestCount = requests.get();
+            Map<String, Object> map = new HashMap<>();
+            map.put("requests", requestCount);
+            map.put("flaggedRequests", flagged.get());
+            map.put("maxStatements", maxStatements.get());
+            map.put("avgStatements", requestCount == 0 ? 0.0 : (double) statements.get() / requestCount);
+            return map;
+        }
+    }
+}
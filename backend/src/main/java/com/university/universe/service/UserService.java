@@ -1,23 +1,53 @@
 package com.university.universe.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.university.universe.model.User;
 import com.university.universe.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 @SuppressWarnings("null")
 public class UserService {
 
+    // Fields a merge patch may change (the password has its own flow)
+    private static final Map<String, MergePatch.Field> PATCHABLE = Map.of(
+            "firstName", new MergePatch.Field(String.class, false),
+            "lastName", new MergePatch.Field(String.class, false),
+            "email", new MergePatch.Field(String.class, false),
+            "role", new MergePatch.Field(String.class, false));
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     // Register a new user
     public User registerUser(User user) {
         // Check if email already exists
@@ -43,8 +73,15 @@ public class UserService {
 
         User user = userOptional.get();
 
-        // Check if password matches
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        // Check if password matches (BCrypt cost dominates login latency, so it is timed)
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean matches = passwordEncoder.matches(password, user.getPassword());
+        sample.stop(Timer.builder("auth.password.verify")
+                .description("Duration of password hash verification on login")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry));
+
+        if (!matches) {
             throw new RuntimeException("Invalid password");
         }
 
@@ -87,13 +124,36 @@ public class UserService {
         existingUser.setLastName(updatedUser.getLastName());
         existingUser.setEmail(updatedUser.getEmail());
         existingUser.setRole(updatedUser.getRole());
+        existingUser.setUpdatedAt(LocalDateTime.now());
 
         return userRepository.save(existingUser);
     }
 
+    /**
+     * Apply a JSON Merge Patch (firstName, lastName, email, role) with one UPDATE
+     * Only the patched columns are written and the user is not loaded; a new
+     * email is checked for uniqueness first. Returns the user read back, or
+     * null when returnUpdated is false.
+     */
+    @Transactional
+    public User patchUser(Long id, Map<String, Object> patch, boolean returnUpdated) {
+        MergePatch changes = MergePatch.of("User", patch, PATCHABLE, objectMapper)
+                .set("updatedAt", LocalDateTime.now());
+        if (changes.has("email") && userRepository.existsByEmailAndIdNot((String) changes.get("email"), id)) {
+            throw new RuntimeException("Email already exists");
+        }
+        if (!changes.apply(entityManager, User.class, id, false, null)) {
+            changes.requireUpdated(entityManager, User.class, id);
+        }
+        return returnUpdated ? userRepository.findById(id).orElseThrow(() -> new RuntimeException("User not found"))
+                : null;
+    }
+
     // Delete user
     public void deleteUser(Long id) {
         Long idToDelete = id;
         userRepository.deleteById(idToDelete);
+        archiveService.deleteUserArchives(idToDelete);
+        notificationService.deleteUserNotifications(idToDelete);
     }
 }
@@ -0,0 +1,21 @@
+package com.university.universe.service;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Compares the version a client last read with the stored one before an update
+ * A null expected version means the client did not ask for a check. Edits that
+ * race past this check are still caught by Hibernate's @Version check, which
+ * throws ObjectOptimisticLockingFailureException (a subclass) at flush.
+ */
+final class VersionCheck {
+
+    private VersionCheck() {
+    }
+
+    static void require(String entity, Long expected, Long current) {
+        if (expected != null && !expected.equals(current)) {
+            throw new OptimisticLockingFailureException(entity + " was changed by someone else");
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.university.universe.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmark for AnalyticsEngine group-bys on synthetic data
+ * Run main() with an optional row count (default 1,000,000 memberships and
+ * as many payments). Compares one fork-join thread, all CPUs, and grouping
+ * the same rows as objects with streams.
+ */
+public class AnalyticsBenchmark {
+
+    private static final String[] FACULTIES = { "Computing", "Engineering", "Business", "Medicine", "Science",
+            "Arts", "Law", "Architecture", "Humanities", "Education", "Agriculture", "Management" };
+    private static final String[] YEARS = { "1", "2", "3", "4", "Postgraduate" };
+    private static final int CLUBS = 60;
+    private static final int WARMUP = 10;
+    private static final int RUNS = 30;
+    private static final int BATCH = 50000;
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(42);
+        LocalDate start = LocalDate.now().minusYears(3);
+
+        List<AnalyticsEngine.MembershipRow> memberships = new ArrayList<>(rows);
+        List<AnalyticsEngine.PaymentRow> payments = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            LocalDateTime at = start.plusDays(random.nextInt(3 * 365)).atTime(12, 0);
+            long club = 1 + random.nextInt(CLUBS);
+            memberships.add(new AnalyticsEngine.MembershipRow(i, club, at,
+                    FACULTIES[random.nextInt(FACULTIES.length)], YEARS[random.nextInt(YEARS.length)]));
+            payments.add(new AnalyticsEngine.PaymentRow(i, club, BigDecimal.valueOf(500 + random.nextInt(4500)),
+                    random.nextInt(10) < 8 ? "SUCCEEDED" : "FAILED", at, at));
+        }
+
+        System.out.println("=== Analytics group-by benchmark ===");
+        System.out.println("Rows: " + rows + " memberships, " + rows + " payments, CPUs: "
+                + Runtime.getRuntime().availableProcessors());
+
+        int[] parallelism = IntStream.of(1, Runtime.getRuntime().availableProcessors()).distinct().toArray();
+        for (int threads : parallelism) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            AnalyticsEngine engine = new AnalyticsEngine(pool);
+            long loadStart = System.nanoTime();
+            for (int i = 0; i < rows; i += BATCH) {
+                engine.appendMemberships(memberships.subList(i, Math.min(rows, i + BATCH)));
+                engine.putPayments(payments.subList(i, Math.min(rows, i + BATCH)));
+            }
+            System.out.printf("%nFork-join threads: %d (load %.0f ms)%n", threads, (System.nanoTime() - loadStart) / 1e6);
+
+            LocalDate from = start.plusYears(1);
+            LocalDate to = LocalDate.now();
+            time("joins by faculty, 2 years", () -> engine.joins("faculty", from, to, null));
+            time("joins by year, all time", () -> engine.joins("year", LocalDate.MIN, LocalDate.MAX, null));
+            time("joins by club, all time", () -> engine.joins("club", LocalDate.MIN, LocalDate.MAX, null));
+            time("revenue per club and month", () -> engine.revenue(YearMonth.from(start), YearMonth.now(), null));
+            pool.shutdown();
+        }
+
+        System.out.println("\nObjects and streams (for comparison)");
+        LocalDateTime from = start.plusYears(1).atStartOfDay();
+        time("joins by faculty, 2 years", () -> memberships.stream()
+                .filter(m -> !m.joinedAt().isBefore(from))
+                .collect(Collectors.groupingBy(AnalyticsEngine.MembershipRow::faculty, Collectors.counting())));
+        time("revenue per club and month", () -> payments.stream()
+                .filter(p -> "SUCCEEDED".equals(p.status()))
+                .collect(Collectors.groupingBy(p -> Map.entry(p.clubId(), YearMonth.from(p.paidAt())),
+                        Collectors.reducing(BigDecimal.ZERO, AnalyticsEngine.PaymentRow::amount, BigDecimal::add))));
+    }
+
+    private static void time(String name, Supplier<?> query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.get();
+        }
+        double[] millis = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            millis[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(millis);
+        System.out.printf("  %-28s median %7.2f ms   p90 %7.2f ms%n", name, millis[RUNS / 2], millis[RUNS * 9 / 10]);
+    }
+}
@@ -0,0 +1,158 @@
+package com.university.universe.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test: the public catalog GETs under many concurrent clients
+ * Run main() before and after a change and compare the two reports:
+ *   CatalogLoadTest <baseUrl> [inFlight=1000] [seconds=30] [managementUrl=http://localhost:8091] [clubId=1]
+ * e.g. http://localhost:8081, with the actuator on management.server.port.
+ * inFlight clients loop over
+ * GET /api/clubs, /api/clubs/{clubId}, /api/events and /api/events/club/{clubId},
+ * each request on a new connection (Connection: close), so requests/s is also
+ * connections/s. Heap and live threads are read from /actuator/prometheus
+ * before and during the load; the heap growth divided by inFlight is the
+ * memory cost of one request in flight.
+ */
+public class CatalogLoadTest {
+
+    private static final int SAMPLE_INTERVAL_MS = 500;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("Usage: CatalogLoadTest <baseUrl> [inFlight] [seconds] [managementUrl] [clubId]");
+            return;
+        }
+        URI base = URI.create(args[0].replaceAll("/+$", ""));
+        int inFlight = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        String managementUrl = (args.length > 3 ? args[3] : "http://localhost:8091").replaceAll("/+$", "");
+        long clubId = args.length > 4 ? Long.parseLong(args[4]) : 1;
+        List<String> paths = List.of("/api/clubs", "/api/clubs/" + clubId, "/api/events",
+                "/api/events/club/" + clubId);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        URI prometheus = URI.create(managementUrl + "/actuator/prometheus");
+        double[] baseline = sample(client, prometheus);
+
+        System.out.println("=== Catalog load test ===");
+        System.out.println(base + ", " + inFlight + " clients for " + seconds + " s");
+        System.out.printf("Baseline heap %.1f MB, %.0f live threads%n", baseline[0] / 1e6, baseline[1]);
+
+        Map<String, AtomicInteger> outcomes = new ConcurrentHashMap<>();
+        List<List<Double>> millis = new ArrayList<>(inFlight);
+        AtomicLong connections = new AtomicLong();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Thread> clients = new ArrayList<>(inFlight);
+        for (int i = 0; i < inFlight; i++) {
+            List<Double> own = new ArrayList<>();
+            millis.add(own);
+            int first = i;
+            Thread thread = new Thread(() -> {
+                for (int n = first; System.nanoTime() < deadline; n++) {
+                    long sent = System.nanoTime();
+                    String outcome = get(base, paths.get(n % paths.size()));
+                    own.add((System.nanoTime() - sent) / 1e6);
+                    connections.incrementAndGet();
+                    outcomes.computeIfAbsent(outcome, k -> new AtomicInteger()).incrementAndGet();
+                }
+            }, "catalog-client-" + i);
+            thread.setDaemon(true);
+            clients.add(thread);
+        }
+        long start = System.nanoTime();
+        clients.forEach(Thread::start);
+
+        // Peak heap and threads while the clients run
+        double peakHeap = baseline[0];
+        double peakThreads = baseline[1];
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(SAMPLE_INTERVAL_MS);
+            double[] now = sample(client, prometheus);
+            peakHeap = Math.max(peakHeap, now[0]);
+            peakThreads = Math.max(peakThreads, now[1]);
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        double totalSeconds = (System.nanoTime() - start) / 1e9;
+
+        double[] all = millis.stream().flatMap(List::stream).mapToDouble(Double::doubleValue).sorted().toArray();
+        if (all.length == 0) {
+            System.out.println("No requests completed");
+            return;
+        }
+        System.out.printf("%d requests in %.1f s: %.0f connections/s%n", connections.get(), totalSeconds,
+                connections.get() / totalSeconds);
+        System.out.printf("Latency p50 %.1f ms, p95 %.1f ms, p99 %.1f ms, max %.1f ms%n", all[all.length / 2],
+                all[(int) (all.length * 0.95)], all[(int) (all.length * 0.99)], all[all.length - 1]);
+        new TreeMap<>(outcomes).forEach((outcome, count) -> System.out.println("  " + outcome + ": " + count));
+        System.out.printf("Peak heap %.1f MB (+%.1f MB, %.1f KB per in-flight request)%n", peakHeap / 1e6,
+                (peakHeap - baseline[0]) / 1e6, Math.max(peakHeap - baseline[0], 0) / 1024 / inFlight);
+        System.out.printf("Peak live threads %.0f (+%.0f)%n", peakThreads, peakThreads - baseline[1]);
+    }
+
+    // One request on its own connection; returns "HTTP <status>" or the error
+    private static String get(URI base, String path) {
+        int port = base.getPort() > 0 ? base.getPort() : 80;
+        try (Socket socket = new Socket(base.getHost(), port)) {
+            socket.setSoTimeout(60_000);
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET " + path + " HTTP/1.1\r\nHost: " + base.getHost() + ":" + port
+                    + "\r\nAccept: application/json\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            InputStream in = socket.getInputStream();
+            byte[] head = new byte[12];
+            int read = in.readNBytes(head, 0, head.length);
+            // Drain the rest so the server sees a complete exchange
+            in.transferTo(OutputStream.nullOutputStream());
+            String statusLine = new String(head, 0, read, StandardCharsets.US_ASCII);
+            return read == head.length ? "HTTP " + statusLine.substring(9, 12) : "error short response";
+        } catch (IOException e) {
+            return "error " + e.getClass().getSimpleName();
+        }
+    }
+
+    // Heap bytes used (all heap pools) and live threads, from the Prometheus scrape; NaN when unavailable
+    private static double[] sample(HttpClient client, URI prometheus) {
+        double heap = 0;
+        double threads = Double.NaN;
+        try {
+            String body = client.send(HttpRequest.newBuilder(prometheus).timeout(Duration.ofSeconds(10)).build(),
+                    HttpResponse.BodyHandlers.ofString()).body();
+            for (String line : body.split("\n")) {
+                if (line.startsWith("jvm_memory_used_bytes{") && line.contains("area=\"heap\"")) {
+                    heap += value(line);
+                } else if (line.startsWith("jvm_threads_live_threads")) {
+                    threads = value(line);
+                }
+            }
+        } catch (IOException e) {
+            return new double[] { Double.NaN, Double.NaN };
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new double[] { Double.NaN, Double.NaN };
+        }
+        return new double[] { heap, threads };
+    }
+
+    private static double value(String line) {
+        return Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+    }
+}
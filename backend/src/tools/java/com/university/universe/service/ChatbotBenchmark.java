@@ -0,0 +1,174 @@
+package com.university.universe.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.universe.config.ChatbotProperties;
+import com.university.universe.dto.ChatbotIntents;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Benchmark and accuracy check for the chatbot intent engine
+ * Run main() with an optional repeat count (default 2,000 passes over the
+ * corpus per run). Scores the bundled chatbot/intents.json on
+ * chatbot/intent-corpus.tsv and prints every miss, then times IntentMatcher
+ * against the substring chain ChatbotController used before it, on the corpus
+ * messages and on a message of chatbot.max-message-length characters (the
+ * endpoint is public, so that is the worst case a client can send). Exits with
+ * status 1 when the engine misses a corpus line, so it can gate a change to
+ * the intents.
+ */
+public class ChatbotBenchmark {
+
+    private static final int WARMUP = 10;
+    private static final int RUNS = 30;
+
+    // Keeps the classified results alive so the timed loops are not optimized away
+    private static volatile long blackhole;
+
+    public static void main(String[] args) throws IOException {
+        int repeats = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int maxMessageLength = new ChatbotProperties().getMaxMessageLength();
+        ChatbotIntents config;
+        try (InputStream in = resource("chatbot/intents.json")) {
+            config = new ObjectMapper().readValue(in, ChatbotIntents.class);
+        }
+        IntentMatcher matcher = IntentMatcher.compile(config, maxMessageLength);
+        List<String[]> corpus = corpus();
+
+        System.out.println("=== Chatbot intent benchmark ===");
+        System.out.println(matcher.getIntentCount() + " intents, " + corpus.size() + " corpus lines");
+
+        System.out.println("\nAccuracy");
+        int engineMisses = accuracy("intent engine", corpus, message -> {
+            String intent = matcher.classify(message).getIntent();
+            return intent != null ? intent : "fallback";
+        });
+        accuracy("contains() chain", corpus, ChatbotBenchmark::containsChain);
+
+        String[] messages = corpus.stream().map(line -> line[1]).toArray(String[]::new);
+        StringBuilder longMessage = new StringBuilder();
+        while (longMessage.length() < maxMessageLength) {
+            longMessage.append("could someone tell me which societies run workshops this semester ");
+        }
+        String[] longMessages = { longMessage.substring(0, maxMessageLength) };
+
+        System.out.println("\nTime per message");
+        time("engine, corpus", messages, repeats, message -> matcher.classify(message).getResponse());
+        time("contains(), corpus", messages, repeats, ChatbotBenchmark::containsChain);
+        time("engine, longest message", longMessages, repeats, message -> matcher.classify(message).getResponse());
+        time("contains(), longest message", longMessages, repeats, ChatbotBenchmark::containsChain);
+
+        if (engineMisses > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static int accuracy(String name, List<String[]> corpus, Function<String, String> classifier) {
+        int misses = 0;
+        for (String[] line : corpus) {
+            String actual = classifier.apply(line[1]);
+            if (!line[0].equals(actual)) {
+                if (misses++ == 0) {
+                    System.out.println("  " + name + " misses:");
+                }
+                System.out.printf("    %-10s -> %-10s %s%n", line[0], actual, line[1]);
+            }
+        }
+        System.out.printf("  %-20s %d/%d correct%n", name, corpus.size() - misses, corpus.size());
+        return misses;
+    }
+
+    private static void time(String name, String[] messages, int repeats, Function<String, String> classifier) {
+        for (int i = 0; i < WARMUP; i++) {
+            blackhole += pass(messages, repeats, classifier);
+        }
+        double[] nanos = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            blackhole += pass(messages, repeats, classifier);
+            nanos[i] = (double) (System.nanoTime() - start) / ((long) messages.length * repeats);
+        }
+        Arrays.sort(nanos);
+        System.out.printf("  %-28s median %9.1f ns   p90 %9.1f ns%n", name, nanos[RUNS / 2], nanos[RUNS * 9 / 10]);
+    }
+
+    private static long pass(String[] messages, int repeats, Function<String, String> classifier) {
+        long hash = 0;
+        for (int r = 0; r < repeats; r++) {
+            for (String message : messages) {
+                hash += classifier.apply(message).length();
+            }
+        }
+        return hash;
+    }
+
+    // The branch order and substrings of ChatbotController before the intent engine
+    private static String containsChain(String message) {
+        String lower = message.toLowerCase();
+        if (lower.contains("hello") || lower.contains("hi") || lower.contains("hey")) {
+            return "greeting";
+        }
+        if (lower.contains("course") || lower.contains("program") || lower.contains("study")) {
+            return "courses";
+        }
+        if (lower.contains("fee") || lower.contains("price") || lower.contains("cost")
+                || lower.contains("membership")) {
+            return "fees";
+        }
+        if (lower.contains("event") || lower.contains("happening") || lower.contains("schedule")) {
+            return "events";
+        }
+        if (lower.contains("club") || lower.contains("join") || lower.contains("activity")) {
+            return "clubs";
+        }
+        if (lower.contains("how") || lower.contains("help") || lower.contains("what can you")) {
+            return "help";
+        }
+        if (lower.contains("contact") || lower.contains("support") || lower.contains("email")) {
+            return "contact";
+        }
+        if (lower.contains("about") || lower.contains("what is") || lower.contains("universe")) {
+            return "about";
+        }
+        if (lower.contains("thanks") || lower.contains("thank you") || lower.contains("goodbye")
+                || lower.contains("bye")) {
+            return "goodbye";
+        }
+        return "fallback";
+    }
+
+    // <expected intent><TAB><message> lines, as ChatbotService.evaluateCorpus reads them
+    private static List<String[]> corpus() throws IOException {
+        List<String[]> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource("chatbot/intent-corpus.tsv"), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\t", 2);
+                if (parts.length == 2) {
+                    lines.add(parts);
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static InputStream resource(String name) throws IOException {
+        InputStream in = ChatbotBenchmark.class.getClassLoader().getResourceAsStream(name);
+        if (in == null) {
+            throw new IOException(name + " not found on the classpath");
+        }
+        return in;
+    }
+}
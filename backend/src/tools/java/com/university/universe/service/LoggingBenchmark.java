@@ -0,0 +1,198 @@
+package com.university.universe.service;
+
+import com.university.universe.controller.PaymentController;
+import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingInitializationContext;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Benchmark: request latency added by logging, default profile vs prod profile
+ * Run main() with optional request count per thread (default 5,000), thread
+ * count (default 8) and total request rate (default 2,000/s, 0 for as fast as
+ * possible). Logging is set up from the real logback-spring.xml and
+ * application(-prod).properties: the default profile echoes formatted SQL to
+ * stdout (show-sql) and logs DEBUG through the synchronous console appender;
+ * prod logs INFO as JSON through the async ring buffer and no SQL. Each
+ * simulated request is a paid club join: the statements it runs and the log
+ * calls ClubMembershipService and PaymentService make on the way. Log output
+ * goes to a temporary file (stdout is redirected), results to stderr. prod
+ * drops INFO events while its ring buffer is nearly full (neverBlock), which
+ * an unpaced run provokes; the log lines per request show whether it did.
+ */
+public class LoggingBenchmark {
+
+    private static final int WARMUP = 2000;
+
+    // Statements of a paid join, as Hibernate generates them
+    private static final String[] JOIN_SQL = {
+            "select u1_0.id,u1_0.email,u1_0.first_name,u1_0.last_name,u1_0.role from users u1_0 where u1_0.id=?",
+            "select c1_0.id,c1_0.name,c1_0.membership_fee,c1_0.version from clubs c1_0 where c1_0.id=?",
+            "select cm1_0.id from club_memberships cm1_0 where cm1_0.user_id=? and cm1_0.club_id=? limit ?",
+            "insert into club_memberships (club_id,joined_at,payment_id,user_id) values (?,?,?,?)",
+            "update club_stats set member_count=member_count+?,updated_at=? where club_id=?",
+            "insert into outbox_events (aggregate_id,aggregate_type,created_at,payload,status,type) "
+                    + "values (?,?,?,?,?,?)" };
+
+    private static final Logger membershipLogger = LoggerFactory.getLogger(ClubMembershipService.class);
+    private static final Logger paymentLogger = LoggerFactory.getLogger(PaymentService.class);
+    private static final Logger controllerLogger = LoggerFactory.getLogger(PaymentController.class);
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int rate = args.length > 2 ? Integer.parseInt(args[2]) : 2_000;
+        long intervalNanos = rate > 0 ? TimeUnit.SECONDS.toNanos(threads) / rate : 0;
+
+        PrintStream console = System.out;
+        Path sink = Files.createTempFile("logging-benchmark", ".log");
+        System.setOut(new PrintStream(new BufferedOutputStream(new FileOutputStream(sink.toFile()), 8192), true));
+        try {
+            System.err.println("=== Logging benchmark ===");
+            System.err.println(threads + " threads x " + requests + " paid joins"
+                    + (rate > 0 ? " at " + rate + "/s" : "") + ", log output to " + sink);
+            run("default", threads, requests, intervalNanos, sink);
+            run("prod", threads, requests, intervalNanos, sink);
+        } finally {
+            System.setOut(console);
+            Files.deleteIfExists(sink);
+        }
+    }
+
+    private static void run(String profile, int threads, int requests, long intervalNanos, Path sink)
+            throws Exception {
+        Properties properties = load("application.properties");
+        if (!"default".equals(profile)) {
+            properties.putAll(load("application-" + profile + ".properties"));
+        }
+        LoggingSystem loggingSystem = configure(profile, properties);
+        SqlStatementLogger sqlLogger = new SqlStatementLogger(
+                Boolean.parseBoolean(properties.getProperty("spring.jpa.show-sql")),
+                Boolean.parseBoolean(properties.getProperty("spring.jpa.properties.hibernate.format_sql")));
+
+        for (int i = 0; i < WARMUP; i++) {
+            request(sqlLogger, i);
+        }
+        long bytesBefore = Files.size(sink);
+
+        List<double[]> perThread = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            double[] micros = new double[requests];
+            perThread.add(micros);
+            int offset = t * requests;
+            new Thread(() -> {
+                long next = System.nanoTime();
+                for (int i = 0; i < requests; i++) {
+                    next += intervalNanos;
+                    LockSupport.parkNanos(next - System.nanoTime());
+                    long begin = System.nanoTime();
+                    request(sqlLogger, offset + i);
+                    micros[i] = (System.nanoTime() - begin) / 1e3;
+                }
+                done.countDown();
+            }, "request-" + t).start();
+        }
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        // Stopping the logging system drains the async queue, so the bytes count includes it
+        loggingSystem.cleanUp();
+        loggingSystem.getShutdownHandler().run();
+        System.out.flush();
+        long bytes = Files.size(sink) - bytesBefore;
+        long lines = countLines(sink, bytesBefore);
+
+        double[] all = perThread.stream().flatMapToDouble(Arrays::stream).sorted().toArray();
+        System.err.printf("%n%s profile%n", profile);
+        System.err.printf("  %.0f requests/s, %.1f log lines and %.0f bytes/request%n", all.length / seconds,
+                (double) lines / all.length, (double) bytes / all.length);
+        System.err.printf("  median %7.1f us   p99 %7.1f us   p99.9 %7.1f us   max %8.1f us%n",
+                all[all.length / 2], all[(int) (all.length * 0.99)], all[(int) (all.length * 0.999)],
+                all[all.length - 1]);
+    }
+
+    // One paid join: its SQL and the log calls along the way
+    private static void request(SqlStatementLogger sqlLogger, long id) {
+        long userId = 1000 + id % 5000;
+        long clubId = 1 + id % 60;
+        BigDecimal amount = BigDecimal.valueOf(2500);
+        controllerLogger.debug("Confirm request paymentId={} userId={}", id, userId);
+        paymentLogger.debug("LKR {} = {} cents (Stripe amount)", amount, amount.movePointRight(2).longValue());
+        for (String sql : JOIN_SQL) {
+            sqlLogger.logStatement(sql);
+        }
+        paymentLogger.info("Payment confirmed paymentId={} paymentIntentId=pi_{} stripeStatus={} status={}",
+                id, id, "succeeded", "SUCCEEDED");
+        membershipLogger.info("Joined club membershipId={} userId={} clubId={} paymentId={}",
+                id, userId, clubId, id);
+    }
+
+    // Logging as Spring Boot sets it up for the profile: logback-spring.xml plus logging.level.*
+    private static LoggingSystem configure(String profile, Properties properties) {
+        StandardEnvironment environment = new StandardEnvironment();
+        if (!"default".equals(profile)) {
+            environment.setActiveProfiles(profile);
+        }
+        environment.getPropertySources().addFirst(new PropertiesPropertySource("application", properties));
+
+        LoggingSystem loggingSystem = LoggingSystem.get(LoggingBenchmark.class.getClassLoader());
+        loggingSystem.beforeInitialize();
+        loggingSystem.initialize(new LoggingInitializationContext(environment), "classpath:logback-spring.xml", null);
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith("logging.level.")) {
+                String logger = name.substring("logging.level.".length());
+                loggingSystem.setLogLevel("root".equals(logger) ? null : logger,
+                        LogLevel.valueOf(properties.getProperty(name).trim().toUpperCase()));
+            }
+        }
+        return loggingSystem;
+    }
+
+    private static long countLines(Path file, long from) throws IOException {
+        long lines = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            in.skipNBytes(from);
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == '\n') {
+                    lines++;
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static Properties load(String resource) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = LoggingBenchmark.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException(resource + " not found on the classpath");
+            }
+            properties.load(in);
+        }
+        return properties;
+    }
+}
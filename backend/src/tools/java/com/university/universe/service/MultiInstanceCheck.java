@@ -0,0 +1,198 @@
+package com.university.universe.service;
+
+import com.university.universe.UniverseApplication;
+import com.university.universe.model.Club;
+import com.university.universe.model.ClubMembership;
+import com.university.universe.model.Payment;
+import com.university.universe.repository.ClubMembershipRepository;
+import com.university.universe.repository.ClubRepository;
+import com.university.universe.repository.PaymentRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Integration check: two backend instances on one MySQL database
+ * Run main() with the database of a disposable environment (schema and
+ * migrations applied) and a user and club to use:
+ *   MultiInstanceCheck <jdbcUrl> <dbUser> <dbPassword> <userId> <clubId>
+ * The user must not be a member of the club. Two application contexts (A and
+ * B) start in this JVM with cluster.invalidation=jdbc and their own instance
+ * ids, as two replicas would, and the check verifies:
+ * - JdbcLeaseLock: while A holds a lock, B cannot take it; after A releases it, B can
+ * - joinClubAfterPayment from A and B at the same moment creates exactly one
+ *   membership (the other call fails with "Already a member")
+ * - a club rename on A reaches B's CatalogIndex through JdbcCacheInvalidationBus
+ * The membership, the payment it created and the club's name are restored
+ * afterwards. Exits with status 1 when a check fails.
+ */
+public class MultiInstanceCheck {
+
+    private static final Duration PROPAGATION_TIMEOUT = Duration.ofSeconds(15);
+
+    private static final List<String> failures = new ArrayList<>();
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.out.println("Usage: MultiInstanceCheck <jdbcUrl> <dbUser> <dbPassword> <userId> <clubId>");
+            return;
+        }
+        long userId = Long.parseLong(args[3]);
+        long clubId = Long.parseLong(args[4]);
+
+        ConfigurableApplicationContext a = start("check-a", args);
+        ConfigurableApplicationContext b = start("check-b", args);
+        try {
+            System.out.println("=== Multi-instance check ===");
+            checkLeaseLock(a.getBean(LeaseLock.class), b.getBean(LeaseLock.class));
+            checkJoin(a, b, userId, clubId);
+            checkCatalogInvalidation(a, b, clubId);
+        } finally {
+            b.close();
+            a.close();
+        }
+
+        if (failures.isEmpty()) {
+            System.out.println("\nAll checks passed");
+        } else {
+            System.out.println("\n" + failures.size() + " check(s) failed: " + failures);
+            System.exit(1);
+        }
+    }
+
+    private static void checkLeaseLock(LeaseLock lockA, LeaseLock lockB) {
+        System.out.println("\nLease lock");
+        String name = "multi-instance-check:" + UUID.randomUUID();
+        Duration ttl = Duration.ofSeconds(30);
+        boolean[] heldByB = new boolean[1];
+        lockA.withLock(name, ttl, Duration.ofSeconds(5), () -> {
+            heldByB[0] = lockB.withLockIfAvailable(name, ttl, () -> { });
+            return null;
+        });
+        check("B cannot take a lock A holds", !heldByB[0]);
+        check("B takes the lock once A released it", lockB.withLockIfAvailable(name, ttl, () -> { }));
+    }
+
+    private static void checkJoin(ConfigurableApplicationContext a, ConfigurableApplicationContext b,
+            long userId, long clubId) throws Exception {
+        System.out.println("\nConcurrent membership join");
+        ClubMembershipRepository memberships = a.getBean(ClubMembershipRepository.class);
+        if (memberships.existsByUserIdAndClubId(userId, clubId)) {
+            check("user " + userId + " is not yet a member of club " + clubId, false);
+            return;
+        }
+
+        PaymentRepository payments = a.getBean(PaymentRepository.class);
+        Payment payment = new Payment(userId, clubId, new BigDecimal("1000.00"), "LKR");
+        payment.setStatus("SUCCEEDED");
+        payment.setPaidAt(LocalDateTime.now());
+        payment = payments.save(payment);
+        long paymentId = payment.getId();
+
+        ClubMembershipService joinA = a.getBean(ClubMembershipService.class);
+        ClubMembershipService joinB = b.getBean(ClubMembershipService.class);
+        CountDownLatch start = new CountDownLatch(1);
+        CompletableFuture<String> fromA = CompletableFuture.supplyAsync(() -> join(joinA, start, userId, clubId,
+                paymentId));
+        CompletableFuture<String> fromB = CompletableFuture.supplyAsync(() -> join(joinB, start, userId, clubId,
+                paymentId));
+        start.countDown();
+        String outcomeA = fromA.get(1, TimeUnit.MINUTES);
+        String outcomeB = fromB.get(1, TimeUnit.MINUTES);
+        System.out.println("  A: " + outcomeA + ", B: " + outcomeB);
+
+        long joined = (outcomeA.equals("joined") ? 1 : 0) + (outcomeB.equals("joined") ? 1 : 0);
+        long rows = memberships.findByUserId(userId).stream().filter(m -> m.getClubId() == clubId).count();
+        check("exactly one of A and B joined", joined == 1);
+        check("the other one was told it is already a member",
+                outcomeA.contains("Already a member") || outcomeB.contains("Already a member"));
+        check("one membership row", rows == 1);
+
+        if (rows > 0) {
+            joinA.leaveClub(userId, clubId);
+        }
+        payments.deleteById(paymentId);
+    }
+
+    private static String join(ClubMembershipService service, CountDownLatch start, long userId, long clubId,
+            long paymentId) {
+        try {
+            start.await();
+            ClubMembership membership = service.joinClubAfterPayment(userId, clubId, paymentId);
+            return membership != null ? "joined" : "no membership";
+        } catch (Exception e) {
+            return "failed (" + e.getMessage() + ")";
+        }
+    }
+
+    private static void checkCatalogInvalidation(ConfigurableApplicationContext a, ConfigurableApplicationContext b,
+            long clubId) throws InterruptedException {
+        System.out.println("\nCatalog invalidation");
+        Club club = a.getBean(ClubRepository.class).findById(clubId).orElse(null);
+        if (club == null) {
+            check("club " + clubId + " exists", false);
+            return;
+        }
+        ClubService clubsA = a.getBean(ClubService.class);
+        CatalogIndex indexA = a.getBean(CatalogIndex.class);
+        CatalogIndex indexB = b.getBean(CatalogIndex.class);
+        String original = club.getName();
+        String renamed = original + " " + UUID.randomUUID().toString().substring(0, 8);
+
+        clubsA.patchClub(clubId, Map.of("name", renamed), null, false);
+        try {
+            check("A's index has the new name right after commit", renamed.equals(indexA.clubName(clubId)));
+            check("B's index has the new name within " + PROPAGATION_TIMEOUT.toSeconds() + " s",
+                    eventually(() -> renamed.equals(indexB.clubName(clubId))));
+        } finally {
+            clubsA.patchClub(clubId, Map.of("name", original), null, false);
+        }
+        check("B's index has the original name back",
+                eventually(() -> Objects.equals(original, indexB.clubName(clubId))));
+    }
+
+    // One backend instance; ports are random so both fit on this machine
+    private static ConfigurableApplicationContext start(String instanceId, String[] args) {
+        return new SpringApplicationBuilder(UniverseApplication.class)
+                .properties(
+                        "spring.datasource.url=" + args[0],
+                        "spring.datasource.username=" + args[1],
+                        "spring.datasource.password=" + args[2],
+                        "server.port=0",
+                        "management.server.port=0",
+                        "cluster.invalidation=jdbc",
+                        "cluster.instance-id=" + instanceId,
+                        "spring.jpa.show-sql=false")
+                .run();
+    }
+
+    private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + PROPAGATION_TIMEOUT.toNanos();
+        while (System.nanoTime() - deadline < 0) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return condition.getAsBoolean();
+    }
+
+    private static void check(String name, boolean passed) {
+        System.out.println("  " + (passed ? "ok    " : "FAILED") + " " + name);
+        if (!passed) {
+            failures.add(name);
+        }
+    }
+}
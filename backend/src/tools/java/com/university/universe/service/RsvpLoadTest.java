@@ -0,0 +1,127 @@
+package com.university.universe.service;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load test: many users RSVP to one event at the same moment
+ * Run main() against a running server:
+ *   RsvpLoadTest <baseUrl> <eventId> [firstUserId=1] [users=5000]
+ * Users firstUserId .. firstUserId+users-1 must exist (event_rsvps.user_id
+ * references users). Tokens are signed with the server's jwt.secret, passed
+ * in the JWT_SECRET environment variable. All requests are prepared first
+ * and released together; the test then prints the outcome counts and latencies and checks
+ * the event's attendance: GOING never above capacity, every accepted RSVP
+ * either GOING or WAITLISTED.
+ */
+public class RsvpLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Usage: RsvpLoadTest <baseUrl> <eventId> [firstUserId] [users]");
+            return;
+        }
+        String baseUrl = args[0].replaceAll("/+$", "");
+        long eventId = Long.parseLong(args[1]);
+        long firstUserId = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        int users = args.length > 3 ? Integer.parseInt(args[3]) : 5000;
+        String secret = System.getenv("JWT_SECRET");
+        if (secret == null || secret.isBlank()) {
+            System.out.println("Set JWT_SECRET to the server's jwt.secret");
+            return;
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+        URI rsvpUri = URI.create(baseUrl + "/api/events/" + eventId + "/rsvp");
+        List<HttpRequest> requests = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            long userId = firstUserId + i;
+            String token = Jwts.builder()
+                    .setClaims(Map.of("userId", userId, "email", "loadtest" + userId + "@universe.test", "role", "STUDENT"))
+                    .setSubject("loadtest" + userId + "@universe.test")
+                    .setIssuedAt(new Date())
+                    .setExpiration(new Date(System.currentTimeMillis() + 3600_000))
+                    .signWith(Keys.hmacShaKeyFor(secret.getBytes()), SignatureAlgorithm.HS256)
+                    .compact();
+            requests.add(HttpRequest.newBuilder(rsvpUri)
+                    .timeout(Duration.ofSeconds(120))
+                    .header("Authorization", "Bearer " + token)
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build());
+        }
+
+        System.out.println("=== RSVP load test ===");
+        System.out.println("Event " + eventId + ", " + users + " concurrent RSVPs");
+
+        Map<String, AtomicInteger> outcomes = new ConcurrentHashMap<>();
+        double[] millis = new double[users];
+        CompletableFuture<?>[] pending = new CompletableFuture<?>[users];
+        long start = System.nanoTime();
+        for (int i = 0; i < users; i++) {
+            int index = i;
+            long sent = System.nanoTime();
+            pending[i] = client.sendAsync(requests.get(i), HttpResponse.BodyHandlers.ofString())
+                    .handle((response, error) -> {
+                        millis[index] = (System.nanoTime() - sent) / 1e6;
+                        outcomes.computeIfAbsent(outcome(response, error), k -> new AtomicInteger()).incrementAndGet();
+                        return null;
+                    });
+        }
+        CompletableFuture.allOf(pending).join();
+        double totalMillis = (System.nanoTime() - start) / 1e6;
+
+        Arrays.sort(millis);
+        System.out.printf("Finished in %.0f ms (%.0f RSVPs/s)%n", totalMillis, users * 1000 / totalMillis);
+        System.out.printf("Latency p50 %.0f ms, p95 %.0f ms, p99 %.0f ms, max %.0f ms%n", millis[users / 2],
+                millis[(int) (users * 0.95)], millis[(int) (users * 0.99)], millis[users - 1]);
+        new TreeMap<>(outcomes).forEach((outcome, count) -> System.out.println("  " + outcome + ": " + count));
+
+        HttpResponse<String> attendance = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/events/" + eventId + "/attendance")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        System.out.println("Attendance: " + attendance.body());
+        long capacity = number(attendance.body(), "capacity");
+        long going = number(attendance.body(), "going");
+        long accepted = outcomes.getOrDefault("GOING", new AtomicInteger()).get()
+                + outcomes.getOrDefault("WAITLISTED", new AtomicInteger()).get();
+        System.out.println(capacity < 0 || going <= capacity ? "OK: GOING within capacity" : "FAIL: event overbooked");
+        System.out.println(going + number(attendance.body(), "waitlisted") >= accepted
+                ? "OK: every accepted RSVP is recorded" : "FAIL: accepted RSVPs missing");
+    }
+
+    private static String outcome(HttpResponse<String> response, Throwable error) {
+        if (error != null) {
+            return "error " + error.getClass().getSimpleName();
+        }
+        if (response.statusCode() != 200) {
+            return "HTTP " + response.statusCode();
+        }
+        return response.body().contains("\"status\":\"GOING\"") ? "GOING" : "WAITLISTED";
+    }
+
+    // Read a numeric field from the attendance JSON; -1 when it is null or missing
+    private static long number(String json, String field) {
+        int at = json.indexOf("\"" + field + "\":");
+        if (at < 0) {
+            return -1;
+        }
+        String rest = json.substring(at + field.length() + 3).replaceFirst("[,}].*$", "").trim();
+        return "null".equals(rest) ? -1 : Long.parseLong(rest);
+    }
+}
@@ -0,0 +1,148 @@
+package com.university.universe.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.university.universe.dto.EventListResponse;
+import com.university.universe.dto.EventView;
+import com.university.universe.model.Club;
+import com.university.universe.model.Event;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Benchmark: serializing an event list response, HashMap envelope of entities vs record DTOs
+ * Run main() with an optional event count (default 200, spread over 60 clubs).
+ * Each way builds the response body from the same Event entities and writes it
+ * as Spring MVC would (ObjectMapper configured like Spring Boot's, streaming to
+ * the response): the old {"success", "events"} HashMap of entities with their
+ * EAGER Club, and EventListResponse of EventView.summary records, each with and
+ * without Blackbird (see JacksonConfig). Reports time per response, its
+ * throughput, bytes allocated per response (measured on the benchmark thread)
+ * and the JSON size.
+ */
+public class SerializationBenchmark {
+
+    private static final int CLUBS = 60;
+    private static final int WARMUP = 10;
+    private static final int RUNS = 30;
+    private static final int OPS_PER_RUN = 200;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws IOException {
+        int eventCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        List<Event> events = events(eventCount, new Random(42));
+
+        ObjectMapper plain = mapper(false);
+        ObjectMapper blackbird = mapper(true);
+
+        System.out.println("=== Event list serialization benchmark ===");
+        System.out.println(eventCount + " events, " + CLUBS + " clubs");
+        time("entity + HashMap", plain, () -> entityEnvelope(events));
+        time("entity + HashMap, Blackbird", blackbird, () -> entityEnvelope(events));
+        time("record DTO", plain, () -> dtoEnvelope(events));
+        time("record DTO, Blackbird", blackbird, () -> dtoEnvelope(events));
+    }
+
+    // The body EventController built before the typed envelopes
+    private static Object entityEnvelope(List<Event> events) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("events", events);
+        return response;
+    }
+
+    // The body EventController builds now
+    private static Object dtoEnvelope(List<Event> events) {
+        return new EventListResponse(true, events.stream().map(EventView::summary).toList());
+    }
+
+    private static void time(String name, ObjectMapper mapper, BodyBuilder body) throws IOException {
+        int jsonBytes = mapper.writeValueAsBytes(body.build()).length;
+        for (int i = 0; i < WARMUP; i++) {
+            run(mapper, body);
+        }
+        double[] micros = new double[RUNS];
+        long allocated = 0;
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < RUNS; i++) {
+            long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            run(mapper, body);
+            micros[i] = (System.nanoTime() - start) / 1e3 / OPS_PER_RUN;
+            allocated += THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        }
+        Arrays.sort(micros);
+        System.out.printf("  %-28s median %7.1f us (%6.0f ops/s)   p90 %7.1f us   %6.1f KB allocated"
+                + "   %5.1f KB JSON%n", name, micros[RUNS / 2], 1e6 / micros[RUNS / 2], micros[RUNS * 9 / 10],
+                allocated / 1024.0 / RUNS / OPS_PER_RUN, jsonBytes / 1024.0);
+    }
+
+    private static void run(ObjectMapper mapper, BodyBuilder body) throws IOException {
+        for (int i = 0; i < OPS_PER_RUN; i++) {
+            mapper.writeValue(OutputStream.nullOutputStream(), body.build());
+        }
+    }
+
+    // As Spring Boot configures the shared ObjectMapper (java.time as ISO strings), optionally with Blackbird
+    private static ObjectMapper mapper(boolean blackbird) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS);
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        return builder.build();
+    }
+
+    private static List<Event> events(int count, Random random) {
+        List<Club> clubs = new ArrayList<>();
+        for (long id = 1; id <= CLUBS; id++) {
+            Club club = new Club();
+            club.setId(id);
+            club.setName("Club " + id);
+            club.setDescription(("A student club for everyone interested in topic " + id + ". ").repeat(8));
+            club.setLogoUrl("/uploads/club-" + id + ".png");
+            club.setAdminId(id);
+            club.setMembershipFee(BigDecimal.valueOf(500 + random.nextInt(4500)));
+            club.setCreatedAt(LocalDateTime.now().minusDays(random.nextInt(1000)));
+            club.setUpdatedAt(LocalDateTime.now());
+            club.setVersion(0L);
+            clubs.add(club);
+        }
+        List<Event> events = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Club club = clubs.get(random.nextInt(CLUBS));
+            Event event = new Event("Event " + id, ("Join us for session " + id + " of the series. ").repeat(4),
+                    LocalDateTime.now().plusDays(random.nextInt(90)), "Hall " + random.nextInt(20), club.getId(),
+                    club.getAdminId());
+            event.setId(id);
+            event.setClub(club);
+            event.setPhotoUrl("/uploads/event-" + id + ".jpg");
+            event.setCapacity(50 + random.nextInt(200));
+            event.setCreatedAt(LocalDateTime.now().minusDays(random.nextInt(30)));
+            event.setUpdatedAt(LocalDateTime.now());
+            event.setVersion(0L);
+            events.add(event);
+        }
+        return events;
+    }
+
+    @FunctionalInterface
+    private interface BodyBuilder {
+        Object build();
+    }
+}
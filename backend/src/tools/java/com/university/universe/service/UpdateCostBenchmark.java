@@ -0,0 +1,169 @@
+package com.university.universe.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.universe.model.Club;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Benchmark: what renaming a club costs the database, per way of updating it
+ * Run main() with a JDBC URL (default: the local universe_db) and optional
+ * user and password; the clubs table must exist (or pass -Dhbm2ddl=create for
+ * a scratch database). A club with a large description is created, renamed
+ * repeatedly, then deleted. For each way the benchmark counts statements and
+ * the bytes sent to the database (SQL text plus bound values):
+ *   full row   - load, then write every column (updates before @DynamicUpdate)
+ *   dynamic    - load, set the name, flush (@DynamicUpdate writes name and version)
+ *   merge patch - MergePatch.apply: one UPDATE of name and version, no load
+ */
+public class UpdateCostBenchmark {
+
+    private static final int RUNS = 200;
+    private static final int DESCRIPTION_CHARS = 16_000;
+
+    private static long statements;
+    private static long bytes;
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "jdbc:mysql://localhost:3306/universe_db";
+        String user = args.length > 1 ? args[1] : "root";
+        String password = args.length > 2 ? args[2] : "";
+
+        DataSource dataSource = counting(url, user, password);
+        Configuration configuration = new Configuration().addAnnotatedClass(Club.class);
+        configuration.getProperties().put("hibernate.connection.datasource", dataSource);
+        configuration.setProperty("hibernate.hbm2ddl.auto", System.getProperty("hbm2ddl", "none"));
+        ObjectMapper mapper = new ObjectMapper();
+
+        try (SessionFactory sessionFactory = configuration.buildSessionFactory()) {
+            Long id = inTransaction(sessionFactory, em -> {
+                Club club = new Club();
+                club.setName("Update benchmark");
+                club.setDescription("x".repeat(DESCRIPTION_CHARS));
+                club.setLogoUrl("https://example.com/logo.png");
+                club.setMembershipFee(new BigDecimal("1500.00"));
+                club.setCreatedAt(LocalDateTime.now());
+                club.setUpdatedAt(LocalDateTime.now());
+                em.persist(club);
+            }, em -> em.createQuery("SELECT MAX(c.id) FROM Club c", Long.class).getSingleResult());
+
+            System.out.println("=== Club rename: statements and bytes sent per update ===");
+            System.out.println("Description: " + DESCRIPTION_CHARS + " chars, runs: " + RUNS);
+            try {
+                measure("full row", sessionFactory, run -> em -> {
+                    Club club = em.find(Club.class, id);
+                    em.createQuery("UPDATE Club c SET c.name = :name, c.description = :description, "
+                            + "c.logoUrl = :logoUrl, c.adminId = :adminId, c.membershipFee = :fee, "
+                            + "c.createdAt = :createdAt, c.updatedAt = :updatedAt, c.version = c.version + 1 "
+                            + "WHERE c.id = :id AND c.version = :version")
+                            .setParameter("name", "Full row " + run)
+                            .setParameter("description", club.getDescription())
+                            .setParameter("logoUrl", club.getLogoUrl())
+                            .setParameter("adminId", club.getAdminId())
+                            .setParameter("fee", club.getMembershipFee())
+                            .setParameter("createdAt", club.getCreatedAt())
+                            .setParameter("updatedAt", club.getUpdatedAt())
+                            .setParameter("id", id)
+                            .setParameter("version", club.getVersion())
+                            .executeUpdate();
+                });
+                measure("dynamic", sessionFactory, run -> em -> em.find(Club.class, id).setName("Dynamic " + run));
+                measure("merge patch", sessionFactory, run -> em -> MergePatch.of("Club",
+                        Map.of("name", "Merge patch " + run), Map.of("name", new MergePatch.Field(String.class, false)),
+                        mapper).apply(em, Club.class, id, true, null));
+            } finally {
+                inTransaction(sessionFactory, em -> em.remove(em.find(Club.class, id)), em -> null);
+            }
+        }
+    }
+
+    private static void measure(String name, SessionFactory sessionFactory,
+            IntFunction<Consumer<EntityManager>> update) {
+        statements = 0;
+        bytes = 0;
+        long start = System.nanoTime();
+        for (int run = 0; run < RUNS; run++) {
+            inTransaction(sessionFactory, update.apply(run), em -> null);
+        }
+        double millis = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%-12s %5.1f statements, %8.0f bytes, %6.3f ms per update%n", name,
+                (double) statements / RUNS, (double) bytes / RUNS, millis / RUNS);
+    }
+
+    private static <T> T inTransaction(SessionFactory sessionFactory, Consumer<EntityManager> work,
+            Function<EntityManager, T> result) {
+        EntityManager em = sessionFactory.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            work.accept(em);
+            em.getTransaction().commit();
+            return result.apply(em);
+        } finally {
+            em.close();
+        }
+    }
+
+    // A DataSource whose prepared statements count themselves and the bytes of their SQL and bound values
+    private static DataSource counting(String url, String user, String password) {
+        return (DataSource) Proxy.newProxyInstance(UpdateCostBenchmark.class.getClassLoader(),
+                new Class<?>[] { DataSource.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "getConnection" -> countingConnection(DriverManager.getConnection(url, user, password));
+                    case "isWrapperFor" -> false;
+                    case "getLoginTimeout" -> 0;
+                    default -> null;
+                });
+    }
+
+    private static Connection countingConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(UpdateCostBenchmark.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (method.getName().equals("prepareStatement")) {
+                        statements++;
+                        bytes += ((String) args[0]).getBytes(StandardCharsets.UTF_8).length;
+                        return countingStatement((PreparedStatement) result);
+                    }
+                    return result;
+                });
+    }
+
+    private static PreparedStatement countingStatement(PreparedStatement statement) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                Object value = args[1];
+                bytes += value == null || method.getName().equals("setNull") ? 1
+                        : value instanceof String text ? text.getBytes(StandardCharsets.UTF_8).length
+                        : value instanceof Number || value instanceof Boolean ? 8
+                        : value.toString().length();
+            }
+            return invoke(statement, method, args);
+        };
+        return (PreparedStatement) Proxy.newProxyInstance(UpdateCostBenchmark.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
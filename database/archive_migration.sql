@@ -0,0 +1,21 @@
+-- Archive Migration
+-- Date: 2026-10-19
+-- Description: Archive tables for old events, RSVPs, announcements and payments (filled by ArchiveService)
+
+USE universe_db;
+
+-- Same columns, ids and indexes as the hot tables (LIKE copies no foreign keys;
+-- ArchiveService removes archived rows when their club or user is deleted)
+CREATE TABLE IF NOT EXISTS events_archive LIKE events;
+CREATE TABLE IF NOT EXISTS event_rsvps_archive LIKE event_rsvps;
+CREATE TABLE IF NOT EXISTS announcements_archive LIKE announcements;
+CREATE TABLE IF NOT EXISTS payments_archive LIKE payments;
+
+-- Old announcements are selected by age
+ALTER TABLE announcements
+ADD INDEX IF NOT EXISTS idx_created_at (created_at);
+
+-- Verification
+SELECT 'Archive tables created successfully' AS status;
+DESCRIBE events_archive;
+DESCRIBE payments_archive;
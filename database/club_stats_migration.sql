@@ -0,0 +1,36 @@
+-- Club Statistics Migration
+-- Date: 2026-10-19
+-- Description: Precomputed per-club member, event and revenue counters (maintained by ClubStatsService)
+
+USE universe_db;
+
+-- One row per club, updated incrementally and recounted nightly
+CREATE TABLE IF NOT EXISTS club_stats (
+    club_id BIGINT PRIMARY KEY,
+    member_count BIGINT NOT NULL DEFAULT 0,
+    event_count BIGINT NOT NULL DEFAULT 0,
+    paid_count BIGINT NOT NULL DEFAULT 0,
+    revenue DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    refunded_count BIGINT NOT NULL DEFAULT 0,
+    refunded_amount DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    updated_at DATETIME(6) NOT NULL,
+    repaired_at DATETIME(6) NULL
+);
+
+-- Backfill existing clubs
+INSERT INTO club_stats (club_id, member_count, event_count, paid_count, revenue,
+                        refunded_count, refunded_amount, updated_at, repaired_at)
+SELECT c.id,
+    (SELECT COUNT(*) FROM club_memberships m WHERE m.club_id = c.id),
+    (SELECT COUNT(*) FROM events e WHERE e.club_id = c.id),
+    (SELECT COUNT(*) FROM payments p WHERE p.club_id = c.id AND p.status = 'SUCCEEDED'),
+    (SELECT COALESCE(SUM(p.amount), 0) FROM payments p WHERE p.club_id = c.id AND p.status = 'SUCCEEDED'),
+    (SELECT COUNT(*) FROM payments p WHERE p.club_id = c.id AND p.status = 'REFUNDED'),
+    (SELECT COALESCE(SUM(p.amount), 0) FROM payments p WHERE p.club_id = c.id AND p.status = 'REFUNDED'),
+    NOW(6), NOW(6)
+FROM clubs c
+ON DUPLICATE KEY UPDATE club_id = club_id;
+
+-- Verification
+SELECT 'Club stats table created successfully' AS status;
+SELECT * FROM club_stats;
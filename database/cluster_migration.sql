@@ -0,0 +1,25 @@
+-- Multi-instance Support Migration
+-- Date: 2026-10-19
+-- Description: Tables for the distributed lease lock and the cross-instance cache invalidation bus
+
+USE universe_db;
+
+-- Lease locks (JdbcLeaseLock): one row per held lock, expired rows can be taken over
+CREATE TABLE IF NOT EXISTS distributed_locks (
+    lock_name VARCHAR(191) PRIMARY KEY,
+    owner VARCHAR(64) NOT NULL,
+    expires_at DATETIME(6) NOT NULL
+);
+
+-- Cache invalidations (JdbcCacheInvalidationBus): polled by every instance, pruned after the retention period
+CREATE TABLE IF NOT EXISTS cache_invalidations (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    topic VARCHAR(64) NOT NULL,
+    cache_key VARCHAR(255) NOT NULL,
+    origin VARCHAR(64) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    INDEX idx_cache_invalidations_created_at (created_at)
+);
+
+-- Verification
+SELECT 'Cluster tables created successfully' AS status;
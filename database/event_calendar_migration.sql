@@ -0,0 +1,17 @@
+-- Event Calendar Migration
+-- Date: 2026-10-19
+-- Description: Indexes for event date range queries, the calendar view and per-club iCalendar feeds
+
+USE universe_db;
+
+-- Range scans by date (already present on databases created from migration_v1.0.sql)
+ALTER TABLE events
+ADD INDEX IF NOT EXISTS idx_date (event_date);
+
+-- One club's events by date, and the feed ETag query (COUNT/MAX over a club's upcoming events)
+ALTER TABLE events
+ADD INDEX IF NOT EXISTS idx_club_date (club_id, event_date);
+
+-- Verification
+SELECT 'Event calendar indexes created successfully' AS status;
+SHOW INDEX FROM events;
@@ -0,0 +1,40 @@
+-- Event RSVP Migration
+-- Date: 2026-10-19
+-- Description: Event capacity, RSVPs with a waitlist, and striped seat counters (maintained by EventRsvpService)
+
+USE universe_db;
+
+-- Maximum number of GOING RSVPs; NULL means unlimited
+ALTER TABLE events
+ADD COLUMN IF NOT EXISTS capacity INT NULL;
+
+-- One RSVP per user and event
+CREATE TABLE IF NOT EXISTS event_rsvps (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    stripe INT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    UNIQUE KEY uk_event_rsvps_event_user (event_id, user_id),
+    INDEX idx_event_rsvps_event_status (event_id, status, created_at),
+    INDEX idx_event_rsvps_user (user_id, created_at)
+);
+
+-- Free seats of events with a capacity, split over several rows (rsvp.seat-stripes)
+CREATE TABLE IF NOT EXISTS event_seat_stripes (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    stripe INT NOT NULL,
+    remaining INT NOT NULL,
+    FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE,
+    UNIQUE KEY uk_event_seat_stripes (event_id, stripe)
+);
+
+-- Verification
+SELECT 'Event RSVP tables created successfully' AS status;
+DESCRIBE event_rsvps;
+DESCRIBE event_seat_stripes;
@@ -0,0 +1,21 @@
+-- Idempotency Keys Migration
+-- Date: 2026-10-19
+-- Description: Stores Idempotency-Key claims and responses for checkout session creation
+
+USE universe_db;
+
+-- One row per scoped key; IN_PROGRESS while the first request runs, COMPLETED with its response afterwards
+-- claim_token identifies the request holding the claim, so only it can complete or release the key
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id_key VARCHAR(191) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    claim_token VARCHAR(36) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    response_body TEXT,
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    INDEX idx_idempotency_keys_expires_at (expires_at)
+);
+
+-- Verification
+SELECT 'Idempotency keys table created successfully' AS status;
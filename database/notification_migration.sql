@@ -0,0 +1,66 @@
+-- Notification Migration
+-- Date: 2026-10-19
+-- Description: Member notifications for new announcements and events (inbox rows, large-club broadcasts, unread counters)
+
+USE universe_db;
+
+-- Fan-out keyset: a club's active members by user id
+ALTER TABLE club_memberships
+ADD INDEX IF NOT EXISTS idx_club_memberships_club_user (club_id, user_id);
+
+-- One row per member and announcement/event, for clubs below notifications.fan-out-on-read-threshold
+CREATE TABLE IF NOT EXISTS notifications (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    club_id BIGINT NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    ref_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    read_at DATETIME(6) NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (club_id) REFERENCES clubs(id) ON DELETE CASCADE,
+    UNIQUE KEY uk_notifications_user_ref (user_id, type, ref_id),
+    INDEX idx_notifications_user (user_id, id),
+    INDEX idx_notifications_club (club_id)
+);
+
+-- One row per announcement/event of a large club, numbered per club by seq
+CREATE TABLE IF NOT EXISTS club_broadcasts (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    club_id BIGINT NOT NULL,
+    seq BIGINT NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    ref_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    FOREIGN KEY (club_id) REFERENCES clubs(id) ON DELETE CASCADE,
+    UNIQUE KEY uk_club_broadcasts_seq (club_id, seq),
+    UNIQUE KEY uk_club_broadcasts_ref (club_id, type, ref_id)
+);
+
+-- Last broadcast seq each member has seen, per club
+CREATE TABLE IF NOT EXISTS notification_cursors (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    club_id BIGINT NOT NULL,
+    seen_seq BIGINT NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (club_id) REFERENCES clubs(id) ON DELETE CASCADE,
+    UNIQUE KEY uk_notification_cursors (user_id, club_id)
+);
+
+-- Unread inbox rows per user
+CREATE TABLE IF NOT EXISTS notification_counters (
+    user_id BIGINT PRIMARY KEY,
+    unread BIGINT NOT NULL DEFAULT 0,
+    updated_at DATETIME(6) NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Verification
+SELECT 'Notification tables created successfully' AS status;
+DESCRIBE notifications;
+DESCRIBE club_broadcasts;
+DESCRIBE notification_cursors;
+DESCRIBE notification_counters;
@@ -0,0 +1,26 @@
+-- Optimistic Locking Migration
+-- Date: 2026-10-19
+-- Description: @Version columns for clubs, events and announcements (If-Match / 409 on concurrent edits)
+
+USE universe_db;
+
+-- Incremented by every update; existing rows start at 0
+ALTER TABLE clubs
+ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE events
+ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE announcements
+ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Archived rows keep the version they had when they were moved
+ALTER TABLE events_archive
+ADD COLUMN IF NOT EXISTS version BIGINT NULL;
+
+ALTER TABLE announcements_archive
+ADD COLUMN IF NOT EXISTS version BIGINT NULL;
+
+-- Verification
+SELECT 'Version columns added successfully' AS status;
+DESCRIBE clubs;
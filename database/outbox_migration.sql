@@ -0,0 +1,38 @@
+-- Outbox Migration
+-- Date: 2026-10-19
+-- Description: Transactional outbox for domain events of payments, memberships, announcements and events
+
+USE universe_db;
+
+-- Domain events, written in the same transaction as the change they describe
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    aggregate_type VARCHAR(32) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    seq BIGINT NOT NULL,
+    event_type VARCHAR(64) NOT NULL,
+    payload TEXT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500) NULL,
+    next_attempt_at DATETIME(6) NULL,
+    created_at DATETIME(6) NOT NULL,
+    dispatched_at DATETIME(6) NULL,
+    UNIQUE KEY uk_outbox_events_aggregate_seq (aggregate_type, aggregate_id, seq),
+    INDEX idx_outbox_events_status (status, id),
+    INDEX idx_outbox_events_dispatched (status, dispatched_at)
+);
+
+-- Last event sequence number per aggregate; its row lock orders an aggregate's events
+CREATE TABLE IF NOT EXISTS outbox_sequences (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    aggregate_type VARCHAR(32) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    last_seq BIGINT NOT NULL,
+    UNIQUE KEY uk_outbox_sequences_aggregate (aggregate_type, aggregate_id)
+);
+
+-- Verification
+SELECT 'Outbox tables created successfully' AS status;
+DESCRIBE outbox_events;
+DESCRIBE outbox_sequences;